@@ -5,14 +5,30 @@ import com.hospital.management.services.impl.BillingServiceImpl;
 import com.hospital.management.services.impl.PaymentServiceImpl;
 import com.hospital.management.services.impl.UserServiceImpl;
 import com.hospital.management.services.impl.AppointmentServiceImpl;
+import com.hospital.management.services.impl.AppointmentWaitlist;
+import com.hospital.management.services.impl.AuthenticationServiceImpl;
+import com.hospital.management.services.impl.BookingLocks;
+import com.hospital.management.services.impl.ReferenceDataCache;
+import com.hospital.management.services.impl.RegistrationKeyFilter;
+import com.hospital.management.services.impl.SlotAvailabilityIndex;
+import com.hospital.management.services.impl.ServiceExecutor;
+import com.hospital.management.services.impl.StartupWarmup;
 import com.hospital.management.ui.menus.PatientMenuUI;
 import com.hospital.management.ui.menus.DoctorMenuUI;
 import com.hospital.management.ui.menus.AdminMenuUI;        // ✅ Add AdminMenuUI import
 import com.hospital.management.ui.InputHandler;
 import com.hospital.management.common.config.DatabaseConfig;
+import com.hospital.management.dao.impl.EntityCaches;
 import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.cache.CacheStats;
+import com.hospital.management.common.session.SessionStats;
+import com.hospital.management.common.concurrent.LockStats;
+import com.hospital.management.common.database.PoolStats;
 import com.hospital.management.common.utils.DateTimeUtil;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Hospital Management System - Entry Point
  * Team16 Collaborative Development
@@ -29,6 +45,7 @@ public class App {
         }
 
         showMainMenu();
+        DatabaseConfig.shutdownPool();
         System.out.println("\n👋 Thank you for using " + config.getApplicationName() + "!");
         System.out.println("💡 Stay healthy! - Team16");
     }
@@ -44,6 +61,11 @@ public class App {
         }
 
         System.out.println("✅ Database connection successful!");
+        if (config.isWarmupEnabled()) {
+            StartupWarmup.run(config.getThreadPoolSize(), config.getWarmupTimeoutMillis());
+        } else {
+            RegistrationKeyFilter.seed();
+        }
         input = InputHandler.getInstance();
 
         // ✅ UPDATED: Initialize PatientController with all required services
@@ -122,6 +144,49 @@ public class App {
         boolean dbConnected = DatabaseConfig.testConnection();
         System.out.println("🗄️  Database: " + (dbConnected ? "✅ Connected" : "❌ Failed"));
 
+        // Connection pool
+        PoolStats poolStats = DatabaseConfig.getPoolStats();
+        if (poolStats != null) {
+            System.out.println("🔌 Connection Pool: " + poolStats.getActive() + " active, "
+                    + poolStats.getIdle() + " idle, " + poolStats.getWaiting() + " waiting (max "
+                    + poolStats.getMaxSize() + ")");
+            System.out.printf("   Avg Borrow Time: %.3f ms | Borrowed: %d | Created: %d | Timeouts: %d | Leaks: %d%n",
+                    poolStats.getAverageBorrowMillis(), poolStats.getTotalBorrowed(), poolStats.getTotalCreated(),
+                    poolStats.getBorrowTimeouts(), poolStats.getLeaksDetected());
+        }
+
+        // Reference data cache
+        List<CacheStats> caches = new ArrayList<>(ReferenceDataCache.getStats());
+        caches.add(SlotAvailabilityIndex.getStats());
+        caches.addAll(EntityCaches.getStats());
+        for (CacheStats cacheStats : caches) {
+            System.out.printf("📦 Cache %s: %d hits, %d misses (%.0f%% hit rate), %d/%d entries%n",
+                    cacheStats.getName(), cacheStats.getHits(), cacheStats.getMisses(),
+                    cacheStats.getHitRatio() * 100, cacheStats.getSize(), cacheStats.getMaxSize());
+        }
+
+        // Booking locks
+        LockStats lockStats = BookingLocks.getStats();
+        System.out.printf("🔒 Booking Locks: %d acquired, %d contended | Avg Wait: %.3f ms | Max Wait: %.3f ms%n",
+                lockStats.getAcquisitions(), lockStats.getContended(), lockStats.getAverageWaitMillis(),
+                lockStats.getMaxWaitMillis());
+        BookingLocks.getMostContendedDoctors(3).forEach((doctorId, waitMillis) ->
+                System.out.println("   Doctor #" + doctorId + ": " + waitMillis + " ms total wait"));
+
+        // Appointment waitlist
+        System.out.println("📋 Waitlist: " + AppointmentWaitlist.getWaitingCount() + " waiting | "
+                + AppointmentWaitlist.getFilledCount() + " slots filled");
+
+        // Async service lookups
+        System.out.println("⚡ Async Lookups: peak " + ServiceExecutor.getPeakRunning() + "/"
+                + ServiceExecutor.getMaxConcurrency() + " running at once");
+
+        // Login sessions
+        SessionStats sessionStats = AuthenticationServiceImpl.getInstance().getSessionStats();
+        System.out.println("🔑 Sessions: " + sessionStats.getActive() + "/" + sessionStats.getMaxSessions()
+                + " active | Created: " + sessionStats.getCreated() + " | Expired: " + sessionStats.getExpired()
+                + " | Rejected: " + sessionStats.getRejected());
+
         // Application configuration
         System.out.println("⚙️  Config: " + config.getApplicationName() + " v" + config.getApplicationVersion());
         System.out.println("🕒 Current Time: " + DateTimeUtil.getCurrentDateTime());
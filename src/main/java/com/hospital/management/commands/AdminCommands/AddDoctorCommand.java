@@ -8,6 +8,8 @@ import com.hospital.management.dao.interfaces.DoctorDAO;
 import com.hospital.management.dao.impl.DoctorDAOImpl;
 import com.hospital.management.interfaces.UserService;
 import com.hospital.management.models.Doctor;
+import com.hospital.management.services.impl.ReferenceDataCache;
+import com.hospital.management.services.impl.RegistrationKeyFilter;
 import com.hospital.management.models.User;
 import com.hospital.management.common.enums.UserRole;
 
@@ -60,15 +62,22 @@ public class AddDoctorCommand implements Command {
         }
 
         try {
-            // Check if username or email already exists
-            if (userService.findUserByUsername(username).isPresent()) {
+            // Check if username, email or license already exists; the filter rules out most values without a query
+            if (RegistrationKeyFilter.usernameMayBeTaken(username)
+                    && userService.findUserByUsername(username).isPresent()) {
                 return CommandResult.failure("Username already exists: " + username, null);
             }
 
-            if (userService.findUserByEmail(email).isPresent()) {
+            if (RegistrationKeyFilter.emailMayBeTaken(email)
+                    && userService.findUserByEmail(email).isPresent()) {
                 return CommandResult.failure("Email already exists: " + email, null);
             }
 
+            if (RegistrationKeyFilter.licenseMayBeTaken(licenseNumber)
+                    && doctorDAO.existsByLicenseNumber(licenseNumber)) {
+                return CommandResult.failure("License number already exists: " + licenseNumber, null);
+            }
+
             // ✅ Create Doctor object with ALL fields set first
             Doctor doctor = new Doctor(username, password, email, phone,
                     firstName, lastName, specialization,
@@ -90,6 +99,7 @@ public class AddDoctorCommand implements Command {
             if (!userRegistered) {
                 return CommandResult.failure("Failed to create user account for doctor", null);
             }
+            ReferenceDataCache.invalidateDoctors();
 
             return CommandResult.success("Doctor added successfully", doctor);
 
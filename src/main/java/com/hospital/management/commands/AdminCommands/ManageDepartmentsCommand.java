@@ -6,6 +6,7 @@ import com.hospital.management.common.exceptions.DatabaseException;
 import com.hospital.management.common.exceptions.ValidationException;
 import com.hospital.management.dao.interfaces.DepartmentDAO;
 import com.hospital.management.dao.impl.DepartmentDAOImpl;
+import com.hospital.management.services.impl.ReferenceDataCache;
 import com.hospital.management.models.Department;
 
 import java.util.List;
@@ -93,6 +94,7 @@ public class ManageDepartmentsCommand implements Command {
         boolean success = departmentDAO.createDepartment(department);
 
         if (success) {
+            ReferenceDataCache.invalidateDepartments();
             return CommandResult.success("Department created successfully", department);
         } else {
             return CommandResult.failure("Failed to create department", null);
@@ -113,6 +115,7 @@ public class ManageDepartmentsCommand implements Command {
         boolean success = departmentDAO.deleteDepartment(departmentId);
 
         if (success) {
+            ReferenceDataCache.invalidateDepartments();
             return CommandResult.success("Department deleted successfully", existingDept);
         } else {
             return CommandResult.failure("Failed to delete department", null);
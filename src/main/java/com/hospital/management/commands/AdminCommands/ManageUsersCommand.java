@@ -5,6 +5,7 @@ import com.hospital.management.commands.CommandResult;
 import com.hospital.management.common.exceptions.DatabaseException;
 import com.hospital.management.common.exceptions.ValidationException;
 import com.hospital.management.common.exceptions.BusinessLogicException;
+import com.hospital.management.common.database.Page;
 import com.hospital.management.interfaces.UserService;
 import com.hospital.management.models.User;
 import java.util.List;
@@ -17,12 +18,14 @@ import java.util.Optional;
 public class ManageUsersCommand implements Command {
 
     public enum UserManagementAction {
-        VIEW_ALL, GET_USER_DETAILS, DELETE_USER
+        VIEW_ALL, VIEW_PAGE, GET_USER_DETAILS, DELETE_USER
     }
 
     private final Long adminId;
     private final UserManagementAction action;
     private final Long targetUserId;
+    private final Long afterId;
+    private final int pageSize;
 
     // Service dependency
     private final UserService userService;
@@ -32,6 +35,18 @@ public class ManageUsersCommand implements Command {
         this.adminId = adminId;
         this.action = UserManagementAction.VIEW_ALL;
         this.targetUserId = null;
+        this.afterId = null;
+        this.pageSize = 0;
+        this.userService = userService;
+    }
+
+    // Constructor for viewing one page of users (afterId is the previous page's last user ID, null for the first page)
+    public ManageUsersCommand(Long adminId, Long afterId, int pageSize, UserService userService) {
+        this.adminId = adminId;
+        this.action = UserManagementAction.VIEW_PAGE;
+        this.targetUserId = null;
+        this.afterId = afterId;
+        this.pageSize = pageSize;
         this.userService = userService;
     }
 
@@ -41,6 +56,8 @@ public class ManageUsersCommand implements Command {
         this.adminId = adminId;
         this.action = action;
         this.targetUserId = targetUserId;
+        this.afterId = null;
+        this.pageSize = 0;
         this.userService = userService;
     }
 
@@ -58,6 +75,10 @@ public class ManageUsersCommand implements Command {
                     List<User> allUsers = userService.findAllUsers();
                     return CommandResult.success("Found " + allUsers.size() + " users", allUsers);
 
+                case VIEW_PAGE:
+                    Page<User> page = userService.findUsersPage(afterId, pageSize);
+                    return CommandResult.success("Fetched " + page.size() + " users", page);
+
                 case GET_USER_DETAILS:
                     Optional<User> userOptional = userService.findUserById(targetUserId);
                     if (userOptional.isPresent()) {
@@ -113,6 +134,11 @@ public class ManageUsersCommand implements Command {
                     throw new ValidationException("Valid target user ID is required", "TargetUserId", targetUserId);
                 }
                 break;
+            case VIEW_PAGE:
+                if (pageSize <= 0) {
+                    throw new ValidationException("Page size must be positive", "PageSize", pageSize);
+                }
+                break;
         }
 
         return true;
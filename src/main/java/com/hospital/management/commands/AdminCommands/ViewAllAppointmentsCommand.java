@@ -4,19 +4,30 @@ import com.hospital.management.commands.Command;
 import com.hospital.management.commands.CommandResult;
 import com.hospital.management.common.exceptions.DatabaseException;
 import com.hospital.management.common.exceptions.ValidationException;
+import com.hospital.management.common.database.Page;
 import com.hospital.management.dao.interfaces.AppointmentDAO;
 import com.hospital.management.dao.impl.AppointmentDAOImpl;
 import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
 
 import java.util.List;
 
 public class ViewAllAppointmentsCommand implements Command {
 
     private final Long adminId;
+    private final Long afterId;
+    private final int pageSize;
     private final AppointmentDAO appointmentDAO;
 
     public ViewAllAppointmentsCommand(Long adminId) {
+        this(adminId, null, 0);
+    }
+
+    // Fetch a single page (afterId is the previous page's last appointment ID, null for the first page)
+    public ViewAllAppointmentsCommand(Long adminId, Long afterId, int pageSize) {
         this.adminId = adminId;
+        this.afterId = afterId;
+        this.pageSize = pageSize;
         this.appointmentDAO = new AppointmentDAOImpl();
     }
 
@@ -27,6 +38,10 @@ public class ViewAllAppointmentsCommand implements Command {
         }
 
         try {
+            if (pageSize > 0) {
+                Page<AppointmentSummary> page = appointmentDAO.getAppointmentSummariesPage(afterId, pageSize, null);
+                return CommandResult.success("Fetched " + page.size() + " appointments", page);
+            }
             List<Appointment> appointments = appointmentDAO.getAllAppointments();
             return CommandResult.success("All appointments retrieved successfully", appointments);
         } catch (Exception e) {
@@ -11,8 +11,10 @@ import com.hospital.management.interfaces.PaymentService;
 import com.hospital.management.interfaces.UserService;
 import com.hospital.management.models.Appointment;
 import com.hospital.management.models.Bill;
+import com.hospital.management.models.DashboardCounts;
 import com.hospital.management.models.Payment;
 import com.hospital.management.models.User;
+import com.hospital.management.services.impl.DashboardStatistics;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -123,16 +125,16 @@ public class ViewReportsCommand implements Command {
         Map<String, Object> summary = new HashMap<>();
 
         try {
-            // Get counts from services
-            List<User> allUsers = userService.findAllUsers();
-            List<Appointment> allAppointments = appointmentService.getAllAppointments();
-            List<Bill> allBills = billingService.getAllBills();
-            List<Payment> allPayments = paymentService.getAllPayments();
-
-            summary.put("totalUsers", allUsers.size());
-            summary.put("totalAppointments", allAppointments.size());
-            summary.put("totalBills", allBills.size());
-            summary.put("totalPayments", allPayments.size());
+            // Maintained totals; no rows are loaded
+            DashboardCounts counts = DashboardStatistics.getCounts();
+            if (counts == null) {
+                return CommandResult.failure("Failed to generate dashboard summary: counts unavailable");
+            }
+
+            summary.put("totalUsers", counts.getUsers());
+            summary.put("totalAppointments", counts.getAppointments());
+            summary.put("totalBills", counts.getBills());
+            summary.put("totalPayments", counts.getPayments());
             summary.put("generatedAt", LocalDateTime.now());
 
             return CommandResult.success("Dashboard summary generated successfully", summary);
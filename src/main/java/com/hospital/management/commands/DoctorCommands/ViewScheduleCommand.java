@@ -6,7 +6,7 @@ import com.hospital.management.common.exceptions.DatabaseException;
 import com.hospital.management.common.exceptions.ValidationException;
 import com.hospital.management.common.exceptions.BusinessLogicException;
 import com.hospital.management.interfaces.AppointmentService;
-import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
 import java.util.List;
 
 /**
@@ -34,7 +34,7 @@ public class ViewScheduleCommand implements Command {
             }
 
             // Use service to get doctor's appointments
-            List<Appointment> appointments = appointmentService.getAppointmentsByDoctor(doctorId);
+            List<AppointmentSummary> appointments = appointmentService.getAppointmentSummariesByDoctor(doctorId);
 
             String resultMessage = "Found " + appointments.size() + " appointments in schedule";
             return CommandResult.success(resultMessage, appointments);
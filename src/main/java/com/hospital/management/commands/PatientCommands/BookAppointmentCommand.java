@@ -6,7 +6,7 @@ import com.hospital.management.common.exceptions.ValidationException;
 import com.hospital.management.common.exceptions.DatabaseException;
 import com.hospital.management.interfaces.*;
 import com.hospital.management.models.*;
-import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.common.database.UnitOfWork;
 import com.hospital.management.common.enums.PaymentStatus;
 import com.hospital.management.common.enums.PaymentMethod;
 
@@ -15,8 +15,6 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public class BookAppointmentCommand implements Command {
     private final Long patientId;
@@ -49,7 +47,8 @@ public class BookAppointmentCommand implements Command {
 
     @Override
     public CommandResult execute() throws ValidationException, DatabaseException {
-        try {
+        // All steps share one connection and one commit; returning early without commit rolls back
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
             // Step 1: Get doctor details for consultation fee
             Doctor doctor = null;
             try {
@@ -90,27 +89,14 @@ public class BookAppointmentCommand implements Command {
 
             System.out.println("✅ DEBUG: Creating bill with Appointment ID: " + bill.getAppointmentId());
 
-            // Step 4: Create bill
-            boolean billCreated = billingService.createBill(bill);
-            if (!billCreated) {
+            // Step 4: Create bill (generated ID comes back with the insert)
+            CommandResult billResult = billingService.generateBill(bill);
+            if (!billResult.isSuccess()) {
                 return CommandResult.failure("Failed to generate bill", null);
             }
 
-            // ✅ CRITICAL FIX: Get the created bill back from database with its ID
-            List<Bill> recentBills = billingService.getAllBills().stream()
-                    .filter(b -> bookedAppointment.getId().equals(b.getAppointmentId()) &&
-                            patientId.equals(b.getPatientId()))
-                    .collect(Collectors.toList());
-
-            Bill createdBill = null;
-            if (!recentBills.isEmpty()) {
-                createdBill = recentBills.get(recentBills.size() - 1); // Get the latest bill
-                System.out.println("✅ DEBUG: Bill retrieved with ID: " + createdBill.getId());
-            } else {
-                return CommandResult.failure("Bill created but could not retrieve ID", null);
-            }
-
-            if (createdBill.getId() == null) {
+            Bill createdBill = billResult.getData(Bill.class);
+            if (createdBill == null || createdBill.getId() == null) {
                 return CommandResult.failure("Bill created but ID is null", null);
             }
 
@@ -129,22 +115,21 @@ public class BookAppointmentCommand implements Command {
             // Process payment
             CommandResult paymentResult = paymentService.processPayment(payment);
             if (!paymentResult.isSuccess()) {
+                // Appointment and bill are rolled back with the unit of work
                 return CommandResult.failure("Payment failed: " + paymentResult.getMessage(), null);
             }
 
             System.out.println("✅ DEBUG: Payment processed successfully");
 
-            // Step 6: Mark bill as paid using the retrieved bill
+            // Step 6: Mark bill as paid (bill is already in hand, no re-read needed)
             createdBill.setStatus(PaymentStatus.COMPLETED);
-            billingService.markBillAsPaid(createdBill.getId());
-
-            // Step 7: Update appointment status (if method exists)
-            try {
-                appointmentService.updateAppointmentStatus(bookedAppointment.getId(), AppointmentStatus.SCHEDULED);
-            } catch (Exception e) {
-                System.out.println("Warning: Could not update appointment status: " + e.getMessage());
+            if (!billingService.updateBill(createdBill)) {
+                return CommandResult.failure("Failed to mark bill as paid", null);
             }
 
+            // Appointment was inserted as SCHEDULED, so no separate status update is needed
+            unitOfWork.commit();
+
             // Prepare result data using the retrieved bill with proper ID
             Map<String, Object> resultData = new HashMap<>();
             resultData.put("appointment", bookedAppointment);
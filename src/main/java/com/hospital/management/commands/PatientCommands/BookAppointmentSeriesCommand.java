@@ -0,0 +1,122 @@
+package com.hospital.management.commands.PatientCommands;
+
+import com.hospital.management.commands.Command;
+import com.hospital.management.commands.CommandResult;
+import com.hospital.management.common.exceptions.ValidationException;
+import com.hospital.management.common.exceptions.DatabaseException;
+import com.hospital.management.interfaces.*;
+import com.hospital.management.models.*;
+import com.hospital.management.common.database.UnitOfWork;
+import com.hospital.management.common.enums.PaymentStatus;
+import com.hospital.management.common.enums.PaymentMethod;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Books a recurring series (the same slot every interval) and pays its single
+ * consolidated bill. Occurrences whose slot is taken are skipped and reported.
+ */
+public class BookAppointmentSeriesCommand implements Command {
+    private final Long patientId;
+    private final Long doctorId;
+    private final RecurrenceRule rule;
+    private final LocalTime appointmentTime;
+    private final String reason;
+    private final PaymentMethod paymentMethod;
+
+    private final AppointmentService appointmentService;
+    private final BillingService billingService;
+    private final PaymentService paymentService;
+
+    public BookAppointmentSeriesCommand(Long patientId, Long doctorId, RecurrenceRule rule,
+                                        LocalTime appointmentTime, String reason, PaymentMethod paymentMethod,
+                                        AppointmentService appointmentService, BillingService billingService,
+                                        PaymentService paymentService) {
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.rule = rule;
+        this.appointmentTime = appointmentTime;
+        this.reason = reason;
+        this.paymentMethod = paymentMethod;
+        this.appointmentService = appointmentService;
+        this.billingService = billingService;
+        this.paymentService = paymentService;
+    }
+
+    @Override
+    public CommandResult execute() throws ValidationException, DatabaseException {
+        validateParameters();
+
+        // Series, bill and payment share one commit; returning early without commit rolls back
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            CommandResult seriesResult = appointmentService.bookAppointmentSeries(
+                    patientId, doctorId, rule, appointmentTime, reason);
+            if (!seriesResult.isSuccess()) {
+                return seriesResult;
+            }
+
+            SeriesBooking series = seriesResult.getData(SeriesBooking.class);
+            Bill bill = series.getBill();
+            if (bill == null || bill.getId() == null) {
+                return CommandResult.failure("Series booked but bill ID is null", null);
+            }
+
+            Payment payment = new Payment();
+            payment.setBillId(bill.getId());
+            payment.setAmount(bill.getFinalAmount());
+            payment.setPaymentMethod(paymentMethod);
+            payment.setStatus(PaymentStatus.COMPLETED);
+            payment.setTransactionId("TXN" + System.currentTimeMillis());
+
+            CommandResult paymentResult = paymentService.processPayment(payment);
+            if (!paymentResult.isSuccess()) {
+                return CommandResult.failure("Payment failed: " + paymentResult.getMessage(), null);
+            }
+
+            bill.setStatus(PaymentStatus.COMPLETED);
+            if (!billingService.updateBill(bill)) {
+                return CommandResult.failure("Failed to mark bill as paid", null);
+            }
+
+            unitOfWork.commit();
+
+            Map<String, Object> resultData = new HashMap<>();
+            resultData.put("series", series);
+            resultData.put("bill", bill);
+            resultData.put("payment", paymentResult.getData() != null ? paymentResult.getData() : payment);
+            return CommandResult.success(seriesResult.getMessage() + " and payment completed", resultData);
+
+        } catch (Exception e) {
+            System.err.println("❌ ERROR in BookAppointmentSeriesCommand: " + e.getMessage());
+            throw new DatabaseException("Error booking appointment series: " + e.getMessage(), "SERIES_BOOKING_ERROR");
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "Book recurring appointment series with payment processing";
+    }
+
+    @Override
+    public boolean validateParameters() throws ValidationException {
+        if (patientId == null || patientId <= 0) {
+            throw new ValidationException("Valid patient ID is required", "PatientId");
+        }
+        if (doctorId == null || doctorId <= 0) {
+            throw new ValidationException("Valid doctor ID is required", "DoctorId");
+        }
+        if (rule == null || rule.getFirstDate() == null || rule.getFirstDate().isBefore(LocalDate.now())) {
+            throw new ValidationException("Valid future first date is required", "AppointmentDate");
+        }
+        if (appointmentTime == null) {
+            throw new ValidationException("Appointment time is required", "AppointmentTime");
+        }
+        if (paymentMethod == null) {
+            throw new ValidationException("Payment method is required", "PaymentMethod");
+        }
+        return true;
+    }
+}
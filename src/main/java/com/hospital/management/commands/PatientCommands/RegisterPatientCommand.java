@@ -8,6 +8,7 @@ import com.hospital.management.common.exceptions.BusinessLogicException;
 import com.hospital.management.common.utils.InputValidator;
 import com.hospital.management.interfaces.UserService;
 import com.hospital.management.models.Patient;
+import com.hospital.management.services.impl.RegistrationKeyFilter;
 import java.time.LocalDate;
 
 /**
@@ -80,6 +81,16 @@ public class RegisterPatientCommand implements Command {
                 return CommandResult.failure("Invalid parameters for patient registration");
             }
 
+            // Reject taken usernames/emails up front; the filter answers most "free" cases without a query
+            if (RegistrationKeyFilter.usernameMayBeTaken(username)
+                    && userService.findUserByUsername(username).isPresent()) {
+                return CommandResult.failure("Username already exists: " + username);
+            }
+            if (RegistrationKeyFilter.emailMayBeTaken(email)
+                    && userService.findUserByEmail(email).isPresent()) {
+                return CommandResult.failure("Email already exists: " + email);
+            }
+
             // Create patient object
             Patient patient = createPatient();
 
@@ -6,7 +6,7 @@ import com.hospital.management.common.exceptions.DatabaseException;
 import com.hospital.management.common.exceptions.ValidationException;
 import com.hospital.management.common.exceptions.BusinessLogicException;
 import com.hospital.management.interfaces.AppointmentService;
-import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
 import java.util.List;
 
 /**
@@ -34,7 +34,7 @@ public class ViewAppointmentsCommand implements Command {
             }
 
             // Use service to get patient's appointments
-            List<Appointment> appointments = appointmentService.getAppointmentsByPatient(patientId);
+            List<AppointmentSummary> appointments = appointmentService.getAppointmentSummariesByPatient(patientId);
 
             String resultMessage = "Found " + appointments.size() + " appointments";
             return CommandResult.success(resultMessage, appointments);
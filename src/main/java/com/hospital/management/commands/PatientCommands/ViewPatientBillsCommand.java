@@ -9,7 +9,7 @@ import com.hospital.management.dao.interfaces.BillDAO;
 import com.hospital.management.dao.interfaces.PaymentDAO;
 import com.hospital.management.dao.impl.BillDAOImpl;
 import com.hospital.management.dao.impl.PaymentDAOImpl;
-import com.hospital.management.models.Bill;
+import com.hospital.management.models.BillSummary;
 import com.hospital.management.models.Payment;
 
 import java.util.HashMap;
@@ -39,7 +39,7 @@ public class ViewPatientBillsCommand implements Command {
 
         try {
             // Get bills for the patient
-            List<Bill> bills = billDAO.getBillsByPatientId(patientId);
+            List<BillSummary> bills = billDAO.getBillSummariesByPatientId(patientId);
 
             // Get payments for the patient
             List<Payment> payments = paymentDAO.getPaymentsByPatientId(patientId);
@@ -0,0 +1,41 @@
+package com.hospital.management.common.cache;
+
+/**
+ * Point-in-time snapshot of a cache's counters
+ */
+public final class CacheStats {
+
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int maxSize;
+
+    public CacheStats(String name, long hits, long misses, long evictions, int size, int maxSize) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    public String getName() { return name; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats [name=%s, hits=%d, misses=%d, evictions=%d, size=%d/%d]",
+                name, hits, misses, evictions, size, maxSize);
+    }
+}
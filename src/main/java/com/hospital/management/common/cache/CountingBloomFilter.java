@@ -0,0 +1,135 @@
+package com.hospital.management.common.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Probabilistic set of strings that answers "definitely absent" or "maybe
+ * present". Each position holds a 4-bit counter instead of a single bit, so a
+ * value can be removed again; a counter that reaches 15 stays there, which
+ * only ever costs a false positive. Counters are packed eight to an int and
+ * updated with CAS, so the filter is safe to share between threads.
+ *
+ * Removing a value that was never added can produce false negatives, so
+ * callers must only remove values they know are present.
+ */
+public final class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Integer.SIZE / COUNTER_BITS;
+    private static final int COUNTER_MASK = (1 << COUNTER_BITS) - 1;
+
+    private final AtomicIntegerArray words;
+    private final int counters;
+    private final int hashFunctions;
+
+    /**
+     * @param expectedEntries   number of values the filter is sized for
+     * @param falsePositiveRate target false positive rate at that size, e.g. 0.01
+     */
+    public CountingBloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid filter settings: entries=" + expectedEntries
+                    + ", fpp=" + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long optimal = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counters = (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.max(64, optimal));
+        this.hashFunctions = (int) Math.max(1, Math.min(16, Math.round((double) counters / expectedEntries * ln2)));
+        this.words = new AtomicIntegerArray((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            increment(index(hash, i));
+        }
+    }
+
+    public void remove(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            decrement(index(hash, i));
+        }
+    }
+
+    /**
+     * False only if value has definitely not been added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counter(index(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getCounters() {
+        return counters;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private int counter(int index) {
+        int word = words.get(index / COUNTERS_PER_WORD);
+        return (word >>> shift(index)) & COUNTER_MASK;
+    }
+
+    private void increment(int index) {
+        int slot = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        while (true) {
+            int word = words.get(slot);
+            if (((word >>> shift) & COUNTER_MASK) == COUNTER_MASK) {
+                return; // saturated counters are never changed again
+            }
+            if (words.compareAndSet(slot, word, word + (1 << shift))) {
+                return;
+            }
+        }
+    }
+
+    private void decrement(int index) {
+        int slot = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        while (true) {
+            int word = words.get(slot);
+            int count = (word >>> shift) & COUNTER_MASK;
+            if (count == 0 || count == COUNTER_MASK) {
+                return;
+            }
+            if (words.compareAndSet(slot, word, word - (1 << shift))) {
+                return;
+            }
+        }
+    }
+
+    private static int shift(int index) {
+        return (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    // Double hashing: the i-th position is h1 + i * h2, both halves of one 64-bit hash
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + i * h2, counters);
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e94cdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
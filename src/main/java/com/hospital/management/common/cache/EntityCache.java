@@ -0,0 +1,169 @@
+package com.hospital.management.common.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache of entities by ID that checks each row's updated_at before trusting
+ * an old entry. Within the revalidation window an entry is served as is; after
+ * it, the row's version is read with a one-column query and the entry is kept
+ * if it still matches, or reloaded if not. Writers through the DAOs invalidate
+ * entries directly, so the version check only has to catch changes made
+ * outside this process.
+ *
+ * Callers receive a copy of the cached instance, so an edit that is never
+ * saved (or whose save fails) cannot leak into later reads.
+ */
+public final class EntityCache<V> {
+
+    public enum EvictionPolicy {
+        /** Evict the entry that was read least recently */
+        LRU,
+        /** Evict the entry that was loaded first */
+        FIFO
+    }
+
+    /**
+     * An entity together with the updated_at of the row it was read from
+     */
+    public static final class Versioned<V> {
+        private final V value;
+        private final long version;
+
+        public Versioned(V value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+
+        public V getValue() { return value; }
+        public long getVersion() { return version; }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long version;
+        long verifiedAt;
+
+        Entry(V value, long version, long verifiedAt) {
+            this.value = value;
+            this.version = version;
+            this.verifiedAt = verifiedAt;
+        }
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long revalidateNanos;
+    private final LongSupplier clock;
+    private final UnaryOperator<V> copier;
+    private final LinkedHashMap<Long, Entry<V>> entries;
+
+    private long generation = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param copier returns an independent copy of a value; identity is enough for immutable values
+     */
+    public EntityCache(String name, int maxEntries, long revalidateMillis, EvictionPolicy policy,
+                       UnaryOperator<V> copier) {
+        this(name, maxEntries, revalidateMillis, policy, copier, System::nanoTime);
+    }
+
+    EntityCache(String name, int maxEntries, long revalidateMillis, EvictionPolicy policy,
+                UnaryOperator<V> copier, LongSupplier clock) {
+        this.name = name;
+        this.copier = copier;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.revalidateNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, revalidateMillis));
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, policy == EvictionPolicy.LRU);
+    }
+
+    /**
+     * The entity with this ID, or null if loader finds none.
+     *
+     * @param loader        reads the row and its updated_at; null if there is no row
+     * @param versionLoader reads only updated_at; null if the row is gone
+     */
+    public V get(long id, LongFunction<Versioned<V>> loader, LongFunction<Long> versionLoader) {
+        Entry<V> entry;
+        long loadGeneration;
+        synchronized (this) {
+            entry = entries.get(id);
+            if (entry != null && clock.getAsLong() - entry.verifiedAt < revalidateNanos) {
+                hits++;
+                return copier.apply(entry.value);
+            }
+            if (entry == null) {
+                misses++;
+            }
+            loadGeneration = generation;
+        }
+
+        if (entry != null) {
+            Long version = versionLoader.apply(id);
+            synchronized (this) {
+                if (version != null && version == entry.version && entries.get(id) == entry) {
+                    entry.verifiedAt = clock.getAsLong();
+                    hits++;
+                    return copier.apply(entry.value);
+                }
+                misses++;
+                if (entries.get(id) == entry) {
+                    entries.remove(id);
+                }
+                if (version == null) {
+                    return null;
+                }
+                loadGeneration = generation;
+            }
+        }
+
+        Versioned<V> loaded = loader.apply(id);
+        if (loaded == null || loaded.getValue() == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(id, new Entry<>(loaded.getValue(), loaded.getVersion(), clock.getAsLong()));
+                evictOverflow();
+            }
+        }
+        // The loaded instance is now cached; the caller gets its own copy
+        return copier.apply(loaded.getValue());
+    }
+
+    /**
+     * Drop the entry; a load in flight for any ID is not stored, since it may
+     * have read the row before the change that caused this call
+     */
+    public synchronized void invalidate(long id) {
+        generation++;
+        entries.remove(id);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, hits, misses, evictions, entries.size(), maxEntries);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+}
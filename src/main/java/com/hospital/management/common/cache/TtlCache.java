@@ -0,0 +1,124 @@
+package com.hospital.management.common.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache with a time-to-live per entry and a bound on the number
+ * of entries (least recently used are evicted first).
+ *
+ * Loads run outside the lock, so a slow query does not block readers of other
+ * keys. An invalidation that happens while a load is in flight wins: the
+ * loaded value is returned to its caller but not stored.
+ */
+public final class TtlCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long generation = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public TtlCache(String name, long ttlMillis, int maxEntries) {
+        this(name, ttlMillis, maxEntries, System::nanoTime);
+    }
+
+    TtlCache(String name, long ttlMillis, int maxEntries, LongSupplier clock) {
+        this.name = name;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Cached value for key, loading and storing it on a miss.
+     * Null results are returned but never cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.expiresAt < 0) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Replace a cached, unexpired value with updater's result, keeping its expiry.
+     * Does nothing if key is not cached; a load in flight for any key is not stored,
+     * since it may have read the database before the change being applied here.
+     */
+    public synchronized boolean update(K key, UnaryOperator<V> updater) {
+        generation++;
+        Entry<V> entry = entries.get(key);
+        if (entry == null || clock.getAsLong() - entry.expiresAt >= 0) {
+            return false;
+        }
+        entries.put(key, new Entry<>(updater.apply(entry.value), entry.expiresAt));
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, hits, misses, evictions, entries.size(), maxEntries);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+}
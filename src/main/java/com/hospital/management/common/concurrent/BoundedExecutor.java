@@ -0,0 +1,72 @@
+package com.hospital.management.common.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on an executor while letting at most a fixed number of them run
+ * at once. Extra tasks wait on their worker thread for a permit, so a burst of
+ * lookups queues here instead of at the connection pool.
+ */
+public final class BoundedExecutor {
+
+    private final Executor executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAccumulator peakRunning = new LongAccumulator(Math::max, 0);
+
+    public BoundedExecutor(Executor executor, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Start the task; the future completes with its result or with whatever it threw.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            peakRunning.accumulate(running.incrementAndGet());
+            try {
+                return task.get();
+            } finally {
+                running.decrementAndGet();
+                permits.release();
+            }
+        }, executor);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getRunning() {
+        return running.get();
+    }
+
+    public int getPeakRunning() {
+        return (int) peakRunning.get();
+    }
+
+    /**
+     * Tasks currently waiting for a permit
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,41 @@
+package com.hospital.management.common.concurrent;
+
+/**
+ * Point-in-time snapshot of lock acquisition counters
+ */
+public final class LockStats {
+
+    private final String name;
+    private final long acquisitions;
+    private final long contended;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    public LockStats(String name, long acquisitions, long contended, long totalWaitNanos, long maxWaitNanos) {
+        this.name = name;
+        this.acquisitions = acquisitions;
+        this.contended = contended;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    public String getName() { return name; }
+    public long getAcquisitions() { return acquisitions; }
+    public long getContended() { return contended; }
+    public long getTotalWaitNanos() { return totalWaitNanos; }
+    public long getMaxWaitNanos() { return maxWaitNanos; }
+
+    public double getAverageWaitMillis() {
+        return acquisitions == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / acquisitions;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LockStats [name=%s, acquisitions=%d, contended=%d, avgWait=%.3fms, maxWait=%.3fms]",
+                name, acquisitions, contended, getAverageWaitMillis(), getMaxWaitMillis());
+    }
+}
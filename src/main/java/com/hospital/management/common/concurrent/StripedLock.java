@@ -0,0 +1,125 @@
+package com.hospital.management.common.concurrent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by an unbounded set of keys: a key always maps to
+ * the same stripe, so callers with the same key exclude each other while
+ * callers with different keys usually get different stripes and run in
+ * parallel. Several keys can be locked at once; stripes are always taken in
+ * index order, so two such callers cannot deadlock.
+ *
+ * Time spent waiting for a stripe is recorded for getStats().
+ */
+public final class StripedLock<K> {
+
+    /**
+     * Held stripes; closing releases them
+     */
+    public static final class Handle implements AutoCloseable {
+        private final ReentrantLock[] stripes;
+        private final int[] held;
+        private final long waitNanos;
+        private boolean released;
+
+        private Handle(ReentrantLock[] stripes, int[] held, long waitNanos) {
+            this.stripes = stripes;
+            this.held = held;
+            this.waitNanos = waitNanos;
+        }
+
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            for (int i = held.length - 1; i >= 0; i--) {
+                stripes[held[i]].unlock();
+            }
+        }
+    }
+
+    private final String name;
+    private final ReentrantLock[] stripes;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param stripes number of locks, rounded up to a power of two
+     */
+    public StripedLock(String name, int stripes) {
+        this.name = name;
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[Math.max(1, Math.min(size, 1 << 16))];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Handle lock(K key) {
+        return lockStripes(new int[]{stripeOf(key)});
+    }
+
+    /**
+     * Lock every stripe used by keys; duplicates and keys sharing a stripe are locked once
+     */
+    public Handle lockAll(Collection<K> keys) {
+        int[] indexes = keys.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        return lockStripes(indexes);
+    }
+
+    public LockStats getStats() {
+        return new LockStats(name, acquisitions.sum(), contended.sum(), totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    private Handle lockStripes(int[] indexes) {
+        long start = System.nanoTime();
+        boolean waited = false;
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                ReentrantLock stripe = stripes[index];
+                if (!stripe.tryLock()) {
+                    waited = true;
+                    stripe.lock();
+                }
+                locked++;
+            }
+        } finally {
+            if (locked < indexes.length) {
+                for (int i = locked - 1; i >= 0; i--) {
+                    stripes[indexes[i]].unlock();
+                }
+            }
+        }
+        long waitNanos = waited ? System.nanoTime() - start : 0L;
+        acquisitions.increment();
+        if (waited) {
+            contended.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+        }
+        return new Handle(stripes, Arrays.copyOf(indexes, indexes.length), waitNanos);
+    }
+
+    // Spread the hash so keys differing only in high bits still use different stripes
+    private int stripeOf(K key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x45d9f3b;
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
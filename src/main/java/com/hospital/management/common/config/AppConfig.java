@@ -51,10 +51,37 @@ public final class AppConfig {
         properties.setProperty("app.name", "Hospital Management System");
         properties.setProperty("app.version", "1.0.0");
         properties.setProperty("app.session.timeout", "30");
+        properties.setProperty("app.session.max.sessions", "1000");
         properties.setProperty("app.max.login.attempts", "3");
         properties.setProperty("app.appointment.booking.advance.days", "30");
         properties.setProperty("app.consultation.fee.default", "500.00");
         properties.setProperty("app.thread.pool.size", "5");
+        properties.setProperty("app.page.size", "20");
+        properties.setProperty("app.booking.lock.stripes", "64");
+        properties.setProperty("app.waitlist.max.per.day", "20");
+        properties.setProperty("app.appointment.series.max.occurrences", "26");
+        properties.setProperty("app.warmup.enabled", "true");
+        properties.setProperty("app.warmup.timeout.seconds", "15");
+        properties.setProperty("db.batch.size", "100");
+        properties.setProperty("cache.reference.ttl.seconds", "300");
+        properties.setProperty("cache.reference.max.entries", "256");
+        properties.setProperty("cache.slots.ttl.seconds", "120");
+        properties.setProperty("cache.slots.max.entries", "4096");
+        properties.setProperty("registration.filter.expected.entries", "100000");
+        properties.setProperty("registration.filter.false.positive.rate", "0.01");
+        properties.setProperty("cache.entity.enabled", "true");
+        properties.setProperty("cache.entity.max.entries", "500");
+        properties.setProperty("cache.entity.revalidate.seconds", "30");
+        properties.setProperty("cache.entity.eviction.policy", "LRU");
+        properties.setProperty("dashboard.reconcile.interval.seconds", "300");
+        properties.setProperty("db.pool.min.size", "2");
+        properties.setProperty("db.pool.max.size", "10");
+        properties.setProperty("db.pool.borrow.timeout.ms", "5000");
+        properties.setProperty("db.pool.validate.on.borrow", "true");
+        properties.setProperty("db.pool.validation.timeout.seconds", "2");
+        properties.setProperty("db.pool.idle.validation.interval.seconds", "60");
+        properties.setProperty("db.pool.idle.timeout.seconds", "600");
+        properties.setProperty("db.pool.leak.detection.threshold.seconds", "30");
     }
 
     public String getProperty(String key) {
@@ -98,6 +125,10 @@ public final class AppConfig {
         return getIntProperty("app.session.timeout", 30);
     }
 
+    public int getMaxSessions() {
+        return getIntProperty("app.session.max.sessions", 1000);
+    }
+
     public int getMaxLoginAttempts() {
         return getIntProperty("app.max.login.attempts", 3);
     }
@@ -113,4 +144,111 @@ public final class AppConfig {
     public int getThreadPoolSize() {
         return getIntProperty("app.thread.pool.size", 5);
     }
+
+    public int getBookingLockStripes() {
+        return getIntProperty("app.booking.lock.stripes", 64);
+    }
+
+    public int getWaitlistMaxPerDay() {
+        return getIntProperty("app.waitlist.max.per.day", 20);
+    }
+
+    public int getSeriesMaxOccurrences() {
+        return getIntProperty("app.appointment.series.max.occurrences", 26);
+    }
+
+    public boolean isWarmupEnabled() {
+        return getBooleanProperty("app.warmup.enabled", true);
+    }
+
+    public long getWarmupTimeoutMillis() {
+        return getIntProperty("app.warmup.timeout.seconds", 15) * 1000L;
+    }
+
+    public int getPageSize() {
+        return getIntProperty("app.page.size", 20);
+    }
+
+    public int getBatchSize() {
+        return getIntProperty("db.batch.size", 100);
+    }
+
+    // Reference data (departments, doctors) cache settings
+    public long getReferenceCacheTtlMillis() {
+        return getIntProperty("cache.reference.ttl.seconds", 300) * 1000L;
+    }
+
+    public int getReferenceCacheMaxEntries() {
+        return getIntProperty("cache.reference.max.entries", 256);
+    }
+
+    // Booked-slot index settings; one entry per doctor per day
+    public long getSlotIndexTtlMillis() {
+        return getIntProperty("cache.slots.ttl.seconds", 120) * 1000L;
+    }
+
+    public int getSlotIndexMaxEntries() {
+        return getIntProperty("cache.slots.max.entries", 4096);
+    }
+
+    public int getRegistrationFilterExpectedEntries() {
+        return getIntProperty("registration.filter.expected.entries", 100000);
+    }
+
+    public double getRegistrationFilterFalsePositiveRate() {
+        return getDoubleProperty("registration.filter.false.positive.rate", 0.01);
+    }
+
+    public boolean isEntityCacheEnabled() {
+        return getBooleanProperty("cache.entity.enabled", true);
+    }
+
+    public int getEntityCacheMaxEntries() {
+        return getIntProperty("cache.entity.max.entries", 500);
+    }
+
+    public long getEntityCacheRevalidateMillis() {
+        return getIntProperty("cache.entity.revalidate.seconds", 30) * 1000L;
+    }
+
+    public String getEntityCacheEvictionPolicy() {
+        return getProperty("cache.entity.eviction.policy", "LRU");
+    }
+
+    public int getDashboardReconcileIntervalSeconds() {
+        return getIntProperty("dashboard.reconcile.interval.seconds", 300);
+    }
+
+    // Connection pool settings
+    public int getDbPoolMinSize() {
+        return getIntProperty("db.pool.min.size", 2);
+    }
+
+    public int getDbPoolMaxSize() {
+        return getIntProperty("db.pool.max.size", 10);
+    }
+
+    public long getDbPoolBorrowTimeoutMillis() {
+        return getIntProperty("db.pool.borrow.timeout.ms", 5000);
+    }
+
+    public boolean isDbPoolValidateOnBorrow() {
+        return getBooleanProperty("db.pool.validate.on.borrow", true);
+    }
+
+    public int getDbPoolValidationTimeoutSeconds() {
+        return getIntProperty("db.pool.validation.timeout.seconds", 2);
+    }
+
+    public long getDbPoolIdleValidationIntervalMillis() {
+        return getIntProperty("db.pool.idle.validation.interval.seconds", 60) * 1000L;
+    }
+
+    public long getDbPoolIdleTimeoutMillis() {
+        return getIntProperty("db.pool.idle.timeout.seconds", 600) * 1000L;
+    }
+
+    public long getDbPoolLeakDetectionThresholdMillis() {
+        return getIntProperty("db.pool.leak.detection.threshold.seconds", 30) * 1000L;
+    }
 }
@@ -1,7 +1,12 @@
 package com.hospital.management.common.config;
 
+import com.hospital.management.common.database.ConnectionPool;
+import com.hospital.management.common.database.PoolStats;
+import com.hospital.management.common.database.UnitOfWork;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -19,7 +24,10 @@ public class DatabaseConfig {
     // Connection URLs
     private static final String ROOT_URL = String.format("jdbc:mysql://%s:%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC",
             HOST, PORT);
-    private static final String DATABASE_URL = String.format("jdbc:mysql://%s:%s/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC",
+    // rewriteBatchedStatements turns JDBC batches into multi-row INSERTs;
+    // cachePrepStmts keeps parsed statements per pooled connection so warm-up queries prime them
+    private static final String DATABASE_URL = String.format("jdbc:mysql://%s:%s/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true"
+                    + "&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048",
             HOST, PORT, DATABASE);
 //private static final String DATABASE_URL = String.format(
 //        "jdbc:mysql://%s:%s/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useAffectedRows=true",
@@ -31,6 +39,9 @@ public class DatabaseConfig {
     private static final String USERNAME = "root";  // Your local MySQL username
     private static final String PASSWORD = "12348765@";  // Your local MySQL password
 
+    // Shared connection pool, created on first use
+    private static volatile ConnectionPool pool;
+
     static {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
@@ -56,19 +67,81 @@ public class DatabaseConfig {
     }
 
     /**
-     * Get connection to the hospital management database
+     * Get connection to the hospital management database.
+     * Connections come from the shared pool; closing them returns them to the pool.
+     * Inside a UnitOfWork the transaction's connection is returned instead.
      */
     public static Connection getConnection() throws SQLException {
+        Connection transactional = UnitOfWork.currentConnection();
+        if (transactional != null) {
+            return transactional;
+        }
         try {
-            Connection connection = DriverManager.getConnection(DATABASE_URL, USERNAME, PASSWORD);
-            System.out.println("✅ Connected to Hospital Management System database");
-            return connection;
+            return getPool().getConnection();
         } catch (SQLException e) {
             System.err.println("❌ Database connection failed: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Create a statement whose result set is streamed row by row.
+     * Connector/J only streams for a forward-only, read-only statement with
+     * fetch size Integer.MIN_VALUE; otherwise it buffers the whole result in memory.
+     * While the result set is open, no other statement may run on the same connection.
+     */
+    public static Statement createStreamingStatement(Connection connection) throws SQLException {
+        Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(Integer.MIN_VALUE);
+        return stmt;
+    }
+
+    /**
+     * Live pool counters, or null if no connection has been requested yet
+     */
+    public static PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStats() : null;
+    }
+
+    /**
+     * Close idle pooled connections, e.g. on application exit
+     */
+    public static void shutdownPool() {
+        synchronized (DatabaseConfig.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConfig.class) {
+                current = pool;
+                if (current == null) {
+                    AppConfig config = AppConfig.getInstance();
+                    current = new ConnectionPool(
+                            () -> DriverManager.getConnection(DATABASE_URL, USERNAME, PASSWORD),
+                            config.getDbPoolMinSize(),
+                            config.getDbPoolMaxSize(),
+                            config.getDbPoolBorrowTimeoutMillis(),
+                            config.isDbPoolValidateOnBorrow(),
+                            config.getDbPoolValidationTimeoutSeconds(),
+                            config.getDbPoolIdleValidationIntervalMillis(),
+                            config.getDbPoolIdleTimeoutMillis(),
+                            config.getDbPoolLeakDetectionThresholdMillis());
+                    pool = current;
+                    System.out.println("✅ Connection pool ready (min=" + config.getDbPoolMinSize()
+                            + ", max=" + config.getDbPoolMaxSize() + ")");
+                }
+            }
+        }
+        return current;
+    }
+
     /**
      * Create the database if it doesn't exist
      */
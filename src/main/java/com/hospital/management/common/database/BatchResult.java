@@ -0,0 +1,64 @@
+package com.hospital.management.common.database;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk insert: the rows that were written, with their generated
+ * ids set, and the rows that were rejected together with the reason
+ */
+public final class BatchResult<T> {
+
+    /**
+     * A rejected row; index is its position in the list passed to the bulk insert
+     */
+    public static final class RowFailure<T> {
+
+        private final int index;
+        private final T item;
+        private final String reason;
+
+        public RowFailure(int index, T item, String reason) {
+            this.index = index;
+            this.item = item;
+            this.reason = reason;
+        }
+
+        public int getIndex() { return index; }
+        public T getItem() { return item; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return String.format("RowFailure [index=%d, reason=%s]", index, reason);
+        }
+    }
+
+    private final List<T> created;
+    private final List<RowFailure<T>> failures;
+
+    public BatchResult(List<T> created, List<RowFailure<T>> failures) {
+        this.created = Collections.unmodifiableList(created);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public List<T> getCreated() { return created; }
+    public List<RowFailure<T>> getFailures() { return failures; }
+
+    public int getCreatedCount() {
+        return created.size();
+    }
+
+    public int getFailedCount() {
+        return failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult [created=%d, failed=%d]", created.size(), failures.size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.hospital.management.common.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bulk INSERT through JDBC batching. With rewriteBatchedStatements enabled on
+ * the connection URL the driver sends each chunk as multi-row INSERTs, and the
+ * generated keys come back in row order.
+ *
+ * Rows are written in chunks of batchSize inside one unit of work (joining the
+ * caller's if one is open). A row that cannot be bound is rejected on its own;
+ * if a chunk fails on the server it is rolled back to a savepoint and retried
+ * row by row, so only the offending rows are reported and the rest are kept.
+ */
+public final class BatchWriter<T> {
+
+    @FunctionalInterface
+    public interface Binder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    private final String insertSql;
+    private final Binder<T> binder;
+    private final BiConsumer<T, Long> idSetter;
+    private final Function<SQLException, String> rejection;
+
+    public BatchWriter(String insertSql, Binder<T> binder, BiConsumer<T, Long> idSetter) {
+        this(insertSql, binder, idSetter, SQLException::getMessage);
+    }
+
+    /**
+     * @param rejection reason reported for a row the server rejected, e.g. a
+     *                  readable message for a known unique key in place of the driver's
+     */
+    public BatchWriter(String insertSql, Binder<T> binder, BiConsumer<T, Long> idSetter,
+                       Function<SQLException, String> rejection) {
+        this.insertSql = insertSql;
+        this.binder = binder;
+        this.idSetter = idSetter;
+        this.rejection = rejection;
+    }
+
+    public BatchResult<T> insertAll(List<T> items, int batchSize) {
+        if (items == null || items.isEmpty()) {
+            return new BatchResult<>(new ArrayList<>(), new ArrayList<>());
+        }
+        int chunkSize = Math.max(1, batchSize);
+        Long[] keys = new Long[items.size()];
+        boolean[] inserted = new boolean[items.size()];
+        List<BatchResult.RowFailure<T>> failures = new ArrayList<>();
+
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = UnitOfWork.currentConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < items.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, items.size());
+                    List<Integer> pending = new ArrayList<>(end - start);
+
+                    for (int i = start; i < end; i++) {
+                        if (bind(stmt, items, i, failures)) {
+                            stmt.addBatch();
+                            pending.add(i);
+                        }
+                    }
+                    if (pending.isEmpty()) {
+                        continue;
+                    }
+
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        stmt.executeBatch();
+                        readKeys(stmt, pending, keys, inserted);
+                    } catch (SQLException e) {
+                        stmt.clearBatch();
+                        conn.rollback(savepoint);
+                        insertOneByOne(stmt, items, pending, keys, inserted, failures);
+                    }
+                    conn.releaseSavepoint(savepoint);
+                }
+            }
+            uow.commit();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return aborted(items, failures, e);
+        }
+
+        List<T> created = new ArrayList<>(items.size() - failures.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (inserted[i]) {
+                T item = items.get(i);
+                if (keys[i] != null) {
+                    idSetter.accept(item, keys[i]);
+                }
+                created.add(item);
+            }
+        }
+        failures.sort(Comparator.comparingInt(BatchResult.RowFailure::getIndex));
+        return new BatchResult<>(created, failures);
+    }
+
+    private boolean bind(PreparedStatement stmt, List<T> items, int index,
+                         List<BatchResult.RowFailure<T>> failures) throws SQLException {
+        T item = items.get(index);
+        try {
+            binder.bind(stmt, item);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            // Missing required fields surface here as NullPointerException
+            stmt.clearParameters();
+            failures.add(new BatchResult.RowFailure<>(index, item, "Invalid row: " + e));
+            return false;
+        }
+    }
+
+    // A single-row INSERT is atomic on its own, so no savepoint per row
+    private void insertOneByOne(PreparedStatement stmt, List<T> items, List<Integer> pending, Long[] keys,
+                                boolean[] inserted, List<BatchResult.RowFailure<T>> failures) throws SQLException {
+        for (int index : pending) {
+            T item = items.get(index);
+            binder.bind(stmt, item);
+            try {
+                stmt.executeUpdate();
+                readKeys(stmt, List.of(index), keys, inserted);
+            } catch (SQLException e) {
+                failures.add(new BatchResult.RowFailure<>(index, item, rejection.apply(e)));
+            }
+        }
+    }
+
+    private static void readKeys(PreparedStatement stmt, List<Integer> rows, Long[] keys,
+                                 boolean[] inserted) throws SQLException {
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            for (int index : rows) {
+                inserted[index] = true;
+                if (generatedKeys.next()) {
+                    keys[index] = generatedKeys.getLong(1);
+                }
+            }
+        }
+    }
+
+    // The unit of work was rolled back, so every row that had not already been rejected is lost
+    private static <T> BatchResult<T> aborted(List<T> items, List<BatchResult.RowFailure<T>> failures,
+                                              SQLException cause) {
+        boolean[] rejected = new boolean[items.size()];
+        for (BatchResult.RowFailure<T> failure : failures) {
+            rejected[failure.getIndex()] = true;
+        }
+        List<BatchResult.RowFailure<T>> all = new ArrayList<>(failures);
+        for (int i = 0; i < items.size(); i++) {
+            if (!rejected[i]) {
+                all.add(new BatchResult.RowFailure<>(i, items.get(i), "Batch aborted: " + cause.getMessage()));
+            }
+        }
+        all.sort(Comparator.comparingInt(BatchResult.RowFailure::getIndex));
+        return new BatchResult<>(new ArrayList<>(), all);
+    }
+}
@@ -0,0 +1,62 @@
+package com.hospital.management.common.database;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Positions of a fixed list of column names, resolved once per result set
+ * shape (the ordered list of column labels) and cached
+ */
+final class ColumnPositions {
+
+    private final String[] columnNames;
+    private final Map<String, int[]> positionsByShape = new ConcurrentHashMap<>();
+
+    ColumnPositions(String[] columnNames) {
+        this.columnNames = columnNames.clone();
+    }
+
+    int[] of(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int count = meta.getColumnCount();
+        String[] labels = new String[count];
+        StringBuilder shape = new StringBuilder(count * 12);
+        for (int i = 0; i < count; i++) {
+            labels[i] = meta.getColumnLabel(i + 1);
+            shape.append(labels[i]).append(',');
+        }
+
+        int[] cached = positionsByShape.get(shape.toString());
+        if (cached != null) {
+            return cached;
+        }
+        int[] resolved = resolve(labels);
+        positionsByShape.putIfAbsent(shape.toString(), resolved);
+        return resolved;
+    }
+
+    int cachedShapeCount() {
+        return positionsByShape.size();
+    }
+
+    private int[] resolve(String[] labels) throws SQLException {
+        int[] positions = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            positions[i] = findColumn(labels, columnNames[i]);
+        }
+        return positions;
+    }
+
+    // Same rule as ResultSet.findColumn: case-insensitive, first match wins
+    private static int findColumn(String[] labels, String name) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(name)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column '" + name + "' not found.", "S0022");
+    }
+}
@@ -0,0 +1,13 @@
+package com.hospital.management.common.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Opens a brand-new physical database connection for the pool
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    Connection create() throws SQLException;
+}
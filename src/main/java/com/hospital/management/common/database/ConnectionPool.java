@@ -0,0 +1,348 @@
+package com.hospital.management.common.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool.
+ * Connections handed out are proxies; calling close() returns the physical
+ * connection to the pool instead of closing the socket. A background
+ * housekeeper validates idle connections, keeps the pool at its minimum size
+ * and reports connections held longer than the leak detection threshold.
+ */
+public class ConnectionPool {
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final boolean validateOnBorrow;
+    private final int validationTimeoutSeconds;
+    private final long idleTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+
+    // Most recently returned connections sit at the head (LIFO keeps hot sockets in use)
+    private final LinkedBlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Lease> leases = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong totalCreated = new AtomicLong();
+    private final AtomicLong totalBorrowed = new AtomicLong();
+    private final AtomicLong totalBorrowNanos = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long borrowTimeoutMillis,
+                          boolean validateOnBorrow, int validationTimeoutSeconds,
+                          long idleValidationIntervalMillis, long idleTimeoutMillis,
+                          long leakDetectionThresholdMillis) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Connection factory is required");
+        }
+        if (maxSize <= 0 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = Math.max(0, borrowTimeoutMillis);
+        this.validateOnBorrow = validateOnBorrow;
+        this.validationTimeoutSeconds = Math.max(1, validationTimeoutSeconds);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (idleValidationIntervalMillis > 0) {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "db-pool-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                    idleValidationIntervalMillis, idleValidationIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.housekeeper = null;
+        }
+
+        fillToMinimum();
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured borrow timeout when the pool is exhausted
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        waiting.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (!acquired) {
+            borrowTimeouts.incrementAndGet();
+            throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                    + "ms waiting for a database connection (" + getStats() + ")");
+        }
+
+        try {
+            Connection physical = takeConnection();
+            Lease lease = new Lease(physical, leakDetectionThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null);
+            Connection proxy = (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(lease));
+            leases.put(proxy, lease);
+
+            totalBorrowed.incrementAndGet();
+            totalBorrowNanos.addAndGet(System.nanoTime() - start);
+            return proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public PoolStats getStats() {
+        long borrowed = totalBorrowed.get();
+        double averageBorrowMillis = borrowed == 0 ? 0.0 : totalBorrowNanos.get() / (double) borrowed / 1_000_000.0;
+        return new PoolStats(leases.size(), idle.size(), waiting.get(), maxSize, totalCreated.get(),
+                borrowed, borrowTimeouts.get(), leaksDetected.get(), averageBorrowMillis);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Close all idle connections and stop the housekeeper.
+     * Connections still on loan are closed when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.connection);
+        }
+    }
+
+    private Connection takeConnection() throws SQLException {
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (!validateOnBorrow || isUsable(entry.connection)) {
+                return entry.connection;
+            }
+            closeQuietly(entry.connection);
+        }
+        return openPhysical();
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection connection = factory.create();
+        totalCreated.incrementAndGet();
+        return connection;
+    }
+
+    private void release(Connection proxy, Lease lease) {
+        leases.remove(proxy);
+        Connection physical = lease.physical;
+        try {
+            if (closed || physical.isClosed() || idle.size() + leases.size() >= maxSize) {
+                closeQuietly(physical);
+                return;
+            }
+            // Never hand the next borrower a half-finished transaction
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            idle.offerFirst(new IdleConnection(physical, System.currentTimeMillis()));
+        } catch (SQLException e) {
+            System.err.println("⚠️  Discarding pooled connection that failed to reset: " + e.getMessage());
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        try {
+            detectLeaks();
+            validateIdle();
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            System.err.println("⚠️  Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakDetectionThresholdMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases.values()) {
+            if (!lease.leakReported && now - lease.borrowedAt > leakDetectionThresholdMillis) {
+                lease.leakReported = true;
+                leaksDetected.incrementAndGet();
+                System.err.println("⚠️  Possible connection leak: connection held for "
+                        + (now - lease.borrowedAt) + "ms (threshold " + leakDetectionThresholdMillis + "ms)");
+                if (lease.origin != null) {
+                    lease.origin.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void validateIdle() {
+        long now = System.currentTimeMillis();
+        List<IdleConnection> checked = new ArrayList<>();
+        int count = idle.size();
+        for (int i = 0; i < count; i++) {
+            IdleConnection entry = idle.pollLast();
+            if (entry == null) {
+                break;
+            }
+            boolean expired = idleTimeoutMillis > 0
+                    && now - entry.idleSince > idleTimeoutMillis
+                    && checked.size() + idle.size() + leases.size() >= minSize;
+            if (expired || !isUsable(entry.connection)) {
+                closeQuietly(entry.connection);
+            } else {
+                checked.add(entry);
+            }
+        }
+        // Put survivors back at the tail, oldest last, so borrowers keep preferring hot connections
+        for (int i = checked.size() - 1; i >= 0; i--) {
+            IdleConnection entry = checked.get(i);
+            if (closed || idle.size() + leases.size() >= maxSize) {
+                closeQuietly(entry.connection);
+            } else {
+                idle.offerLast(entry);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && idle.size() + leases.size() < minSize) {
+            try {
+                idle.offerLast(new IdleConnection(openPhysical(), System.currentTimeMillis()));
+            } catch (SQLException e) {
+                System.err.println("⚠️  Could not pre-open pooled connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private boolean isUsable(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    private static final class IdleConnection {
+        private final Connection connection;
+        private final long idleSince;
+
+        private IdleConnection(Connection connection, long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+
+    private static final class Lease {
+        private final Connection physical;
+        private final Throwable origin;
+        private final long borrowedAt = System.currentTimeMillis();
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+        private volatile boolean leakReported = false;
+
+        private Lease(Connection physical, Throwable origin) {
+            this.physical = physical;
+            this.origin = origin;
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final Lease lease;
+
+        private LeaseHandler(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (lease.returned.compareAndSet(false, true)) {
+                        release((Connection) proxy, lease);
+                    }
+                    return null;
+                case "isClosed":
+                    return lease.returned.get() || lease.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + lease.physical + "]";
+                default:
+                    break;
+            }
+
+            if (lease.returned.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(lease.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hospital.management.common.database;
+
+/**
+ * Decodes enum columns against a cached constants array.
+ * Enum.valueOf hashes the name and goes through the class's constant
+ * directory on every call; for the handful of values in a status column a
+ * scan over a cached array is cheaper.
+ */
+public final class EnumCodec<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private final E[] constants;
+    private final String[] names;
+
+    public EnumCodec(Class<E> type) {
+        this.type = type;
+        this.constants = type.getEnumConstants();
+        this.names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = constants[i].name();
+        }
+    }
+
+    /**
+     * Constant with the given name, or null for a SQL NULL
+     */
+    public E decode(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return constants[i];
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + name);
+    }
+}
@@ -0,0 +1,59 @@
+package com.hospital.management.common.database;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated query.
+ * Pages are ordered by id; pass getNextKey() back as afterId to fetch the
+ * following page. The seek (WHERE id > ?) stays on the primary key index, so
+ * page N costs the same as page 1 no matter how large the table grows.
+ */
+public final class Page<T> {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final List<T> items;
+    private final Long nextKey;
+    private final boolean hasMore;
+
+    public Page(List<T> items, Long nextKey, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextKey = nextKey;
+        this.hasMore = hasMore;
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(Collections.emptyList(), null, false);
+    }
+
+    /**
+     * Build a page from rows fetched with LIMIT pageSize + 1.
+     * The extra row only signals that another page exists and is dropped.
+     */
+    public static <T> Page<T> fromRows(List<T> rows, int pageSize, Function<T, Long> keyOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextKey = items.isEmpty() ? null : keyOf.apply(items.get(items.size() - 1));
+        return new Page<>(items, nextKey, hasMore);
+    }
+
+    /**
+     * Clamp a requested page size into 1..MAX_PAGE_SIZE
+     */
+    public static int normalizeSize(int pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    public List<T> getItems() { return items; }
+    public Long getNextKey() { return nextKey; }
+    public boolean hasMore() { return hasMore; }
+    public int size() { return items.size(); }
+    public boolean isEmpty() { return items.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "Page [size=" + items.size() + ", nextKey=" + nextKey + ", hasMore=" + hasMore + "]";
+    }
+}
@@ -0,0 +1,46 @@
+package com.hospital.management.common.database;
+
+/**
+ * Point-in-time snapshot of connection pool counters
+ */
+public final class PoolStats {
+
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final int maxSize;
+    private final long totalCreated;
+    private final long totalBorrowed;
+    private final long borrowTimeouts;
+    private final long leaksDetected;
+    private final double averageBorrowMillis;
+
+    public PoolStats(int active, int idle, int waiting, int maxSize, long totalCreated, long totalBorrowed,
+                     long borrowTimeouts, long leaksDetected, double averageBorrowMillis) {
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.maxSize = maxSize;
+        this.totalCreated = totalCreated;
+        this.totalBorrowed = totalBorrowed;
+        this.borrowTimeouts = borrowTimeouts;
+        this.leaksDetected = leaksDetected;
+        this.averageBorrowMillis = averageBorrowMillis;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getWaiting() { return waiting; }
+    public int getMaxSize() { return maxSize; }
+    public long getTotalCreated() { return totalCreated; }
+    public long getTotalBorrowed() { return totalBorrowed; }
+    public long getBorrowTimeouts() { return borrowTimeouts; }
+    public long getLeaksDetected() { return leaksDetected; }
+    public double getAverageBorrowMillis() { return averageBorrowMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats [active=%d, idle=%d, waiting=%d, max=%d, created=%d, borrowed=%d, timeouts=%d, leaks=%d, avgBorrow=%.3fms]",
+                active, idle, waiting, maxSize, totalCreated, totalBorrowed, borrowTimeouts, leaksDetected, averageBorrowMillis);
+    }
+}
@@ -0,0 +1,50 @@
+package com.hospital.management.common.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Positional mapper for immutable read models, which are built from the row
+ * in one constructor call. Column positions are cached per result set shape
+ * exactly as in {@link RowMapper}; there is no way to refill an existing row.
+ */
+public final class ProjectionMapper<T> {
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        /**
+         * Build the current row; columns[i] is the position of the i-th declared column
+         */
+        T read(ResultSet rs, int[] columns) throws SQLException;
+    }
+
+    private final ColumnPositions positions;
+    private final Reader<T> reader;
+
+    public ProjectionMapper(String[] columnNames, Reader<T> reader) {
+        this.positions = new ColumnPositions(columnNames);
+        this.reader = reader;
+    }
+
+    /**
+     * Column positions for this result set; resolve once, before iterating rows
+     */
+    public int[] columns(ResultSet rs) throws SQLException {
+        return positions.of(rs);
+    }
+
+    public T map(ResultSet rs, int[] columns) throws SQLException {
+        return reader.read(rs, columns);
+    }
+
+    /**
+     * Map every remaining row into target
+     */
+    public void mapAll(ResultSet rs, Collection<? super T> target) throws SQLException {
+        int[] columns = columns(rs);
+        while (rs.next()) {
+            target.add(map(rs, columns));
+        }
+    }
+}
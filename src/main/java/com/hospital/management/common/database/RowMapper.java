@@ -0,0 +1,86 @@
+package com.hospital.management.common.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Maps result set rows to entities by column position instead of column name.
+ * The positions of the declared columns are resolved once per result set
+ * shape (the ordered list of column labels) and cached, so mapping a row is
+ * a series of indexed getters with no per-row name lookups.
+ *
+ * <pre>
+ * RowMapper&lt;Bill&gt; mapper = new RowMapper&lt;&gt;(new String[]{"id", "status"}, Bill::new,
+ *         (rs, c, bill) -&gt; {
+ *             bill.setId(rs.getLong(c[0]));
+ *             bill.setStatus(STATUS.decode(rs.getString(c[1])));
+ *         });
+ * </pre>
+ *
+ * Every row can be mapped into a new instance or, for streaming callers,
+ * into one reused instance. Immutable read models use {@link ProjectionMapper}.
+ */
+public final class RowMapper<T> {
+
+    @FunctionalInterface
+    public interface Binder<T> {
+        /**
+         * Copy the current row into target; columns[i] is the position of the i-th declared column
+         */
+        void bind(ResultSet rs, int[] columns, T target) throws SQLException;
+    }
+
+    private final ColumnPositions positions;
+    private final Supplier<T> factory;
+    private final Binder<T> binder;
+
+    public RowMapper(String[] columnNames, Supplier<T> factory, Binder<T> binder) {
+        this.positions = new ColumnPositions(columnNames);
+        this.factory = factory;
+        this.binder = binder;
+    }
+
+    /**
+     * Column positions for this result set; resolve once, before iterating rows
+     */
+    public int[] columns(ResultSet rs) throws SQLException {
+        return positions.of(rs);
+    }
+
+    public T map(ResultSet rs, int[] columns) throws SQLException {
+        T target = factory.get();
+        binder.bind(rs, columns, target);
+        return target;
+    }
+
+    /**
+     * Overwrite an existing instance with the current row, for callers that reuse one object
+     */
+    public T populate(ResultSet rs, int[] columns, T target) throws SQLException {
+        binder.bind(rs, columns, target);
+        return target;
+    }
+
+    /**
+     * Map the current row of a result set positioned by the caller
+     */
+    public T mapRow(ResultSet rs) throws SQLException {
+        return map(rs, columns(rs));
+    }
+
+    /**
+     * Map every remaining row into target
+     */
+    public void mapAll(ResultSet rs, Collection<? super T> target) throws SQLException {
+        int[] columns = columns(rs);
+        while (rs.next()) {
+            target.add(map(rs, columns));
+        }
+    }
+
+    int cachedShapeCount() {
+        return positions.cachedShapeCount();
+    }
+}
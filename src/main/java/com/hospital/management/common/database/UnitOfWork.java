@@ -0,0 +1,229 @@
+package com.hospital.management.common.database;
+
+import com.hospital.management.common.config.DatabaseConfig;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-bound database transaction that DAOs join automatically.
+ * While a unit of work is open, DatabaseConfig.getConnection() on the same
+ * thread returns the transaction's connection, so every DAO call shares one
+ * connection and one commit. Closing without commit() rolls everything back.
+ *
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     appointmentDAO.createAppointment(...);
+ *     billDAO.createBill(...);
+ *     uow.commit();
+ * }
+ * </pre>
+ *
+ * Nested begin() calls join the outer unit of work; only the outermost
+ * commit is written, and a nested close without commit dooms the whole unit.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection sharedView;
+    private final UnitOfWork outer;
+    private boolean committed = false;
+    private boolean closed = false;
+    private boolean rollbackOnly = false;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final List<Runnable> onComplete = new ArrayList<>();
+
+    private UnitOfWork(Connection connection, UnitOfWork outer) {
+        this.connection = connection;
+        this.outer = outer;
+        this.sharedView = outer != null ? outer.sharedView : nonClosingView(connection);
+    }
+
+    /**
+     * Start a unit of work on the current thread, or join the one already open
+     */
+    public static UnitOfWork begin() throws SQLException {
+        return begin(DatabaseConfig::getConnection);
+    }
+
+    // Tests open the outermost unit of work on a connection of their own
+    static UnitOfWork begin(ConnectionFactory connections) throws SQLException {
+        UnitOfWork existing = CURRENT.get();
+        if (existing != null) {
+            return new UnitOfWork(existing.connection, existing);
+        }
+
+        Connection connection = connections.create();
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        UnitOfWork unitOfWork = new UnitOfWork(connection, null);
+        CURRENT.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * Connection of the unit of work open on this thread, or null if none.
+     * The returned connection ignores close() so DAO try-with-resources blocks leave it open.
+     */
+    public static Connection currentConnection() {
+        UnitOfWork current = CURRENT.get();
+        return current != null ? current.sharedView : null;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Run action once the unit of work open on this thread commits, or right
+     * away if none is open. Used to keep in-memory state in step with the
+     * database; the action is dropped if the unit of work rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork current = CURRENT.get();
+        if (current == null) {
+            action.run();
+            return;
+        }
+        current.root().afterCommit.add(action);
+    }
+
+    /**
+     * Run action once the unit of work open on this thread ends, after its
+     * after-commit actions and whether or not it committed; right away if none
+     * is open. Used to hold a lock until the writes it guards, and the
+     * in-memory state following them, are visible to other threads.
+     */
+    public static void whenComplete(Runnable action) {
+        UnitOfWork current = CURRENT.get();
+        if (current == null) {
+            action.run();
+            return;
+        }
+        current.root().onComplete.add(0, action);
+    }
+
+    public void commit() throws SQLException {
+        ensureOpen();
+        if (outer != null) {
+            committed = true;
+            return;
+        }
+        if (rollbackOnly) {
+            throw new SQLException("Unit of work was marked rollback-only by a nested unit of work");
+        }
+        connection.commit();
+        committed = true;
+
+        for (Runnable action : afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ After-commit action failed: " + e.getMessage());
+            }
+        }
+        afterCommit.clear();
+    }
+
+    public void rollback() throws SQLException {
+        ensureOpen();
+        if (outer != null) {
+            root().rollbackOnly = true;
+            return;
+        }
+        connection.rollback();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (outer != null) {
+            if (!committed) {
+                root().rollbackOnly = true;
+            }
+            return;
+        }
+
+        CURRENT.remove();
+        try {
+            if (!committed) {
+                connection.rollback();
+            }
+        } finally {
+            try {
+                // Returning to the pool restores autocommit
+                connection.close();
+            } finally {
+                // Registered last, run first, so locks are released in reverse order
+                for (Runnable action : onComplete) {
+                    try {
+                        action.run();
+                    } catch (RuntimeException e) {
+                        System.err.println("⚠️ Completion action failed: " + e.getMessage());
+                    }
+                }
+                onComplete.clear();
+            }
+        }
+    }
+
+    private UnitOfWork root() {
+        UnitOfWork root = this;
+        while (root.outer != null) {
+            root = root.outer;
+        }
+        return root;
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Unit of work is already closed");
+        }
+    }
+
+    private static Connection nonClosingView(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "commit":
+                        case "setAutoCommit":
+                            throw new SQLException("Transaction is managed by the enclosing UnitOfWork");
+                        case "rollback":
+                            if (args == null) {
+                                throw new SQLException("Transaction is managed by the enclosing UnitOfWork");
+                            }
+                            // rollback(Savepoint) is allowed: partial rollbacks stay inside the transaction
+                            return invoke(connection, method, args);
+                        default:
+                            return invoke(connection, method, args);
+                    }
+                });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hospital.management.common.enums;
+
+/**
+ * How soon a waitlisted patient needs to be seen; more urgent requests are offered freed slots first
+ */
+public enum WaitlistUrgency {
+    ROUTINE("Routine", "Can wait for any opening"),
+    SOON("Soon", "Should be seen within the next few days"),
+    URGENT("Urgent", "Needs the first slot that opens");
+
+    private final String displayName;
+    private final String description;
+
+    WaitlistUrgency(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,35 @@
+package com.hospital.management.common.exceptions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Thrown when an appointment write collides with another row on
+ * unique_doctor_datetime, i.e. the doctor's slot is already held
+ */
+public class SlotTakenException extends BusinessLogicException {
+
+    private final Long doctorId;
+    private final LocalDate appointmentDate;
+    private final LocalTime appointmentTime;
+
+    public SlotTakenException(Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime) {
+        super("Doctor already has an appointment at " + appointmentDate + " " + appointmentTime,
+                "AppointmentConflict", "Appointment");
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+}
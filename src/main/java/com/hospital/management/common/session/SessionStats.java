@@ -0,0 +1,37 @@
+package com.hospital.management.common.session;
+
+/**
+ * Point-in-time snapshot of session store counters
+ */
+public final class SessionStats {
+
+    private final int active;
+    private final int maxSessions;
+    private final long created;
+    private final long expired;
+    private final long rejected;
+    private final long idleTimeoutMillis;
+
+    public SessionStats(int active, int maxSessions, long created, long expired, long rejected,
+                        long idleTimeoutMillis) {
+        this.active = active;
+        this.maxSessions = maxSessions;
+        this.created = created;
+        this.expired = expired;
+        this.rejected = rejected;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public int getActive() { return active; }
+    public int getMaxSessions() { return maxSessions; }
+    public long getCreated() { return created; }
+    public long getExpired() { return expired; }
+    public long getRejected() { return rejected; }
+    public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("SessionStats [active=%d/%d, created=%d, expired=%d, rejected=%d]",
+                active, maxSessions, created, expired, rejected);
+    }
+}
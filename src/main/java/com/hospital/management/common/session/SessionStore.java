@@ -0,0 +1,212 @@
+package com.hospital.management.common.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory sessions that expire after a period without access.
+ *
+ * Expiry uses a hashed timing wheel: each session sits in the bucket of the
+ * tick in which it would expire, and a background reaper drains one bucket per
+ * tick. Accessing a session only stamps its last-access time (O(1), no
+ * re-bucketing); when its bucket comes up, a session that was used in the
+ * meantime is moved to the bucket of its new deadline instead of being
+ * removed. Reads also check the deadline, so an idle session is never
+ * returned even if the reaper has not reached it yet.
+ */
+public final class SessionStore<K, V> implements AutoCloseable {
+
+    private static final long MIN_TICK_MILLIS = 1000;
+    private static final int TICKS_PER_TIMEOUT = 64;
+
+    private static final class Session<K, V> {
+        final K key;
+        final V value;
+        volatile long lastAccess;
+        long scheduledTick;
+
+        Session(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.lastAccess = now;
+        }
+    }
+
+    private final long idleTimeoutNanos;
+    private final int maxSessions;
+    private final LongSupplier clock;
+    private final long tickNanos;
+    private final List<Queue<Session<K, V>>> wheel;
+    private final Map<K, Session<K, V>> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reaper;
+
+    private final Object wheelLock = new Object();
+    private long lastProcessedTick;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public SessionStore(long idleTimeoutMillis, int maxSessions) {
+        this(idleTimeoutMillis, maxSessions, System::nanoTime, true);
+    }
+
+    SessionStore(long idleTimeoutMillis, int maxSessions, LongSupplier clock, boolean startReaper) {
+        if (idleTimeoutMillis <= 0 || maxSessions <= 0) {
+            throw new IllegalArgumentException("Invalid session settings: timeout=" + idleTimeoutMillis
+                    + "ms, max=" + maxSessions);
+        }
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+
+        long tickMillis = Math.max(MIN_TICK_MILLIS, idleTimeoutMillis / TICKS_PER_TIMEOUT);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        // One full revolution must cover the longest possible deadline plus the tick being processed
+        int buckets = (int) ((idleTimeoutNanos + tickNanos - 1) / tickNanos) + 2;
+        this.wheel = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+        this.lastProcessedTick = tickOf(clock.getAsLong());
+
+        if (startReaper) {
+            this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "session-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.reaper.scheduleWithFixedDelay(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.reaper = null;
+        }
+    }
+
+    /**
+     * Start or replace the session for key. Returns false, storing nothing, when
+     * key has no session and the store already holds maxSessions.
+     */
+    public boolean put(K key, V value) {
+        Session<K, V> session = new Session<>(key, value, clock.getAsLong());
+        // Puts are the only way the map grows, so checking the cap under the lock makes it exact;
+        // the lock also keeps the reaper from seeing the wheel entry before the map entry
+        synchronized (wheelLock) {
+            if (!sessions.containsKey(key) && sessions.size() >= maxSessions) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            sessions.put(key, session);
+            schedule(session);
+        }
+        created.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * The session value for key, refreshing its idle timer, or null if there is none or it has expired
+     */
+    public V get(K key) {
+        Session<K, V> session = sessions.get(key);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (isExpired(session, now)) {
+            if (sessions.remove(key, session)) {
+                expired.incrementAndGet();
+            }
+            return null;
+        }
+        session.lastAccess = now;
+        return session.value;
+    }
+
+    public boolean contains(K key) {
+        return get(key) != null;
+    }
+
+    public V remove(K key) {
+        Session<K, V> session = sessions.remove(key);
+        return session != null ? session.value : null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public SessionStats getStats() {
+        return new SessionStats(sessions.size(), maxSessions, created.get(), expired.get(), rejected.get(),
+                TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos));
+    }
+
+    /**
+     * Drain every wheel bucket whose tick has passed; run by the reaper thread
+     */
+    void expireDue() {
+        long now = clock.getAsLong();
+        long nowTick = tickOf(now);
+        synchronized (wheelLock) {
+            // After a long stall one revolution visits every bucket, which is enough
+            long from = Math.max(lastProcessedTick + 1, nowTick - wheel.size() + 1);
+            for (long tick = from; tick <= nowTick; tick++) {
+                lastProcessedTick = tick;
+                Queue<Session<K, V>> bucket = wheel.get(bucketOf(tick));
+                int pending = bucket.size();
+                for (int i = 0; i < pending; i++) {
+                    Session<K, V> session = bucket.poll();
+                    if (session == null) {
+                        break;
+                    }
+                    if (sessions.get(session.key) != session) {
+                        continue; // logged out or replaced
+                    }
+                    if (session.scheduledTick > tick) {
+                        bucket.add(session); // due on a later revolution
+                    } else if (isExpired(session, now)) {
+                        if (sessions.remove(session.key, session)) {
+                            expired.incrementAndGet();
+                        }
+                    } else {
+                        schedule(session);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        sessions.clear();
+    }
+
+    // Caller holds wheelLock; never schedules into a tick that has already been drained
+    private void schedule(Session<K, V> session) {
+        long deadlineTick = tickOf(session.lastAccess + idleTimeoutNanos);
+        session.scheduledTick = Math.max(deadlineTick, lastProcessedTick + 1);
+        wheel.get(bucketOf(session.scheduledTick)).add(session);
+    }
+
+    private boolean isExpired(Session<K, V> session, long now) {
+        return now - session.lastAccess >= idleTimeoutNanos;
+    }
+
+    private int bucketOf(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.size());
+    }
+
+    private long tickOf(long nanos) {
+        return Math.floorDiv(nanos, tickNanos);
+    }
+}
@@ -47,6 +47,16 @@ public class AdminController {
         }
     }
 
+    // View one page of users
+    public CommandResult viewUsersPage(Long adminId, Long afterId, int pageSize) {
+        Command command = new ManageUsersCommand(adminId, afterId, pageSize, userService);
+        try {
+            return command.execute();
+        } catch (Exception e) {
+            return CommandResult.failure("Error viewing users: " + e.getMessage(), e);
+        }
+    }
+
     // Get user details by ID
     public CommandResult getUserDetails(Long adminId, Long targetUserId) {
         Command command = new ManageUsersCommand(adminId, UserManagementAction.GET_USER_DETAILS, targetUserId, userService);
@@ -109,6 +119,15 @@ public class AdminController {
         }
     }
 
+    public CommandResult viewAppointmentsPage(Long adminId, Long afterId, int pageSize) {
+        Command command = new ViewAllAppointmentsCommand(adminId, afterId, pageSize);
+        try {
+            return command.execute();
+        } catch (Exception e) {
+            return CommandResult.failure("Error viewing appointments: " + e.getMessage(), e);
+        }
+    }
+
     public CommandResult viewAllDepartments(Long adminId) {
         Command command = new ManageDepartmentsCommand(adminId, ManageDepartmentsCommand.DepartmentAction.VIEW_ALL);
         try {
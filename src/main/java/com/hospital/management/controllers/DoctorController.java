@@ -9,6 +9,7 @@ import com.hospital.management.interfaces.AppointmentService;
 import com.hospital.management.interfaces.DoctorService;  // ✅ ADD THIS IMPORT
 import com.hospital.management.models.Doctor;
 import com.hospital.management.services.impl.DoctorServiceImpl;  // ✅ ADD THIS IMPORT
+import com.hospital.management.services.impl.RoleIdentityResolver;
 
 import java.util.Optional;
 
@@ -42,6 +43,13 @@ public class DoctorController {
         }
     }
 
+    /**
+     * doctors.id for a logged-in doctor's user account, or null if there is no doctor record
+     */
+    public Long resolveDoctorId(Long userId) {
+        return RoleIdentityResolver.doctorIdFor(userId);
+    }
+
     /**
      * Views appointments scheduled for given doctor
      */
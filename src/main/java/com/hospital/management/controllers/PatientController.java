@@ -7,9 +7,14 @@ import com.hospital.management.interfaces.*;
 import com.hospital.management.services.impl.*;
 import com.hospital.management.models.*;
 import com.hospital.management.common.enums.PaymentMethod;
+import com.hospital.management.common.enums.WaitlistUrgency;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller handling patient-related activities by invoking commands.
@@ -106,6 +111,21 @@ public class PatientController {
         }
     }
 
+    /**
+     * Book the same slot every week for the given number of weeks and pay for all of them at once
+     */
+    public CommandResult bookWeeklySeriesWithPayment(Long patientId, Long doctorId, LocalDate firstDate,
+                                                     LocalTime appointmentTime, int weeks, String reason,
+                                                     PaymentMethod paymentMethod) {
+        Command command = new BookAppointmentSeriesCommand(patientId, doctorId, RecurrenceRule.weekly(firstDate, weeks),
+                appointmentTime, reason, paymentMethod, appointmentService, billingService, paymentService);
+        try {
+            return command.execute();
+        } catch (Exception e) {
+            return CommandResult.failure("Error booking appointment series: " + e.getMessage(), e);
+        }
+    }
+
     public CommandResult viewAppointments(Long patientId) {
         Command command = new ViewAppointmentsCommand(patientId, appointmentService);
         try {
@@ -133,6 +153,13 @@ public class PatientController {
         }
     }
 
+    /**
+     * patients.id for a logged-in patient's user account, or null if there is no patient record
+     */
+    public Long resolvePatientId(Long userId) {
+        return RoleIdentityResolver.patientIdFor(userId);
+    }
+
     // ✅ ADD THESE NEW METHODS FOR UI SUPPORT:
     public CommandResult getAllDepartments() {
         try {
@@ -153,6 +180,15 @@ public class PatientController {
     }
 
 
+    public CommandResult findEarliestAvailable(Long departmentId, int limit) {
+        try {
+            List<AvailableSlot> slots = doctorService.findEarliestAvailable(departmentId, limit);
+            return CommandResult.success("Earliest available slots retrieved", slots);
+        } catch (Exception e) {
+            return CommandResult.failure("Error searching for available slots: " + e.getMessage(), null);
+        }
+    }
+
     public CommandResult getAvailableTimeSlots(Long doctorId, LocalDate appointmentDate) {
         try {
             List<LocalTime> availableSlots = doctorService.getAvailableTimeSlots(doctorId, appointmentDate);
@@ -161,4 +197,40 @@ public class PatientController {
             return CommandResult.failure("Error retrieving time slots: " + e.getMessage(), null);
         }
     }
+
+    public CommandResult joinWaitlist(Long patientId, Long doctorId, LocalDate appointmentDate,
+                                      WaitlistUrgency urgency, String reason) {
+        try {
+            return appointmentService.joinWaitlist(patientId, doctorId, appointmentDate, urgency, reason);
+        } catch (Exception e) {
+            return CommandResult.failure("Error joining waitlist: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Appointments booked from the waitlist since the patient last looked
+     */
+    public List<Appointment> getWaitlistFills(Long patientId) {
+        return appointmentService.takeWaitlistFills(patientId);
+    }
+
+    /**
+     * Everything the slot-selection step shows, fetched in parallel: the doctor's
+     * current details, the free slots on the date and the patient's bills
+     */
+    public CommandResult getBookingOverview(Long patientId, Long doctorId, LocalDate appointmentDate) {
+        CompletableFuture<Optional<Doctor>> doctor = doctorService.findDoctorByIdAsync(doctorId);
+        CompletableFuture<List<LocalTime>> slots = doctorService.getAvailableTimeSlotsAsync(doctorId, appointmentDate);
+        CompletableFuture<List<Bill>> bills = billingService.getBillsByPatientAsync(patientId);
+        try {
+            Map<String, Object> overview = new HashMap<>();
+            overview.put("doctor", doctor.join().orElse(null));
+            overview.put("slots", slots.join());
+            overview.put("bills", bills.join());
+            return CommandResult.success("Booking overview retrieved", overview);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return CommandResult.failure("Error retrieving time slots: " + cause.getMessage(), null);
+        }
+    }
 }
@@ -1,18 +1,85 @@
 package com.hospital.management.dao.impl;
 
 
+import com.hospital.management.common.config.AppConfig;
 import com.hospital.management.common.config.DatabaseConfig;
 import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.common.exceptions.SlotTakenException;
 import com.hospital.management.dao.interfaces.AppointmentDAO;
 import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.BatchWriter;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.database.EnumCodec;
+import com.hospital.management.common.database.ProjectionMapper;
+import com.hospital.management.common.database.RowMapper;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class AppointmentDAOImpl implements AppointmentDAO {
 
+    private static final EnumCodec<AppointmentStatus> STATUS = new EnumCodec<>(AppointmentStatus.class);
+
+    private static final RowMapper<Appointment> APPOINTMENT_MAPPER = new RowMapper<>(
+            new String[]{"id", "patient_id", "doctor_id", "appointment_date", "appointment_time", "status",
+                    "reason", "notes", "created_at", "updated_at"},
+            Appointment::new,
+            (rs, c, appointment) -> {
+                appointment.setId(rs.getLong(c[0]));
+                appointment.setPatientId(rs.getLong(c[1]));
+                appointment.setDoctorId(rs.getLong(c[2]));
+                appointment.setAppointmentDate(rs.getDate(c[3]).toLocalDate());
+                appointment.setAppointmentTime(rs.getTime(c[4]).toLocalTime());
+                appointment.setStatus(STATUS.decode(rs.getString(c[5])));
+                appointment.setReason(rs.getString(c[6]));
+                appointment.setNotes(rs.getString(c[7]));
+                appointment.setCreatedAt(rs.getTimestamp(c[8]).toLocalDateTime());
+                appointment.setUpdatedAt(rs.getTimestamp(c[9]).toLocalDateTime());
+            });
+
+    private static final String INSERT_SQL = "INSERT INTO appointments (patient_id, doctor_id, appointment_date, appointment_time, status, reason, notes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
+    private static final BatchWriter<Appointment> APPOINTMENT_WRITER =
+            new BatchWriter<>(INSERT_SQL, AppointmentDAOImpl::bindInsert, Appointment::setId,
+                    e -> isSlotConflict(e) ? SLOT_TAKEN : e.getMessage());
+
+    // List screens never show full notes, so only an 80 character preview leaves the server
+    private static final String SUMMARY_SELECT =
+            "SELECT a.id, a.patient_id, CONCAT(p.first_name, ' ', p.last_name) AS patient_name, " +
+            "a.doctor_id, CONCAT(d.first_name, ' ', d.last_name) AS doctor_name, " +
+            "a.appointment_date, a.appointment_time, a.status, a.reason, " +
+            "LEFT(a.notes, 80) AS notes_preview, a.created_at " +
+            "FROM appointments a " +
+            "JOIN patients p ON a.patient_id = p.id " +
+            "JOIN doctors d ON a.doctor_id = d.id ";
+
+    private static final ProjectionMapper<AppointmentSummary> SUMMARY_MAPPER = new ProjectionMapper<>(
+            new String[]{"id", "patient_id", "patient_name", "doctor_id", "doctor_name", "appointment_date",
+                    "appointment_time", "status", "reason", "notes_preview", "created_at"},
+            (rs, c) -> new AppointmentSummary(
+                    rs.getLong(c[0]),
+                    rs.getLong(c[1]),
+                    rs.getString(c[2]),
+                    rs.getLong(c[3]),
+                    rs.getString(c[4]),
+                    rs.getDate(c[5]).toLocalDate(),
+                    rs.getTime(c[6]).toLocalTime(),
+                    STATUS.decode(rs.getString(c[7])),
+                    rs.getString(c[8]),
+                    rs.getString(c[9]),
+                    rs.getTimestamp(c[10]).toLocalDateTime()));
+
     @Override
     public Appointment getAppointmentById(int id) {
         String sql = "SELECT * FROM appointments WHERE id = ?";
@@ -22,7 +89,7 @@ public class AppointmentDAOImpl implements AppointmentDAO {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToAppointment(rs);
+                return APPOINTMENT_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -39,9 +106,7 @@ public class AppointmentDAOImpl implements AppointmentDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                appointments.add(mapResultSetToAppointment(rs));
-            }
+            APPOINTMENT_MAPPER.mapAll(rs, appointments);
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -50,30 +115,52 @@ public class AppointmentDAOImpl implements AppointmentDAO {
     }
 
     @Override
-    public boolean createAppointment(Appointment appointment) {
-        String sql = "INSERT INTO appointments (patient_id, doctor_id, appointment_date, appointment_time, status, reason, notes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    public Appointment createAppointment(Appointment appointment) throws SlotTakenException {
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setLong(1, appointment.getPatientId());
-            stmt.setLong(2, appointment.getDoctorId());
-            stmt.setDate(3, Date.valueOf(appointment.getAppointmentDate()));
-            stmt.setTime(4, Time.valueOf(appointment.getAppointmentTime()));
-            stmt.setString(5, appointment.getStatus().name());
-            stmt.setString(6, appointment.getReason());
-            stmt.setString(7, appointment.getNotes());
+            bindInsert(stmt, appointment);
 
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            if (stmt.executeUpdate() > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        appointment.setId(generatedKeys.getLong(1));
+                        return appointment;
+                    }
+                }
+            }
 
         } catch (SQLException e) {
+            if (isSlotConflict(e)) {
+                throw slotTaken(appointment);
+            }
             e.printStackTrace();
         }
-        return false;
+        return null;
     }
 
     @Override
-    public boolean updateAppointment(Appointment appointment) {
+    public BatchResult<Appointment> createAppointments(List<Appointment> appointments) {
+        return createAppointments(appointments, AppConfig.getInstance().getBatchSize());
+    }
+
+    @Override
+    public BatchResult<Appointment> createAppointments(List<Appointment> appointments, int batchSize) {
+        return APPOINTMENT_WRITER.insertAll(appointments, batchSize);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Appointment appointment) throws SQLException {
+        stmt.setLong(1, appointment.getPatientId());
+        stmt.setLong(2, appointment.getDoctorId());
+        stmt.setDate(3, Date.valueOf(appointment.getAppointmentDate()));
+        stmt.setTime(4, Time.valueOf(appointment.getAppointmentTime()));
+        stmt.setString(5, appointment.getStatus().name());
+        stmt.setString(6, appointment.getReason());
+        stmt.setString(7, appointment.getNotes());
+    }
+
+    @Override
+    public boolean updateAppointment(Appointment appointment) throws SlotTakenException {
         String sql = "UPDATE appointments SET patient_id=?, doctor_id=?, appointment_date=?, appointment_time=?, status=?, reason=?, notes=? WHERE id=?";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -91,11 +178,26 @@ public class AppointmentDAOImpl implements AppointmentDAO {
             return rows > 0;
 
         } catch (SQLException e) {
+            if (isSlotConflict(e)) {
+                throw slotTaken(appointment);
+            }
             e.printStackTrace();
         }
         return false;
     }
 
+    // Duplicate key (MySQL error 1062) on unique_doctor_datetime; other constraint
+    // violations, such as a missing patient or doctor, share SQLState 23000
+    private static boolean isSlotConflict(SQLException e) {
+        return "23000".equals(e.getSQLState()) && e.getErrorCode() == MYSQL_DUPLICATE_KEY
+                && e.getMessage() != null && e.getMessage().contains("unique_doctor_datetime");
+    }
+
+    private static SlotTakenException slotTaken(Appointment appointment) {
+        return new SlotTakenException(appointment.getDoctorId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentTime());
+    }
+
     @Override
     public boolean deleteAppointment(int id) {
         String sql = "DELETE FROM appointments WHERE id = ?";
@@ -121,9 +223,7 @@ public class AppointmentDAOImpl implements AppointmentDAO {
             stmt.setLong(1, doctorId);
             stmt.setDate(2, java.sql.Date.valueOf(appointmentDate));
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                appointments.add(mapResultSetToAppointment(rs));
-            }
+            APPOINTMENT_MAPPER.mapAll(rs, appointments);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -160,9 +260,7 @@ public class AppointmentDAOImpl implements AppointmentDAO {
             stmt.setLong(1, userId); // Pass user_id = 7
             ResultSet rs = stmt.executeQuery();
 
-            while (rs.next()) {
-                appointments.add(mapResultSetToAppointment(rs));
-            }
+            APPOINTMENT_MAPPER.mapAll(rs, appointments);
 
             System.out.println("✅ Found " + appointments.size() + " appointments for user_id: " + userId);
 
@@ -176,18 +274,237 @@ public class AppointmentDAOImpl implements AppointmentDAO {
 
 
 
-    private Appointment mapResultSetToAppointment(ResultSet rs) throws SQLException {
-        Appointment appointment = new Appointment();
-        appointment.setId(rs.getLong("id"));
-        appointment.setPatientId(rs.getLong("patient_id"));
-        appointment.setDoctorId(rs.getLong("doctor_id"));
-        appointment.setAppointmentDate(rs.getDate("appointment_date").toLocalDate());
-        appointment.setAppointmentTime(rs.getTime("appointment_time").toLocalTime());
-        appointment.setStatus(com.hospital.management.common.enums.AppointmentStatus.valueOf(rs.getString("status")));
-        appointment.setReason(rs.getString("reason"));
-        appointment.setNotes(rs.getString("notes"));
-        appointment.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        appointment.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-        return appointment;
+    @Override
+    public List<Appointment> getAppointmentsByDoctor(Long doctorId) {
+        return getAppointmentsByDoctor(doctorId, null, null, null);
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsByDoctor(Long doctorId, LocalDate fromDate, LocalDate toDate,
+                                                     AppointmentStatus status) {
+        List<Appointment> appointments = new ArrayList<>();
+
+        // doctor_id + appointment_date prefix is served by unique_doctor_datetime / idx_doctor
+        StringBuilder sql = new StringBuilder("SELECT * FROM appointments WHERE doctor_id = ?");
+        if (fromDate != null) sql.append(" AND appointment_date >= ?");
+        if (toDate != null) sql.append(" AND appointment_date <= ?");
+        if (status != null) sql.append(" AND status = ?");
+        sql.append(" ORDER BY appointment_date, appointment_time");
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, doctorId);
+            if (fromDate != null) stmt.setDate(index++, Date.valueOf(fromDate));
+            if (toDate != null) stmt.setDate(index++, Date.valueOf(toDate));
+            if (status != null) stmt.setString(index++, status.name());
+
+            ResultSet rs = stmt.executeQuery();
+            APPOINTMENT_MAPPER.mapAll(rs, appointments);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return appointments;
+    }
+
+    @Override
+    public List<LocalTime> getBookedTimes(Long doctorId, LocalDate appointmentDate) {
+        List<LocalTime> times = new ArrayList<>();
+        // Covered by unique_doctor_datetime, which ends in slot_held; no row lookups
+        String sql = "SELECT appointment_time FROM appointments WHERE doctor_id = ? AND appointment_date = ? "
+                + "AND slot_held IS NOT NULL";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, doctorId);
+            stmt.setDate(2, Date.valueOf(appointmentDate));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    times.add(rs.getTime(1).toLocalTime());
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return times;
+    }
+
+    @Override
+    public Set<LocalDate> getTakenDates(Long doctorId, LocalTime appointmentTime, Collection<LocalDate> dates) {
+        Set<LocalDate> taken = new HashSet<>();
+        if (dates.isEmpty()) {
+            return taken;
+        }
+        // Equality on doctor_id and appointment_time plus IN on the date: probes of unique_doctor_datetime
+        String sql = "SELECT appointment_date FROM appointments WHERE doctor_id = ? AND appointment_time = ? "
+                + "AND appointment_date IN (" + String.join(", ", Collections.nCopies(dates.size(), "?")) + ") "
+                + "AND slot_held IS NOT NULL";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, doctorId);
+            stmt.setTime(2, Time.valueOf(appointmentTime));
+            int index = 3;
+            for (LocalDate date : dates) {
+                stmt.setDate(index++, Date.valueOf(date));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    taken.add(rs.getDate(1).toLocalDate());
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return taken;
+    }
+
+    @Override
+    public Appointment getAppointmentAt(Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime) {
+        String sql = "SELECT * FROM appointments WHERE doctor_id = ? AND appointment_date = ? AND appointment_time = ? "
+                + "AND slot_held IS NOT NULL";
+        return getAppointmentAt(sql, doctorId, appointmentDate, appointmentTime);
+    }
+
+    @Override
+    public Appointment getPatientAppointmentAt(Long patientId, LocalDate appointmentDate, LocalTime appointmentTime) {
+        // idx_patient narrows to the patient's rows
+        String sql = "SELECT * FROM appointments WHERE patient_id = ? AND appointment_date = ? AND appointment_time = ? "
+                + "AND slot_held IS NOT NULL LIMIT 1";
+        return getAppointmentAt(sql, patientId, appointmentDate, appointmentTime);
+    }
+
+    private Appointment getAppointmentAt(String sql, Long ownerId, LocalDate appointmentDate, LocalTime appointmentTime) {
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, ownerId);
+            stmt.setDate(2, Date.valueOf(appointmentDate));
+            stmt.setTime(3, Time.valueOf(appointmentTime));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return APPOINTMENT_MAPPER.mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public Page<Appointment> getAppointmentsPage(Long afterId, int pageSize, AppointmentStatus status) {
+        int limit = Page.normalizeSize(pageSize);
+        List<Appointment> rows = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM appointments WHERE id > ?");
+        if (status != null) sql.append(" AND status = ?");
+        sql.append(" ORDER BY id LIMIT ?");
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, afterId != null ? afterId : 0L);
+            if (status != null) stmt.setString(index++, status.name());
+            stmt.setInt(index, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            APPOINTMENT_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, Appointment::getId);
+    }
+
+    @Override
+    public long forEachAppointment(Consumer<Appointment> action) {
+        return forEachAppointment(action, false);
+    }
+
+    @Override
+    public long forEachAppointment(Consumer<Appointment> action, boolean reuseObject) {
+        String sql = "SELECT * FROM appointments ORDER BY id";
+        Appointment reusable = reuseObject ? new Appointment() : null;
+        long count = 0;
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             Statement stmt = com.hospital.management.common.config.DatabaseConfig.createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            int[] columns = APPOINTMENT_MAPPER.columns(rs);
+            while (rs.next()) {
+                action.accept(reuseObject ? APPOINTMENT_MAPPER.populate(rs, columns, reusable) : APPOINTMENT_MAPPER.map(rs, columns));
+                count++;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1; // the stream was cut off; the rows already passed to action are not the whole table
+        }
+        return count;
+    }
+
+    @Override
+    public List<AppointmentSummary> getAppointmentSummariesByDoctor(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        List<AppointmentSummary> summaries = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder(SUMMARY_SELECT).append("WHERE a.doctor_id = ?");
+        if (fromDate != null) sql.append(" AND a.appointment_date >= ?");
+        if (toDate != null) sql.append(" AND a.appointment_date <= ?");
+        sql.append(" ORDER BY a.appointment_date, a.appointment_time");
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, doctorId);
+            if (fromDate != null) stmt.setDate(index++, Date.valueOf(fromDate));
+            if (toDate != null) stmt.setDate(index++, Date.valueOf(toDate));
+
+            ResultSet rs = stmt.executeQuery();
+            SUMMARY_MAPPER.mapAll(rs, summaries);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<AppointmentSummary> getAppointmentSummariesByUserId(Long userId) {
+        List<AppointmentSummary> summaries = new ArrayList<>();
+        String sql = SUMMARY_SELECT +
+                "WHERE p.user_id = ? " +
+                "ORDER BY a.appointment_date DESC, a.appointment_time DESC";
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            SUMMARY_MAPPER.mapAll(rs, summaries);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return summaries;
+    }
+
+    @Override
+    public Page<AppointmentSummary> getAppointmentSummariesPage(Long afterId, int pageSize, AppointmentStatus status) {
+        int limit = Page.normalizeSize(pageSize);
+        List<AppointmentSummary> rows = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder(SUMMARY_SELECT).append("WHERE a.id > ?");
+        if (status != null) sql.append(" AND a.status = ?");
+        sql.append(" ORDER BY a.id LIMIT ?");
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, afterId != null ? afterId : 0L);
+            if (status != null) stmt.setString(index++, status.name());
+            stmt.setInt(index, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            SUMMARY_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, AppointmentSummary::getId);
     }
 }
@@ -2,13 +2,65 @@ package com.hospital.management.dao.impl;
 
 import com.hospital.management.dao.interfaces.BillDAO;
 import com.hospital.management.models.Bill;
+import com.hospital.management.models.BillSummary;
 import com.hospital.management.common.enums.PaymentStatus;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.BatchWriter;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.database.EnumCodec;
+import com.hospital.management.common.database.ProjectionMapper;
+import com.hospital.management.common.database.RowMapper;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class BillDAOImpl implements BillDAO {
 
+    private static final EnumCodec<PaymentStatus> STATUS = new EnumCodec<>(PaymentStatus.class);
+
+    private static final RowMapper<Bill> BILL_MAPPER = new RowMapper<>(
+            new String[]{"id", "appointment_id", "patient_id", "total_amount", "tax_amount",
+                    "discount_amount", "final_amount", "status", "bill_date", "due_date", "created_at",
+                    "updated_at"},
+            Bill::new,
+            (rs, c, bill) -> {
+                bill.setId(rs.getLong(c[0]));
+                bill.setAppointmentId(rs.getLong(c[1]));
+                bill.setPatientId(rs.getLong(c[2]));
+                bill.setTotalAmount(rs.getBigDecimal(c[3]));
+                bill.setTaxAmount(rs.getBigDecimal(c[4]));
+                bill.setDiscountAmount(rs.getBigDecimal(c[5]));
+                bill.setFinalAmount(rs.getBigDecimal(c[6]));
+                bill.setStatus(STATUS.decode(rs.getString(c[7])));
+                bill.setBillDate(rs.getDate(c[8]).toLocalDate());
+                bill.setDueDate(rs.getDate(c[9]).toLocalDate());
+                bill.setCreatedAt(rs.getTimestamp(c[10]).toLocalDateTime());
+                bill.setUpdatedAt(rs.getTimestamp(c[11]).toLocalDateTime());
+            });
+
+    private static final String INSERT_SQL = "INSERT INTO bills (appointment_id, patient_id, total_amount, tax_amount, discount_amount, final_amount, status, bill_date, due_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final BatchWriter<Bill> BILL_WRITER =
+            new BatchWriter<>(INSERT_SQL, BillDAOImpl::bindInsert, Bill::setId);
+
+    private static final ProjectionMapper<BillSummary> SUMMARY_MAPPER = new ProjectionMapper<>(
+            new String[]{"id", "appointment_id", "appointment_date", "doctor_name", "total_amount", "tax_amount",
+                    "discount_amount", "final_amount", "status", "bill_date", "due_date"},
+            (rs, c) -> new BillSummary(
+                    rs.getLong(c[0]),
+                    rs.getLong(c[1]),
+                    rs.getDate(c[2]).toLocalDate(),
+                    rs.getString(c[3]),
+                    rs.getBigDecimal(c[4]),
+                    rs.getBigDecimal(c[5]),
+                    rs.getBigDecimal(c[6]),
+                    rs.getBigDecimal(c[7]),
+                    STATUS.decode(rs.getString(c[8])),
+                    rs.getDate(c[9]).toLocalDate(),
+                    rs.getDate(c[10]).toLocalDate()));
+
     @Override
     public Bill getBillById(int id) {
         String sql = "SELECT * FROM bills WHERE id = ?";
@@ -18,7 +70,7 @@ public class BillDAOImpl implements BillDAO {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToBill(rs);
+                return BILL_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -35,9 +87,7 @@ public class BillDAOImpl implements BillDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                bills.add(mapResultSetToBill(rs));
-            }
+            BILL_MAPPER.mapAll(rs, bills);
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -46,28 +96,68 @@ public class BillDAOImpl implements BillDAO {
     }
 
     @Override
-    public boolean createBill(Bill bill) {
-        String sql = "INSERT INTO bills (appointment_id, patient_id, total_amount, tax_amount, discount_amount, final_amount, status, bill_date, due_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    public List<BillSummary> getBillSummariesByPatientId(Long patientId) {
+        List<BillSummary> summaries = new ArrayList<>();
+        String sql = "SELECT b.id, b.appointment_id, a.appointment_date, " +
+                "CONCAT(d.first_name, ' ', d.last_name) AS doctor_name, " +
+                "b.total_amount, b.tax_amount, b.discount_amount, b.final_amount, b.status, b.bill_date, b.due_date " +
+                "FROM bills b " +
+                "JOIN appointments a ON b.appointment_id = a.id " +
+                "JOIN doctors d ON a.doctor_id = d.id " +
+                "WHERE b.patient_id = ? ORDER BY b.created_at DESC";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, patientId);
+            ResultSet rs = stmt.executeQuery();
+            SUMMARY_MAPPER.mapAll(rs, summaries);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return summaries;
+    }
+
+    @Override
+    public Bill createBill(Bill bill) {
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setLong(1, bill.getAppointmentId());
-            stmt.setLong(2, bill.getPatientId());
-            stmt.setBigDecimal(3, bill.getTotalAmount());
-            stmt.setBigDecimal(4, bill.getTaxAmount());
-            stmt.setBigDecimal(5, bill.getDiscountAmount());
-            stmt.setBigDecimal(6, bill.getFinalAmount());
-            stmt.setString(7, bill.getStatus().name());
-            stmt.setDate(8, Date.valueOf(bill.getBillDate()));
-            stmt.setDate(9, Date.valueOf(bill.getDueDate()));
+            bindInsert(stmt, bill);
 
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            if (stmt.executeUpdate() > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        bill.setId(generatedKeys.getLong(1));
+                        return bill;
+                    }
+                }
+            }
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return false;
+        return null;
+    }
+
+    @Override
+    public BatchResult<Bill> createBills(List<Bill> bills) {
+        return createBills(bills, AppConfig.getInstance().getBatchSize());
+    }
+
+    @Override
+    public BatchResult<Bill> createBills(List<Bill> bills, int batchSize) {
+        return BILL_WRITER.insertAll(bills, batchSize);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Bill bill) throws SQLException {
+        stmt.setLong(1, bill.getAppointmentId());
+        stmt.setLong(2, bill.getPatientId());
+        stmt.setBigDecimal(3, bill.getTotalAmount());
+        stmt.setBigDecimal(4, bill.getTaxAmount());
+        stmt.setBigDecimal(5, bill.getDiscountAmount());
+        stmt.setBigDecimal(6, bill.getFinalAmount());
+        stmt.setString(7, bill.getStatus().name());
+        stmt.setDate(8, Date.valueOf(bill.getBillDate()));
+        stmt.setDate(9, Date.valueOf(bill.getDueDate()));
     }
 
     @Override
@@ -118,9 +208,7 @@ public class BillDAOImpl implements BillDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, patientId);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                bills.add(mapResultSetToBill(rs));
-            }
+            BILL_MAPPER.mapAll(rs, bills);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -128,20 +216,54 @@ public class BillDAOImpl implements BillDAO {
     }
 
 
-    private Bill mapResultSetToBill(ResultSet rs) throws SQLException {
-        Bill bill = new Bill();
-        bill.setId(rs.getLong("id"));
-        bill.setAppointmentId(rs.getLong("appointment_id"));
-        bill.setPatientId(rs.getLong("patient_id"));
-        bill.setTotalAmount(rs.getBigDecimal("total_amount"));
-        bill.setTaxAmount(rs.getBigDecimal("tax_amount"));
-        bill.setDiscountAmount(rs.getBigDecimal("discount_amount"));
-        bill.setFinalAmount(rs.getBigDecimal("final_amount"));
-        bill.setStatus(PaymentStatus.valueOf(rs.getString("status")));
-        bill.setBillDate(rs.getDate("bill_date").toLocalDate());
-        bill.setDueDate(rs.getDate("due_date").toLocalDate());
-        bill.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        bill.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-        return bill;
+    @Override
+    public Page<Bill> getBillsPage(Long afterId, int pageSize, PaymentStatus status) {
+        int limit = Page.normalizeSize(pageSize);
+        List<Bill> rows = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM bills WHERE id > ?");
+        if (status != null) sql.append(" AND status = ?");
+        sql.append(" ORDER BY id LIMIT ?");
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, afterId != null ? afterId : 0L);
+            if (status != null) stmt.setString(index++, status.name());
+            stmt.setInt(index, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            BILL_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, Bill::getId);
+    }
+
+    @Override
+    public long forEachBill(Consumer<Bill> action) {
+        return forEachBill(action, false);
+    }
+
+    @Override
+    public long forEachBill(Consumer<Bill> action, boolean reuseObject) {
+        String sql = "SELECT * FROM bills ORDER BY id";
+        Bill reusable = reuseObject ? new Bill() : null;
+        long count = 0;
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             Statement stmt = com.hospital.management.common.config.DatabaseConfig.createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            int[] columns = BILL_MAPPER.columns(rs);
+            while (rs.next()) {
+                action.accept(reuseObject ? BILL_MAPPER.populate(rs, columns, reusable) : BILL_MAPPER.map(rs, columns));
+                count++;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1; // the stream was cut off; the rows already passed to action are not the whole table
+        }
+        return count;
     }
 }
@@ -4,12 +4,31 @@ import com.hospital.management.dao.interfaces.DepartmentDAO;
 import com.hospital.management.models.Department;
 import com.hospital.management.common.config.DatabaseConfig;
 
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.database.RowMapper;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class DepartmentDAOImpl implements DepartmentDAO {
 
+    private static final RowMapper<Department> DEPARTMENT_MAPPER = new RowMapper<>(
+            new String[]{"id", "name", "description", "head_doctor_id", "location", "phone", "is_active",
+                    "created_at", "updated_at"},
+            Department::new,
+            (rs, c, department) -> {
+                department.setId(rs.getLong(c[0]));
+                department.setName(rs.getString(c[1]));
+                department.setDescription(rs.getString(c[2]));
+                Long headDoctorId = rs.getObject(c[3], Long.class);
+                department.setHeadDoctorId(headDoctorId);
+                department.setLocation(rs.getString(c[4]));
+                department.setPhone(rs.getString(c[5]));
+                department.setActive(rs.getBoolean(c[6]));
+                department.setCreatedAt(rs.getTimestamp(c[7]).toLocalDateTime());
+                department.setUpdatedAt(rs.getTimestamp(c[8]).toLocalDateTime());
+            });
+
     @Override
     public Department getDepartmentById(Long id) {
         String sql = "SELECT * FROM departments WHERE id = ?";
@@ -18,7 +37,7 @@ public class DepartmentDAOImpl implements DepartmentDAO {
             stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToDepartment(rs);
+                return DEPARTMENT_MAPPER.mapRow(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -33,9 +52,7 @@ public class DepartmentDAOImpl implements DepartmentDAO {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                departments.add(mapResultSetToDepartment(rs));
-            }
+            DEPARTMENT_MAPPER.mapAll(rs, departments);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -49,9 +66,7 @@ public class DepartmentDAOImpl implements DepartmentDAO {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                departments.add(mapResultSetToDepartment(rs));
-            }
+            DEPARTMENT_MAPPER.mapAll(rs, departments);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -119,7 +134,7 @@ public class DepartmentDAOImpl implements DepartmentDAO {
             stmt.setString(1, name);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToDepartment(rs);
+                return DEPARTMENT_MAPPER.mapRow(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -139,9 +154,7 @@ public class DepartmentDAOImpl implements DepartmentDAO {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                departments.add(mapResultSetToDepartment(rs));
-            }
+            DEPARTMENT_MAPPER.mapAll(rs, departments);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -150,18 +163,22 @@ public class DepartmentDAOImpl implements DepartmentDAO {
 
 
 
-    private Department mapResultSetToDepartment(ResultSet rs) throws SQLException {
-        Department department = new Department();
-        department.setId(rs.getLong("id"));
-        department.setName(rs.getString("name"));
-        department.setDescription(rs.getString("description"));
-        Long headDoctorId = rs.getObject("head_doctor_id", Long.class);
-        department.setHeadDoctorId(headDoctorId);
-        department.setLocation(rs.getString("location"));
-        department.setPhone(rs.getString("phone"));
-        department.setActive(rs.getBoolean("is_active"));
-        department.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        department.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-        return department;
+    @Override
+    public Page<Department> getDepartmentsPage(Long afterId, int pageSize) {
+        int limit = Page.normalizeSize(pageSize);
+        List<Department> rows = new ArrayList<>();
+        String sql = "SELECT * FROM departments WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId != null ? afterId : 0L);
+            stmt.setInt(2, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            DEPARTMENT_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, Department::getId);
     }
 }
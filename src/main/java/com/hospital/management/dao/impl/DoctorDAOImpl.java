@@ -1,23 +1,52 @@
 package com.hospital.management.dao.impl;
 
 
+import com.hospital.management.common.cache.EntityCache;
 import com.hospital.management.dao.interfaces.DoctorDAO;
 import com.hospital.management.models.Doctor;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.database.RowMapper;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class DoctorDAOImpl implements DoctorDAO {
 
+    private static final RowMapper<Doctor> DOCTOR_MAPPER = new RowMapper<>(
+            new String[]{"id", "first_name", "last_name", "specialization", "license_number",
+                    "department_id", "qualification", "experience_years", "consultation_fee",
+                    "available_from", "available_to", "is_available"},
+            Doctor::new,
+            (rs, c, doctor) -> {
+                doctor.setId(rs.getLong(c[0]));
+                doctor.setFirstName(rs.getString(c[1]));
+                doctor.setLastName(rs.getString(c[2]));
+                doctor.setSpecialization(rs.getString(c[3]));
+                doctor.setLicenseNumber(rs.getString(c[4]));
+                doctor.setDepartmentId(rs.getLong(c[5]));
+                doctor.setQualification(rs.getString(c[6]));
+                doctor.setExperienceYears(rs.getInt(c[7]));
+                doctor.setConsultationFee(rs.getBigDecimal(c[8]));
+                doctor.setAvailableFrom(rs.getTime(c[9]).toLocalTime());
+                doctor.setAvailableTo(rs.getTime(c[10]).toLocalTime());
+                doctor.setDoctorAvailable(rs.getBoolean(c[11]));
+                // TODO: Fill user details if needed
+            });
+
     @Override
     public Doctor getDoctorById(int id) {
+        return EntityCaches.get(EntityCaches.DOCTORS, "doctors", id, this::loadDoctor);
+    }
+
+    private EntityCache.Versioned<Doctor> loadDoctor(long id) {
         String sql = "SELECT * FROM doctors WHERE id = ?";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
+            stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToDoctor(rs);
+                return new EntityCache.Versioned<>(DOCTOR_MAPPER.mapRow(rs), EntityCaches.versionOf(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -33,9 +62,7 @@ public class DoctorDAOImpl implements DoctorDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                doctors.add(mapResultSetToDoctor(rs));
-            }
+            DOCTOR_MAPPER.mapAll(rs, doctors);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -43,10 +70,10 @@ public class DoctorDAOImpl implements DoctorDAO {
     }
 
     @Override
-    public boolean createDoctor(Doctor doctor) {
+    public Doctor createDoctor(Doctor doctor) {
         String sql = "INSERT INTO doctors (user_id, first_name, last_name, specialization, license_number, department_id, qualification, experience_years, consultation_fee, available_from, available_to, is_available) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setLong(1, doctor.getId());  // assuming doctor.getId() is user_id ?
             stmt.setString(2, doctor.getFirstName());
             stmt.setString(3, doctor.getLastName());
@@ -59,12 +86,18 @@ public class DoctorDAOImpl implements DoctorDAO {
             stmt.setTime(10, Time.valueOf(doctor.getAvailableFrom()));
             stmt.setTime(11, Time.valueOf(doctor.getAvailableTo()));
             stmt.setBoolean(12, doctor.isDoctorAvailable());
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            if (stmt.executeUpdate() > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        doctor.setId(generatedKeys.getLong(1));
+                        return doctor;
+                    }
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return false;
+        return null;
     }
 
     @Override
@@ -88,6 +121,8 @@ public class DoctorDAOImpl implements DoctorDAO {
             return rows > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            EntityCaches.evict(EntityCaches.DOCTORS, doctor.getId());
         }
         return false;
     }
@@ -102,6 +137,58 @@ public class DoctorDAOImpl implements DoctorDAO {
             return rows > 0;
         } catch(SQLException e) {
             e.printStackTrace();
+        } finally {
+            EntityCaches.evict(EntityCaches.DOCTORS, id);
+        }
+        return false;
+    }
+
+    @Override
+    public Long getDoctorIdByUserId(Long userId) {
+        // Answered from the unique_doctor_user index
+        String sql = "SELECT id FROM doctors WHERE user_id = ?";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean existsByLicenseNumber(String licenseNumber) {
+        String sql = "SELECT 1 FROM doctors WHERE license_number = ?";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, licenseNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean scanLicenseNumbers(Consumer<String> consumer) {
+        String sql = "SELECT license_number FROM doctors";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             Statement stmt = com.hospital.management.common.config.DatabaseConfig.createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                consumer.accept(rs.getString(1));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
         return false;
     }
@@ -120,8 +207,9 @@ public class DoctorDAOImpl implements DoctorDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, departmentId);
             ResultSet rs = stmt.executeQuery();
+            int[] columns = DOCTOR_MAPPER.columns(rs);
             while (rs.next()) {
-                Doctor doctor = mapResultSetToDoctor(rs);
+                Doctor doctor = DOCTOR_MAPPER.map(rs, columns);
                 doctor.setUsername(rs.getString("username"));
                 doctor.setEmail(rs.getString("email"));
                 doctor.setPhone(rs.getString("phone"));
@@ -150,6 +238,8 @@ public class DoctorDAOImpl implements DoctorDAO {
             System.out.println("❌ Error updating doctor qualification: " + e.getMessage());
             e.printStackTrace();
             return false;
+        } finally {
+            EntityCaches.evict(EntityCaches.DOCTORS, doctorId);
         }
     }
 
@@ -170,27 +260,34 @@ public class DoctorDAOImpl implements DoctorDAO {
             System.out.println("❌ Error updating consultation fee: " + e.getMessage());
             e.printStackTrace();
             return false;
+        } finally {
+            EntityCaches.evict(EntityCaches.DOCTORS, doctorId);
         }
     }
 
 
 
-    private Doctor mapResultSetToDoctor(ResultSet rs) throws SQLException {
-        Doctor doctor = new Doctor();
-        doctor.setId(rs.getLong("id"));
-        doctor.setFirstName(rs.getString("first_name"));
-        doctor.setLastName(rs.getString("last_name"));
-        doctor.setSpecialization(rs.getString("specialization"));
-        doctor.setLicenseNumber(rs.getString("license_number"));
-        doctor.setDepartmentId(rs.getLong("department_id"));
-        doctor.setQualification(rs.getString("qualification"));
-        doctor.setExperienceYears(rs.getInt("experience_years"));
-        doctor.setConsultationFee(rs.getBigDecimal("consultation_fee"));
-        doctor.setAvailableFrom(rs.getTime("available_from").toLocalTime());
-        doctor.setAvailableTo(rs.getTime("available_to").toLocalTime());
-        doctor.setDoctorAvailable(rs.getBoolean("is_available"));
-        // TODO: Fill user details if needed
-        return doctor;
-    }
+    @Override
+    public Page<Doctor> getDoctorsPage(Long afterId, int pageSize, Long departmentId) {
+        int limit = Page.normalizeSize(pageSize);
+        List<Doctor> rows = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM doctors WHERE id > ?");
+        if (departmentId != null) sql.append(" AND department_id = ?");
+        sql.append(" ORDER BY id LIMIT ?");
 
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, afterId != null ? afterId : 0L);
+            if (departmentId != null) stmt.setLong(index++, departmentId);
+            stmt.setInt(index, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            DOCTOR_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, Doctor::getId);
+    }
 }
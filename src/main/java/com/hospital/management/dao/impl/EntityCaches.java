@@ -0,0 +1,158 @@
+package com.hospital.management.dao.impl;
+
+import com.hospital.management.common.cache.CacheStats;
+import com.hospital.management.common.cache.EntityCache;
+import com.hospital.management.common.cache.EntityCache.EvictionPolicy;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.UnitOfWork;
+import com.hospital.management.models.Doctor;
+import com.hospital.management.models.Patient;
+import com.hospital.management.models.User;
+
+import java.sql.*;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Second-level caches behind the single-row lookups of UserDAOImpl,
+ * PatientDAOImpl and DoctorDAOImpl. Shared by every DAO instance and switched
+ * off entirely with cache.entity.enabled=false.
+ */
+public final class EntityCaches {
+
+    static final EntityCache<User> USERS;
+    static final EntityCache<Patient> PATIENTS;
+    static final EntityCache<Doctor> DOCTORS;
+
+    private static final boolean ENABLED;
+
+    static {
+        AppConfig config = AppConfig.getInstance();
+        ENABLED = config.isEntityCacheEnabled();
+        int maxEntries = config.getEntityCacheMaxEntries();
+        long revalidateMillis = config.getEntityCacheRevalidateMillis();
+        EvictionPolicy policy = parsePolicy(config.getEntityCacheEvictionPolicy());
+        USERS = new EntityCache<>("users", maxEntries, revalidateMillis, policy, EntityCaches::copyUser);
+        PATIENTS = new EntityCache<>("patients", maxEntries, revalidateMillis, policy, EntityCaches::copyPatient);
+        DOCTORS = new EntityCache<>("doctors", maxEntries, revalidateMillis, policy, EntityCaches::copyDoctor);
+    }
+
+    private EntityCaches() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static List<CacheStats> getStats() {
+        return List.of(USERS.getStats(), PATIENTS.getStats(), DOCTORS.getStats());
+    }
+
+    /**
+     * Look id up through cache, validating old entries against table.updated_at
+     */
+    static <V> V get(EntityCache<V> cache, String table, long id, LongFunction<EntityCache.Versioned<V>> loader) {
+        if (!ENABLED) {
+            EntityCache.Versioned<V> row = loader.apply(id);
+            return row != null ? row.getValue() : null;
+        }
+        return cache.get(id, loader, rowId -> loadVersion(table, rowId));
+    }
+
+    /**
+     * Call after writing the row. The entry is dropped again when the unit of
+     * work commits, in case another thread cached the old row in between.
+     */
+    static void evict(EntityCache<?> cache, long id) {
+        cache.invalidate(id);
+        UnitOfWork.afterCommit(() -> cache.invalidate(id));
+    }
+
+    static void evictAll(EntityCache<?> cache) {
+        cache.invalidateAll();
+        UnitOfWork.afterCommit(cache::invalidateAll);
+    }
+
+    static long versionOf(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return updatedAt != null ? updatedAt.getTime() : 0L;
+    }
+
+    private static User copyUser(User user) {
+        User copy = new User() {};  // same anonymous shape UserDAOImpl maps rows into
+        copyAccount(user, copy);
+        return copy;
+    }
+
+    private static Patient copyPatient(Patient patient) {
+        Patient copy = new Patient();
+        copyAccount(patient, copy);
+        copy.setFirstName(patient.getFirstName());
+        copy.setLastName(patient.getLastName());
+        copy.setDateOfBirth(patient.getDateOfBirth());
+        copy.setGender(patient.getGender());
+        copy.setBloodGroup(patient.getBloodGroup());
+        copy.setAddress(patient.getAddress());
+        copy.setEmergencyContactName(patient.getEmergencyContactName());
+        copy.setEmergencyContactPhone(patient.getEmergencyContactPhone());
+        copy.setInsuranceNumber(patient.getInsuranceNumber());
+        copy.setMedicalHistory(patient.getMedicalHistory());
+        copy.setAllergies(patient.getAllergies());
+        return copy;
+    }
+
+    private static Doctor copyDoctor(Doctor doctor) {
+        Doctor copy = new Doctor();
+        copyAccount(doctor, copy);
+        copy.setFirstName(doctor.getFirstName());
+        copy.setLastName(doctor.getLastName());
+        copy.setSpecialization(doctor.getSpecialization());
+        copy.setLicenseNumber(doctor.getLicenseNumber());
+        copy.setDepartmentId(doctor.getDepartmentId());
+        copy.setQualification(doctor.getQualification());
+        copy.setExperienceYears(doctor.getExperienceYears());
+        copy.setConsultationFee(doctor.getConsultationFee());
+        copy.setAvailableFrom(doctor.getAvailableFrom());
+        copy.setAvailableTo(doctor.getAvailableTo());
+        copy.setDoctorAvailable(doctor.isDoctorAvailable());
+        return copy;
+    }
+
+    private static void copyAccount(User from, User to) {
+        to.setId(from.getId());
+        to.setUsername(from.getUsername());
+        to.setPasswordHash(from.getPasswordHash());
+        to.setEmail(from.getEmail());
+        to.setPhone(from.getPhone());
+        to.setRole(from.getRole());
+        to.setActive(from.isActive());
+        to.setCreatedAt(from.getCreatedAt());
+        to.setUpdatedAt(from.getUpdatedAt());
+    }
+
+    private static EvictionPolicy parsePolicy(String value) {
+        try {
+            return EvictionPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            System.err.println("⚠️ Unknown cache.entity.eviction.policy '" + value + "', using LRU");
+            return EvictionPolicy.LRU;
+        }
+    }
+
+    // table is always one of the constants passed by the DAOs, never user input
+    private static Long loadVersion(String table, long id) {
+        String sql = "SELECT updated_at FROM " + table + " WHERE id = ?";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return versionOf(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+}
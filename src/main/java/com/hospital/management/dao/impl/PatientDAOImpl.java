@@ -1,23 +1,59 @@
 package com.hospital.management.dao.impl;
 
 
+import com.hospital.management.common.cache.EntityCache;
 import com.hospital.management.dao.interfaces.PatientDAO;
 import com.hospital.management.models.Patient;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.database.EnumCodec;
+import com.hospital.management.common.database.RowMapper;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PatientDAOImpl implements PatientDAO {
 
+    // user_id -> patients.id, the only copy of this mapping; fixed for the life of a row (user_id is unique)
+    private static final Map<Long, Long> PATIENT_IDS_BY_USER = new ConcurrentHashMap<>();
+
+    private static final EnumCodec<Patient.Gender> GENDER = new EnumCodec<>(Patient.Gender.class);
+
+    private static final RowMapper<Patient> PATIENT_MAPPER = new RowMapper<>(
+            new String[]{"id", "first_name", "last_name", "date_of_birth", "gender", "blood_group",
+                    "address", "emergency_contact_name", "emergency_contact_phone", "insurance_number",
+                    "medical_history", "allergies"},
+            Patient::new,
+            (rs, c, patient) -> {
+                patient.setId(rs.getLong(c[0]));
+                patient.setFirstName(rs.getString(c[1]));
+                patient.setLastName(rs.getString(c[2]));
+                patient.setDateOfBirth(rs.getDate(c[3]).toLocalDate());
+                patient.setGender(GENDER.decode(rs.getString(c[4])));
+                patient.setBloodGroup(rs.getString(c[5]));
+                patient.setAddress(rs.getString(c[6]));
+                patient.setEmergencyContactName(rs.getString(c[7]));
+                patient.setEmergencyContactPhone(rs.getString(c[8]));
+                patient.setInsuranceNumber(rs.getString(c[9]));
+                patient.setMedicalHistory(rs.getString(c[10]));
+                patient.setAllergies(rs.getString(c[11]));
+                // TODO: Fill user details if needed
+            });
+
     @Override
     public Patient getPatientById(int id) {
+        return EntityCaches.get(EntityCaches.PATIENTS, "patients", id, this::loadPatient);
+    }
+
+    private EntityCache.Versioned<Patient> loadPatient(long id) {
         String sql = "SELECT * FROM patients WHERE id = ?";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
+            stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToPatient(rs);
+                return new EntityCache.Versioned<>(PATIENT_MAPPER.mapRow(rs), EntityCaches.versionOf(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -33,9 +69,7 @@ public class PatientDAOImpl implements PatientDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                patients.add(mapResultSetToPatient(rs));
-            }
+            PATIENT_MAPPER.mapAll(rs, patients);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -43,10 +77,10 @@ public class PatientDAOImpl implements PatientDAO {
     }
 
     @Override
-    public boolean createPatient(Patient patient) {
+    public Patient createPatient(Patient patient) {
         String sql = "INSERT INTO patients (user_id, first_name, last_name, date_of_birth, gender, blood_group, address, emergency_contact_name, emergency_contact_phone, insurance_number, medical_history, allergies) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setLong(1, patient.getId()); // assuming patient.getId() is user_id ?
             stmt.setString(2, patient.getFirstName());
             stmt.setString(3, patient.getLastName());
@@ -59,12 +93,18 @@ public class PatientDAOImpl implements PatientDAO {
             stmt.setString(10, patient.getInsuranceNumber());
             stmt.setString(11, patient.getMedicalHistory());
             stmt.setString(12, patient.getAllergies());
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            if (stmt.executeUpdate() > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        patient.setId(generatedKeys.getLong(1));
+                        return patient;
+                    }
+                }
+            }
         } catch(SQLException e) {
             e.printStackTrace();
         }
-        return false;
+        return null;
     }
 
     @Override
@@ -88,6 +128,8 @@ public class PatientDAOImpl implements PatientDAO {
             return rows > 0;
         } catch(SQLException e) {
             e.printStackTrace();
+        } finally {
+            EntityCaches.evict(EntityCaches.PATIENTS, patient.getId());
         }
         return false;
     }
@@ -99,23 +141,63 @@ public class PatientDAOImpl implements PatientDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
             int rows = stmt.executeUpdate();
+            PATIENT_IDS_BY_USER.values().remove((long) id);
             return rows > 0;
         } catch(SQLException e) {
             e.printStackTrace();
+        } finally {
+            EntityCaches.evict(EntityCaches.PATIENTS, id);
         }
         return false;
     }
 
-    // Add this method to PatientDAOImpl.java
     @Override
-    public Patient getPatientByUserId(Long userId) {  // Long instead of int
+    public Long getPatientIdByUserId(Long userId) {
+        Long known = PATIENT_IDS_BY_USER.get(userId);
+        if (known != null) {
+            return known;
+        }
+        // Answered from the unique_patient_user index; a missing record is looked up again next time
+        String sql = "SELECT id FROM patients WHERE user_id = ?";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    long patientId = rs.getLong(1);
+                    PATIENT_IDS_BY_USER.putIfAbsent(userId, patientId);
+                    return patientId;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public Patient getPatientByUserId(Long userId) {
+        if (!EntityCaches.isEnabled()) {
+            return queryPatientByUserId(userId);
+        }
+        // Resolve the patient ID once, then go through the entity cache
+        Long patientId = getPatientIdByUserId(userId);
+        return patientId != null ? getPatientById(patientId.intValue()) : null;
+    }
+
+    // Drop the user_id mapping of a deleted user
+    static void forgetUser(long userId) {
+        PATIENT_IDS_BY_USER.remove(userId);
+    }
+
+    private Patient queryPatientByUserId(Long userId) {
         String sql = "SELECT * FROM patients WHERE user_id = ?";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, userId);  // setLong instead of setInt
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToPatient(rs);
+                return PATIENT_MAPPER.mapRow(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -126,21 +208,22 @@ public class PatientDAOImpl implements PatientDAO {
 
 
 
-    private Patient mapResultSetToPatient(ResultSet rs) throws SQLException {
-        Patient patient = new Patient();
-        patient.setId(rs.getLong("id"));
-        patient.setFirstName(rs.getString("first_name"));
-        patient.setLastName(rs.getString("last_name"));
-        patient.setDateOfBirth(rs.getDate("date_of_birth").toLocalDate());
-        patient.setGender(Patient.Gender.valueOf(rs.getString("gender")));
-        patient.setBloodGroup(rs.getString("blood_group"));
-        patient.setAddress(rs.getString("address"));
-        patient.setEmergencyContactName(rs.getString("emergency_contact_name"));
-        patient.setEmergencyContactPhone(rs.getString("emergency_contact_phone"));
-        patient.setInsuranceNumber(rs.getString("insurance_number"));
-        patient.setMedicalHistory(rs.getString("medical_history"));
-        patient.setAllergies(rs.getString("allergies"));
-        // TODO: Fill user details if needed
-        return patient;
+    @Override
+    public Page<Patient> getPatientsPage(Long afterId, int pageSize) {
+        int limit = Page.normalizeSize(pageSize);
+        List<Patient> rows = new ArrayList<>();
+        String sql = "SELECT * FROM patients WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId != null ? afterId : 0L);
+            stmt.setInt(2, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            PATIENT_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, Patient::getId);
     }
 }
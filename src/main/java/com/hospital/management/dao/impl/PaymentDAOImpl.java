@@ -4,12 +4,46 @@ import com.hospital.management.common.config.DatabaseConfig;
 import com.hospital.management.dao.interfaces.PaymentDAO;
 import com.hospital.management.models.Payment;
 import com.hospital.management.common.enums.PaymentStatus;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.BatchWriter;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.database.EnumCodec;
+import com.hospital.management.common.database.RowMapper;
+import com.hospital.management.common.enums.PaymentMethod;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class PaymentDAOImpl implements PaymentDAO {
 
+    private static final EnumCodec<PaymentMethod> PAYMENT_METHOD = new EnumCodec<>(PaymentMethod.class);
+    private static final EnumCodec<PaymentStatus> STATUS = new EnumCodec<>(PaymentStatus.class);
+
+    private static final RowMapper<Payment> PAYMENT_MAPPER = new RowMapper<>(
+            new String[]{"id", "bill_id", "amount", "payment_method", "transaction_id", "payment_date",
+                    "status", "notes", "created_at", "updated_at"},
+            Payment::new,
+            (rs, c, payment) -> {
+                payment.setId(rs.getLong(c[0]));
+                // FIXED: Properly set billId from bill_id column
+                payment.setBillId(rs.getLong(c[1]));
+                payment.setAmount(rs.getBigDecimal(c[2]));
+                payment.setPaymentMethod(PAYMENT_METHOD.decode(rs.getString(c[3])));
+                payment.setTransactionId(rs.getString(c[4]));
+                payment.setPaymentDate(rs.getTimestamp(c[5]).toLocalDateTime());
+                payment.setStatus(STATUS.decode(rs.getString(c[6])));
+                payment.setNotes(rs.getString(c[7]));
+                payment.setCreatedAt(rs.getTimestamp(c[8]).toLocalDateTime());
+                payment.setUpdatedAt(rs.getTimestamp(c[9]).toLocalDateTime());
+            });
+
+    private static final String INSERT_SQL = "INSERT INTO payments (bill_id, amount, payment_method, transaction_id, payment_date, status, notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    private static final BatchWriter<Payment> PAYMENT_WRITER =
+            new BatchWriter<>(INSERT_SQL, PaymentDAOImpl::bindInsert, Payment::setId);
+
     @Override
     public Payment getPaymentById(int id) {
         String sql = "SELECT * FROM payments WHERE id = ?";
@@ -20,7 +54,7 @@ public class PaymentDAOImpl implements PaymentDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToPayment(rs);
+                return PAYMENT_MAPPER.mapRow(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -37,9 +71,7 @@ public class PaymentDAOImpl implements PaymentDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                payments.add(mapResultSetToPayment(rs));
-            }
+            PAYMENT_MAPPER.mapAll(rs, payments);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -49,19 +81,10 @@ public class PaymentDAOImpl implements PaymentDAO {
     @Override
     public boolean createPayment(Payment payment) {
         // FIXED: Use proper INSERT with auto-generated key retrieval
-        String sql = "INSERT INTO payments (bill_id, amount, payment_method, transaction_id, payment_date, status, notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
-
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            // FIXED: Use getBillId() instead of getId()
-            stmt.setLong(1, payment.getBillId());
-            stmt.setBigDecimal(2, payment.getAmount());
-            stmt.setString(3, payment.getPaymentMethod().name());
-            stmt.setString(4, payment.getTransactionId());
-            stmt.setTimestamp(5, Timestamp.valueOf(payment.getPaymentDate()));
-            stmt.setString(6, payment.getStatus().name());
-            stmt.setString(7, payment.getNotes());
+            bindInsert(stmt, payment);
 
             int rows = stmt.executeUpdate();
 
@@ -82,6 +105,27 @@ public class PaymentDAOImpl implements PaymentDAO {
         return false;
     }
 
+    @Override
+    public BatchResult<Payment> createPayments(List<Payment> payments) {
+        return createPayments(payments, AppConfig.getInstance().getBatchSize());
+    }
+
+    @Override
+    public BatchResult<Payment> createPayments(List<Payment> payments, int batchSize) {
+        return PAYMENT_WRITER.insertAll(payments, batchSize);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Payment payment) throws SQLException {
+        // FIXED: Use getBillId() instead of getId()
+        stmt.setLong(1, payment.getBillId());
+        stmt.setBigDecimal(2, payment.getAmount());
+        stmt.setString(3, payment.getPaymentMethod().name());
+        stmt.setString(4, payment.getTransactionId());
+        stmt.setTimestamp(5, Timestamp.valueOf(payment.getPaymentDate()));
+        stmt.setString(6, payment.getStatus().name());
+        stmt.setString(7, payment.getNotes());
+    }
+
     @Override
     public boolean updatePayment(Payment payment) {
         // FIXED: Check if payment has valid ID before update
@@ -142,28 +186,61 @@ public class PaymentDAOImpl implements PaymentDAO {
             stmt.setLong(1, patientId);
             ResultSet rs = stmt.executeQuery();
 
-            while (rs.next()) {
-                payments.add(mapResultSetToPayment(rs));
-            }
+            PAYMENT_MAPPER.mapAll(rs, payments);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return payments;
     }
 
-    private Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
-        Payment payment = new Payment();
-        payment.setId(rs.getLong("id"));
-        // FIXED: Properly set billId from bill_id column
-        payment.setBillId(rs.getLong("bill_id"));
-        payment.setAmount(rs.getBigDecimal("amount"));
-        payment.setPaymentMethod(com.hospital.management.common.enums.PaymentMethod.valueOf(rs.getString("payment_method")));
-        payment.setTransactionId(rs.getString("transaction_id"));
-        payment.setPaymentDate(rs.getTimestamp("payment_date").toLocalDateTime());
-        payment.setStatus(PaymentStatus.valueOf(rs.getString("status")));
-        payment.setNotes(rs.getString("notes"));
-        payment.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        payment.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-        return payment;
+    @Override
+    public Page<Payment> getPaymentsPage(Long afterId, int pageSize, PaymentStatus status) {
+        int limit = Page.normalizeSize(pageSize);
+        List<Payment> rows = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM payments WHERE id > ?");
+        if (status != null) sql.append(" AND status = ?");
+        sql.append(" ORDER BY id LIMIT ?");
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, afterId != null ? afterId : 0L);
+            if (status != null) stmt.setString(index++, status.name());
+            stmt.setInt(index, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            PAYMENT_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, Payment::getId);
+    }
+
+    @Override
+    public long forEachPayment(Consumer<Payment> action) {
+        return forEachPayment(action, false);
+    }
+
+    @Override
+    public long forEachPayment(Consumer<Payment> action, boolean reuseObject) {
+        String sql = "SELECT * FROM payments ORDER BY id";
+        Payment reusable = reuseObject ? new Payment() : null;
+        long count = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = DatabaseConfig.createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            int[] columns = PAYMENT_MAPPER.columns(rs);
+            while (rs.next()) {
+                action.accept(reuseObject ? PAYMENT_MAPPER.populate(rs, columns, reusable) : PAYMENT_MAPPER.map(rs, columns));
+                count++;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1; // the stream was cut off; the rows already passed to action are not the whole table
+        }
+        return count;
     }
 }
@@ -0,0 +1,30 @@
+package com.hospital.management.dao.impl;
+
+import com.hospital.management.dao.interfaces.StatisticsDAO;
+import com.hospital.management.models.DashboardCounts;
+import java.sql.*;
+
+public class StatisticsDAOImpl implements StatisticsDAO {
+
+    // One round trip; each COUNT(*) is answered from the smallest index of its table
+    private static final String COUNT_ALL_SQL = """
+        SELECT (SELECT COUNT(*) FROM users),
+               (SELECT COUNT(*) FROM appointments),
+               (SELECT COUNT(*) FROM bills),
+               (SELECT COUNT(*) FROM payments)
+        """;
+
+    @Override
+    public DashboardCounts countAll() {
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(COUNT_ALL_SQL)) {
+            if (rs.next()) {
+                return new DashboardCounts(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+}
@@ -1,28 +1,57 @@
 package com.hospital.management.dao.impl;
 
 
+import com.hospital.management.common.cache.EntityCache;
 import com.hospital.management.common.config.DatabaseConfig;
 import com.hospital.management.dao.interfaces.UserDAO;
 import com.hospital.management.models.User;
 import com.hospital.management.services.impl.UserServiceImpl;
 
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.enums.UserRole;
+import com.hospital.management.common.database.EnumCodec;
+import com.hospital.management.common.database.RowMapper;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.Optional;
 
 public class UserDAOImpl implements UserDAO {
 
+    private static final EnumCodec<UserRole> ROLE = new EnumCodec<>(UserRole.class);
+
+    private static final RowMapper<User> USER_MAPPER = new RowMapper<>(
+            new String[]{"id", "username", "password_hash", "email", "phone", "role", "is_active",
+                    "created_at", "updated_at"},
+            () -> new User() {},  // anonymous subclass as User is abstract
+            (rs, c, user) -> {
+                user.setId(rs.getLong(c[0]));
+                user.setUsername(rs.getString(c[1]));
+                user.setPasswordHash(rs.getString(c[2]));
+                user.setEmail(rs.getString(c[3]));
+                user.setPhone(rs.getString(c[4]));
+                user.setRole(ROLE.decode(rs.getString(c[5])));
+                user.setActive(rs.getBoolean(c[6]));
+                user.setCreatedAt(rs.getTimestamp(c[7]).toLocalDateTime());
+                user.setUpdatedAt(rs.getTimestamp(c[8]).toLocalDateTime());
+            });
+
     @Override
     public User getUserById(int id) {
+        return EntityCaches.get(EntityCaches.USERS, "users", id, this::loadUser);
+    }
+
+    private EntityCache.Versioned<User> loadUser(long id) {
         String sql = "SELECT * FROM users WHERE id = ?";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, id);
+            stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return mapResultSetToUser(rs);
+                return new EntityCache.Versioned<>(USER_MAPPER.mapRow(rs), EntityCaches.versionOf(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -30,6 +59,55 @@ public class UserDAOImpl implements UserDAO {
         return null;
     }
 
+    @Override
+    public User findByUsername(String username) {
+        return findByUniqueColumn("SELECT * FROM users WHERE username = ?", username, User::getUsername);
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return findByUniqueColumn("SELECT * FROM users WHERE email = ?", email, User::getEmail);
+    }
+
+    // Looks the value up through its index; the column collation is case-insensitive,
+    // so the exact (case-sensitive) match the services expect is checked on the mapped rows
+    private User findByUniqueColumn(String sql, String value, Function<User, String> column) {
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, value);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int[] columns = USER_MAPPER.columns(rs);
+                while (rs.next()) {
+                    User user = USER_MAPPER.map(rs, columns);
+                    if (value.equals(column.apply(user))) {
+                        return user;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean scanUsernamesAndEmails(BiConsumer<String, String> consumer) {
+        String sql = "SELECT username, email FROM users";
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             Statement stmt = com.hospital.management.common.config.DatabaseConfig.createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                consumer.accept(rs.getString(1), rs.getString(2));
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @Override
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
@@ -38,9 +116,7 @@ public class UserDAOImpl implements UserDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
-            while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
-            }
+            USER_MAPPER.mapAll(rs, users);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -48,10 +124,10 @@ public class UserDAOImpl implements UserDAO {
     }
 
     @Override
-    public boolean createUser(User user) {
+    public User createUser(User user) {
         String sql = "INSERT INTO users (username, password_hash, email, phone, role) VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, user.getUsername());
             stmt.setString(2, user.getPasswordHash());
@@ -59,12 +135,18 @@ public class UserDAOImpl implements UserDAO {
             stmt.setString(4, user.getPhone());
             stmt.setString(5, user.getRole().name());
 
-            int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
+            if (stmt.executeUpdate() > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        user.setId(generatedKeys.getLong(1));
+                        return user;
+                    }
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return false;
+        return null;
     }
 
     @Override
@@ -85,6 +167,8 @@ public class UserDAOImpl implements UserDAO {
             return affectedRows > 0;
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            EntityCaches.evict(EntityCaches.USERS, user.getId());
         }
         return false;
     }
@@ -97,6 +181,11 @@ public class UserDAOImpl implements UserDAO {
 
             stmt.setInt(1, id);
             int affectedRows = stmt.executeUpdate();
+            EntityCaches.evict(EntityCaches.USERS, id);
+            // The delete cascades to the user's patient or doctor row, whose ID is not known here
+            EntityCaches.evictAll(EntityCaches.PATIENTS);
+            EntityCaches.evictAll(EntityCaches.DOCTORS);
+            PatientDAOImpl.forgetUser(id);
             return affectedRows > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -104,19 +193,30 @@ public class UserDAOImpl implements UserDAO {
         return false;
     }
 
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        User user = new User() {};  // Create anonymous subclass as User is abstract
-        user.setId(rs.getLong("id"));
-        user.setUsername(rs.getString("username"));
-        user.setPasswordHash(rs.getString("password_hash"));
-        user.setEmail(rs.getString("email"));
-        user.setPhone(rs.getString("phone"));
-        user.setRole(com.hospital.management.common.enums.UserRole.valueOf(rs.getString("role")));
-        user.setActive(rs.getBoolean("is_active"));
-        user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-        return user;
+    @Override
+    public Page<User> getUsersPage(Long afterId, int pageSize, UserRole role) {
+        int limit = Page.normalizeSize(pageSize);
+        List<User> rows = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM users WHERE id > ?");
+        if (role != null) sql.append(" AND role = ?");
+        sql.append(" ORDER BY id LIMIT ?");
+
+        try (Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, afterId != null ? afterId : 0L);
+            if (role != null) stmt.setString(index++, role.name());
+            stmt.setInt(index, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            USER_MAPPER.mapAll(rs, rows);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(rows, limit, User::getId);
     }
+
     // ✅ ADD THESE METHODS TO UserDAOImpl.java:
 
     // ✅ UPDATE UserDAOImpl.java verifyUserPassword method to use existing auth:
@@ -144,6 +244,7 @@ public class UserDAOImpl implements UserDAO {
             stmt.setLong(2, userId);
 
             int rowsAffected = stmt.executeUpdate();
+            EntityCaches.evict(EntityCaches.USERS, userId);
             return rowsAffected > 0;
 
         } catch (SQLException e) {
@@ -152,7 +253,5 @@ public class UserDAOImpl implements UserDAO {
             return false;
         }
     }
-
-
 }
 
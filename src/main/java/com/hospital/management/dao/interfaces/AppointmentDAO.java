@@ -2,18 +2,58 @@ package com.hospital.management.dao.interfaces;
 
 // dao/interfaces/AppointmentDAO.java
 
+import com.hospital.management.common.exceptions.SlotTakenException;
 import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import com.hospital.management.common.enums.AppointmentStatus;
 
 public interface AppointmentDAO {
+    // Reason createAppointments reports for a row whose doctor's date/time is already held
+    String SLOT_TAKEN = "Slot already taken";
+
     Appointment getAppointmentById(int id);
     List<Appointment> getAllAppointments();
-    boolean createAppointment(Appointment appointment);
-    boolean updateAppointment(Appointment appointment);
+    // Inserting is how a slot is claimed: a row already holding the doctor's date/time raises SlotTakenException
+    Appointment createAppointment(Appointment appointment) throws SlotTakenException;
+
+    // Bulk insert in JDBC batches; rejected rows are reported in the result instead of failing the call
+    BatchResult<Appointment> createAppointments(List<Appointment> appointments);
+    BatchResult<Appointment> createAppointments(List<Appointment> appointments, int batchSize);
+
+    boolean updateAppointment(Appointment appointment) throws SlotTakenException;
     boolean deleteAppointment(int id);
     List<Appointment> getAppointmentsByDoctorAndDate(Long doctorId, LocalDate appointmentDate);
     boolean updateAppointmentStatus(Long appointmentId, AppointmentStatus status);
     List<Appointment> getAppointmentsByUserId(Long patientId);
+    List<Appointment> getAppointmentsByDoctor(Long doctorId);
+    // fromDate/toDate are inclusive; any of fromDate, toDate and status may be null to skip that filter
+    List<Appointment> getAppointmentsByDoctor(Long doctorId, LocalDate fromDate, LocalDate toDate, AppointmentStatus status);
+    // Times held for the doctor's day; cancelled, no-show and rescheduled rows have released theirs (slot_held is NULL).
+    // Null if the query failed, so a day that could not be read is never taken for a free one.
+    List<LocalTime> getBookedTimes(Long doctorId, LocalDate appointmentDate);
+    // The row holding the doctor's date/time in unique_doctor_datetime, or null if the slot is free
+    Appointment getAppointmentAt(Long doctorId, LocalDate appointmentDate, LocalTime appointmentTime);
+    // The patient's appointment holding a slot at that date/time with any doctor, or null if there is none
+    Appointment getPatientAppointmentAt(Long patientId, LocalDate appointmentDate, LocalTime appointmentTime);
+    // Which of the dates already have a row holding the doctor's time, in one query; null if the query failed
+    Set<LocalDate> getTakenDates(Long doctorId, LocalTime appointmentTime, Collection<LocalDate> dates);
+    Page<Appointment> getAppointmentsPage(Long afterId, int pageSize, AppointmentStatus status);
+
+    // Streams every row without buffering the table; with reuseObject the same instance is refilled for each row.
+    // Returns the number of rows, or -1 if the scan failed partway and action did not see every row.
+    long forEachAppointment(Consumer<Appointment> action);
+    long forEachAppointment(Consumer<Appointment> action, boolean reuseObject);
+
+    // Narrow list-screen projections with patient and doctor names joined in
+    List<AppointmentSummary> getAppointmentSummariesByDoctor(Long doctorId, LocalDate fromDate, LocalDate toDate);
+    List<AppointmentSummary> getAppointmentSummariesByUserId(Long userId);
+    Page<AppointmentSummary> getAppointmentSummariesPage(Long afterId, int pageSize, AppointmentStatus status);
 }
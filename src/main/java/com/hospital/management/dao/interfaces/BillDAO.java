@@ -2,14 +2,26 @@ package com.hospital.management.dao.interfaces;
 
 
 import com.hospital.management.models.Bill;
+import com.hospital.management.models.BillSummary;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.enums.PaymentStatus;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BillDAO {
     Bill getBillById(int id);
     List<Bill> getAllBills();
-    boolean createBill(Bill bill);
+    Bill createBill(Bill bill);
+    BatchResult<Bill> createBills(List<Bill> bills);
+    BatchResult<Bill> createBills(List<Bill> bills, int batchSize);
     boolean updateBill(Bill bill);
     boolean deleteBill(int id);
     List<Bill> getBillsByPatientId(Long patientId);
+    List<BillSummary> getBillSummariesByPatientId(Long patientId);
 
+    Page<Bill> getBillsPage(Long afterId, int pageSize, PaymentStatus status);
+    // Returns the number of rows streamed, or -1 if the scan failed partway
+    long forEachBill(Consumer<Bill> action);
+    long forEachBill(Consumer<Bill> action, boolean reuseObject);
 }
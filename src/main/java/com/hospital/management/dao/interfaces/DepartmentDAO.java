@@ -1,6 +1,7 @@
 package com.hospital.management.dao.interfaces;
 
 import com.hospital.management.models.Department;
+import com.hospital.management.common.database.Page;
 import java.util.List;
 
 public interface DepartmentDAO {
@@ -13,4 +14,5 @@ public interface DepartmentDAO {
     Department getDepartmentByName(String name);
     List<Department> getDepartmentsWithDoctors();
 
+    Page<Department> getDepartmentsPage(Long afterId, int pageSize);
 }
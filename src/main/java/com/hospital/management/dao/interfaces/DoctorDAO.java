@@ -3,16 +3,22 @@ package com.hospital.management.dao.interfaces;
 
 
 import com.hospital.management.models.Doctor;
+import com.hospital.management.common.database.Page;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DoctorDAO {
     Doctor getDoctorById(int id);
     List<Doctor> getAllDoctors();
-    boolean createDoctor(Doctor doctor);
+    Doctor createDoctor(Doctor doctor);
     boolean updateDoctor(Doctor doctor);
     boolean deleteDoctor(int id);
     List<Doctor> getDoctorsByDepartment(Long departmentId);
+    Long getDoctorIdByUserId(Long userId);
+    boolean existsByLicenseNumber(String licenseNumber);
+    boolean scanLicenseNumbers(Consumer<String> consumer);
     boolean updateDoctorQualification(Long doctorId, String qualification);
     boolean updateConsultationFee(Long doctorId, java.math.BigDecimal consultationFee);
 
+    Page<Doctor> getDoctorsPage(Long afterId, int pageSize, Long departmentId);
 }
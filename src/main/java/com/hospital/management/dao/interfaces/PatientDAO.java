@@ -2,13 +2,16 @@ package com.hospital.management.dao.interfaces;
 
 
 import com.hospital.management.models.Patient;
+import com.hospital.management.common.database.Page;
 import java.util.List;
 
 public interface PatientDAO {
     Patient getPatientById(int id);
     List<Patient> getAllPatients();
-    boolean createPatient(Patient patient);
+    Patient createPatient(Patient patient);
     boolean deletePatient(int id);
     Patient getPatientByUserId(Long userId);
+    Long getPatientIdByUserId(Long userId);
     boolean updatePatient(Patient patient);
+    Page<Patient> getPatientsPage(Long afterId, int pageSize);
 }
@@ -2,15 +2,25 @@ package com.hospital.management.dao.interfaces;
 
 
 import com.hospital.management.models.Payment;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.enums.PaymentStatus;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PaymentDAO {
     Payment getPaymentById(int id);
     List<Payment> getAllPayments();
     boolean createPayment(Payment payment);
+    BatchResult<Payment> createPayments(List<Payment> payments);
+    BatchResult<Payment> createPayments(List<Payment> payments, int batchSize);
     boolean updatePayment(Payment payment);
     boolean deletePayment(int id);
     // Add this method to PaymentDAO.java
     List<Payment> getPaymentsByPatientId(Long patientId);
 
+    Page<Payment> getPaymentsPage(Long afterId, int pageSize, PaymentStatus status);
+    // Returns the number of rows streamed, or -1 if the scan failed partway
+    long forEachPayment(Consumer<Payment> action);
+    long forEachPayment(Consumer<Payment> action, boolean reuseObject);
 }
@@ -0,0 +1,7 @@
+package com.hospital.management.dao.interfaces;
+
+import com.hospital.management.models.DashboardCounts;
+
+public interface StatisticsDAO {
+    DashboardCounts countAll();
+}
@@ -3,14 +3,21 @@ package com.hospital.management.dao.interfaces;
 
 
 import com.hospital.management.models.User;
+import com.hospital.management.common.database.Page;
+import com.hospital.management.common.enums.UserRole;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 public interface UserDAO {
     User getUserById(int id);
     List<User> getAllUsers();
-    boolean createUser(User user);
+    User findByUsername(String username);
+    User findByEmail(String email);
+    User createUser(User user);
     boolean updateUser(User user);
     boolean deleteUser(int id);
     boolean verifyUserPassword(String username, String password);
     boolean updateUserPassword(Long userId, String hashedPassword);
+    Page<User> getUsersPage(Long afterId, int pageSize, UserRole role);
+    boolean scanUsernamesAndEmails(BiConsumer<String, String> consumer);
 }
@@ -2,22 +2,48 @@ package com.hospital.management.interfaces;
 
 import com.hospital.management.commands.CommandResult;
 import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
+import com.hospital.management.models.RecurrenceRule;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.common.enums.WaitlistUrgency;
 
 
 public interface AppointmentService {
     Optional<Appointment> findAppointmentById(Long id);
     List<Appointment> getAppointmentsByPatient(Long patientId);
     List<Appointment> getAppointmentsByDoctor(Long doctorId);
+    List<Appointment> getAppointmentsByDoctor(Long doctorId, LocalDate fromDate, LocalDate toDate, AppointmentStatus status);
+    List<AppointmentSummary> getAppointmentSummariesByPatient(Long patientId);
+    List<AppointmentSummary> getAppointmentSummariesByDoctor(Long doctorId);
 
     CommandResult bookAppointment(Long patientId, Long doctorId, LocalDate date, LocalTime time, String reason);
+
+    // Book every occurrence of the rule at the same time that is still free, with one pending bill for all of them.
+    // The result data is a SeriesBooking listing the booked and the conflicting occurrences.
+    CommandResult bookAppointmentSeries(Long patientId, Long doctorId, RecurrenceRule rule, LocalTime time, String reason);
     boolean updateAppointment(Appointment appointment);
     boolean cancelAppointment(Long appointmentId);
     List<Appointment> getAllAppointments();
     CommandResult updateAppointmentStatus(Long appointmentId, AppointmentStatus status);
 
+    // Waitlist for a fully booked day; a slot released that day is booked for the first patient waiting
+    CommandResult joinWaitlist(Long patientId, Long doctorId, LocalDate date, WaitlistUrgency urgency, String reason);
+
+    boolean leaveWaitlist(Long patientId, Long doctorId, LocalDate date);
+
+    // Appointments booked from the waitlist since the last call
+    List<Appointment> takeWaitlistFills(Long patientId);
+
+    // Async lookups, run on ServiceExecutor so independent reads can overlap
+    CompletableFuture<Optional<Appointment>> findAppointmentByIdAsync(Long id);
+
+    CompletableFuture<List<AppointmentSummary>> getAppointmentSummariesByPatientAsync(Long patientId);
+
+    CompletableFuture<List<AppointmentSummary>> getAppointmentSummariesByDoctorAsync(Long doctorId);
+
 }
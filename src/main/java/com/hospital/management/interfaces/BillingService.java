@@ -7,6 +7,7 @@ import com.hospital.management.commands.CommandResult;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface BillingService {
     // ✅ Keep your existing methods
@@ -25,4 +26,9 @@ public interface BillingService {
     Bill generateBill(Long appointmentId, Long patientId, BigDecimal amount,
                       BigDecimal tax, BigDecimal discount, BigDecimal total, String status);
 //    void updateBillStatus(Long billId, String status);
+
+    // Async lookups, run on ServiceExecutor so independent reads can overlap
+    CompletableFuture<Optional<Bill>> findBillByIdAsync(Long id);
+
+    CompletableFuture<List<Bill>> getBillsByPatientAsync(Long patientId);
 }
@@ -1,19 +1,31 @@
 package com.hospital.management.interfaces;
 
+import com.hospital.management.models.AvailableSlot;
 import com.hospital.management.models.Doctor;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface DoctorService {
     List<Doctor> getDoctorsByDepartment(Long departmentId);
     Optional<Doctor> findDoctorById(Long doctorId);
     List<LocalTime> getAvailableTimeSlots(Long doctorId, LocalDate appointmentDate);
     boolean isDoctorAvailable(Long doctorId, LocalDate date, LocalTime time);
+
+    // The limit earliest free slots with any available doctor of the department, within the advance booking window
+    List<AvailableSlot> findEarliestAvailable(Long departmentId, int limit);
     Doctor getDoctorById(Long doctorId);
     boolean updateDoctor(Doctor doctor);
     boolean updateDoctorQualification(Long doctorId, String qualification);
     boolean updateConsultationFee(Long doctorId, java.math.BigDecimal consultationFee);
 
+    // Async lookups, run on ServiceExecutor so independent reads can overlap
+    CompletableFuture<Optional<Doctor>> findDoctorByIdAsync(Long doctorId);
+
+    CompletableFuture<List<Doctor>> getDoctorsByDepartmentAsync(Long departmentId);
+
+    CompletableFuture<List<LocalTime>> getAvailableTimeSlotsAsync(Long doctorId, LocalDate appointmentDate);
+
 }
@@ -5,6 +5,7 @@ import com.hospital.management.commands.CommandResult;
 import com.hospital.management.models.Payment;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentService {
     Optional<Payment> findPaymentById(Long id);
@@ -13,4 +14,9 @@ public interface PaymentService {
     boolean updatePayment(Payment payment);
     List<Payment> getAllPayments();
     List<Payment> getPaymentsByPatient(Long patientId);
+
+    // Async lookups, run on ServiceExecutor so independent reads can overlap
+    CompletableFuture<List<Payment>> getPaymentsByBillAsync(Long billId);
+
+    CompletableFuture<List<Payment>> getPaymentsByPatientAsync(Long patientId);
 }
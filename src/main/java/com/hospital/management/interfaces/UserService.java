@@ -2,6 +2,7 @@ package com.hospital.management.interfaces;
 
 import com.hospital.management.models.User;
 import com.hospital.management.common.enums.UserRole;
+import com.hospital.management.common.database.Page;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +17,8 @@ public interface UserService {
 
     List<User> findAllUsers();
 
+    Page<User> findUsersPage(Long afterId, int pageSize);
+
     boolean registerUser(User user, String password);
 
     User createUser(String username, String password, String email, String phone, UserRole role);  // ✅ ADD THIS
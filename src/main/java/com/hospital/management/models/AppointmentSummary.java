@@ -0,0 +1,60 @@
+package com.hospital.management.models;
+
+import com.hospital.management.common.enums.AppointmentStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read-only appointment row for list screens.
+ * Carries the patient and doctor names joined in by the query and only a
+ * short preview of the notes column.
+ */
+public final class AppointmentSummary {
+
+    private final Long id;
+    private final Long patientId;
+    private final String patientName;
+    private final Long doctorId;
+    private final String doctorName;
+    private final LocalDate appointmentDate;
+    private final LocalTime appointmentTime;
+    private final AppointmentStatus status;
+    private final String reason;
+    private final String notesPreview;
+    private final LocalDateTime createdAt;
+
+    public AppointmentSummary(Long id, Long patientId, String patientName, Long doctorId, String doctorName,
+                              LocalDate appointmentDate, LocalTime appointmentTime, AppointmentStatus status,
+                              String reason, String notesPreview, LocalDateTime createdAt) {
+        this.id = id;
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.status = status;
+        this.reason = reason;
+        this.notesPreview = notesPreview;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getPatientId() { return patientId; }
+    public String getPatientName() { return patientName; }
+    public Long getDoctorId() { return doctorId; }
+    public String getDoctorName() { return doctorName; }
+    public LocalDate getAppointmentDate() { return appointmentDate; }
+    public LocalTime getAppointmentTime() { return appointmentTime; }
+    public AppointmentStatus getStatus() { return status; }
+    public String getReason() { return reason; }
+    public String getNotesPreview() { return notesPreview; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    @Override
+    public String toString() {
+        return String.format("AppointmentSummary [id=%d, patient=%s, doctor=%s, date=%s, time=%s, status=%s]",
+                id, patientName, doctorName, appointmentDate, appointmentTime, status);
+    }
+}
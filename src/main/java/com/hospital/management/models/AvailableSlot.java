@@ -0,0 +1,40 @@
+package com.hospital.management.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+/**
+ * A free appointment time with a specific doctor, as offered by the
+ * earliest-availability search
+ */
+public final class AvailableSlot {
+
+    public static final Comparator<AvailableSlot> EARLIEST_FIRST =
+            Comparator.comparing(AvailableSlot::getDateTime)
+                    .thenComparing(slot -> slot.getDoctor().getId());
+
+    private final Doctor doctor;
+    private final LocalDate date;
+    private final LocalTime time;
+
+    public AvailableSlot(Doctor doctor, LocalDate date, LocalTime time) {
+        this.doctor = doctor;
+        this.date = date;
+        this.time = time;
+    }
+
+    public Doctor getDoctor() { return doctor; }
+    public LocalDate getDate() { return date; }
+    public LocalTime getTime() { return time; }
+
+    public LocalDateTime getDateTime() {
+        return LocalDateTime.of(date, time);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AvailableSlot [doctorId=%d, date=%s, time=%s]", doctor.getId(), date, time);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hospital.management.models;
+
+import com.hospital.management.common.enums.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only bill row for list screens, with the appointment date and
+ * doctor name joined in
+ */
+public final class BillSummary {
+
+    private final Long id;
+    private final Long appointmentId;
+    private final LocalDate appointmentDate;
+    private final String doctorName;
+    private final BigDecimal totalAmount;
+    private final BigDecimal taxAmount;
+    private final BigDecimal discountAmount;
+    private final BigDecimal finalAmount;
+    private final PaymentStatus status;
+    private final LocalDate billDate;
+    private final LocalDate dueDate;
+
+    public BillSummary(Long id, Long appointmentId, LocalDate appointmentDate, String doctorName,
+                       BigDecimal totalAmount, BigDecimal taxAmount, BigDecimal discountAmount,
+                       BigDecimal finalAmount, PaymentStatus status, LocalDate billDate, LocalDate dueDate) {
+        this.id = id;
+        this.appointmentId = appointmentId;
+        this.appointmentDate = appointmentDate;
+        this.doctorName = doctorName;
+        this.totalAmount = totalAmount;
+        this.taxAmount = taxAmount;
+        this.discountAmount = discountAmount;
+        this.finalAmount = finalAmount;
+        this.status = status;
+        this.billDate = billDate;
+        this.dueDate = dueDate;
+    }
+
+    public Long getId() { return id; }
+    public Long getAppointmentId() { return appointmentId; }
+    public LocalDate getAppointmentDate() { return appointmentDate; }
+    public String getDoctorName() { return doctorName; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public BigDecimal getTaxAmount() { return taxAmount; }
+    public BigDecimal getDiscountAmount() { return discountAmount; }
+    public BigDecimal getFinalAmount() { return finalAmount; }
+    public PaymentStatus getStatus() { return status; }
+    public LocalDate getBillDate() { return billDate; }
+    public LocalDate getDueDate() { return dueDate; }
+
+    @Override
+    public String toString() {
+        return String.format("BillSummary [id=%d, appointmentId=%d, finalAmount=%s, status=%s]",
+                id, appointmentId, finalAmount, status);
+    }
+}
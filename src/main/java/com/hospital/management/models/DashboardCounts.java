@@ -0,0 +1,30 @@
+package com.hospital.management.models;
+
+/**
+ * Row totals shown on the admin dashboard
+ */
+public final class DashboardCounts {
+
+    private final long users;
+    private final long appointments;
+    private final long bills;
+    private final long payments;
+
+    public DashboardCounts(long users, long appointments, long bills, long payments) {
+        this.users = users;
+        this.appointments = appointments;
+        this.bills = bills;
+        this.payments = payments;
+    }
+
+    public long getUsers() { return users; }
+    public long getAppointments() { return appointments; }
+    public long getBills() { return bills; }
+    public long getPayments() { return payments; }
+
+    @Override
+    public String toString() {
+        return "DashboardCounts{users=" + users + ", appointments=" + appointments
+                + ", bills=" + bills + ", payments=" + payments + "}";
+    }
+}
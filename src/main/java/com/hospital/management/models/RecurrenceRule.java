@@ -0,0 +1,64 @@
+package com.hospital.management.models;
+
+import com.hospital.management.common.exceptions.ValidationException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repeating appointment pattern: a fixed number of occurrences starting on
+ * firstDate and spaced by interval, all at the same time of day.
+ */
+public final class RecurrenceRule {
+
+    private final LocalDate firstDate;
+    private final Period interval;
+    private final int occurrences;
+
+    public RecurrenceRule(LocalDate firstDate, Period interval, int occurrences) {
+        this.firstDate = firstDate;
+        this.interval = interval;
+        this.occurrences = occurrences;
+    }
+
+    public static RecurrenceRule weekly(LocalDate firstDate, int occurrences) {
+        return new RecurrenceRule(firstDate, Period.ofWeeks(1), occurrences);
+    }
+
+    public void validate(int maxOccurrences) throws ValidationException {
+        if (firstDate == null) {
+            throw new ValidationException("First date is required", "FirstDate");
+        }
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new ValidationException("Interval must be positive", "Interval", interval);
+        }
+        if (occurrences < 1 || occurrences > maxOccurrences) {
+            throw new ValidationException("Occurrences must be between 1 and " + maxOccurrences,
+                    "Occurrences", occurrences);
+        }
+    }
+
+    /**
+     * Every occurrence date, in order
+     */
+    public List<LocalDate> expand() {
+        List<LocalDate> dates = new ArrayList<>(occurrences);
+        LocalDate date = firstDate;
+        for (int i = 0; i < occurrences; i++) {
+            dates.add(date);
+            date = date.plus(interval);
+        }
+        return dates;
+    }
+
+    public LocalDate getFirstDate() { return firstDate; }
+    public Period getInterval() { return interval; }
+    public int getOccurrences() { return occurrences; }
+
+    @Override
+    public String toString() {
+        return String.format("RecurrenceRule [firstDate=%s, interval=%s, occurrences=%d]",
+                firstDate, interval, occurrences);
+    }
+}
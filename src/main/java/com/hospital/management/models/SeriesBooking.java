@@ -0,0 +1,42 @@
+package com.hospital.management.models;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of booking a recurring series: the occurrences that were booked,
+ * the one bill covering all of them, and the occurrences that could not be
+ * booked with the reason for each, in date order.
+ */
+public final class SeriesBooking {
+
+    private final List<Appointment> booked;
+    private final Map<LocalDate, String> conflicts;
+    private final Bill bill;
+
+    public SeriesBooking(List<Appointment> booked, Map<LocalDate, String> conflicts, Bill bill) {
+        this.booked = Collections.unmodifiableList(booked);
+        this.conflicts = Collections.unmodifiableMap(conflicts);
+        this.bill = bill;
+    }
+
+    public List<Appointment> getBooked() { return booked; }
+    public Map<LocalDate, String> getConflicts() { return conflicts; }
+    public Bill getBill() { return bill; }
+
+    public int getBookedCount() {
+        return booked.size();
+    }
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeriesBooking [booked=%d, conflicts=%d, billId=%s]",
+                booked.size(), conflicts.size(), bill != null ? bill.getId() : null);
+    }
+}
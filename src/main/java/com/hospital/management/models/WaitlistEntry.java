@@ -0,0 +1,51 @@
+package com.hospital.management.models;
+
+import com.hospital.management.common.enums.WaitlistUrgency;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A patient waiting for any slot with a doctor on a given day.
+ * Entries are served most urgent first, then in the order they were made.
+ */
+public final class WaitlistEntry {
+
+    public static final Comparator<WaitlistEntry> SERVE_ORDER =
+            Comparator.comparing(WaitlistEntry::getUrgency, Comparator.reverseOrder())
+                    .thenComparing(WaitlistEntry::getRequestedAt)
+                    .thenComparingLong(WaitlistEntry::getSequence);
+
+    private final long sequence;
+    private final Long patientId;
+    private final Long doctorId;
+    private final LocalDate appointmentDate;
+    private final WaitlistUrgency urgency;
+    private final String reason;
+    private final LocalDateTime requestedAt;
+
+    public WaitlistEntry(long sequence, Long patientId, Long doctorId, LocalDate appointmentDate,
+                         WaitlistUrgency urgency, String reason, LocalDateTime requestedAt) {
+        this.sequence = sequence;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.urgency = urgency;
+        this.reason = reason;
+        this.requestedAt = requestedAt;
+    }
+
+    public long getSequence() { return sequence; }
+    public Long getPatientId() { return patientId; }
+    public Long getDoctorId() { return doctorId; }
+    public LocalDate getAppointmentDate() { return appointmentDate; }
+    public WaitlistUrgency getUrgency() { return urgency; }
+    public String getReason() { return reason; }
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+
+    @Override
+    public String toString() {
+        return String.format("WaitlistEntry [patientId=%d, doctorId=%d, date=%s, urgency=%s, requestedAt=%s]",
+                patientId, doctorId, appointmentDate, urgency, requestedAt);
+    }
+}
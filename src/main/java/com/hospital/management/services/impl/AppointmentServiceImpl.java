@@ -1,24 +1,60 @@
 package com.hospital.management.services.impl;
 
 import com.hospital.management.commands.CommandResult;
+import com.hospital.management.common.concurrent.StripedLock;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.UnitOfWork;
 import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.common.enums.PaymentStatus;
+import com.hospital.management.common.enums.WaitlistUrgency;
+import com.hospital.management.interfaces.BillingService;
 import com.hospital.management.interfaces.AppointmentService;
 import com.hospital.management.dao.interfaces.AppointmentDAO;
 import com.hospital.management.dao.impl.AppointmentDAOImpl;
+import com.hospital.management.dao.impl.DoctorDAOImpl;
+import com.hospital.management.dao.interfaces.DoctorDAO;
 import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
+import com.hospital.management.models.Bill;
+import com.hospital.management.models.Doctor;
+import com.hospital.management.models.RecurrenceRule;
+import com.hospital.management.models.SeriesBooking;
+import com.hospital.management.models.WaitlistEntry;
 import com.hospital.management.common.exceptions.ValidationException;
 import com.hospital.management.common.exceptions.BusinessLogicException;
 import com.hospital.management.common.exceptions.DatabaseException;
+import com.hospital.management.common.exceptions.SlotTakenException;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 public class AppointmentServiceImpl implements AppointmentService {
 
-    private final AppointmentDAO appointmentDAO = new AppointmentDAOImpl();
+    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(0.18);
+
+    private final AppointmentDAO appointmentDAO;
+    private final DoctorDAO doctorDAO;
+    private final BillingService billingService;
+
+    public AppointmentServiceImpl() {
+        this(new AppointmentDAOImpl(), new DoctorDAOImpl(), new BillingServiceImpl());
+    }
+
+    // Tests book against in-memory stand-ins
+    AppointmentServiceImpl(AppointmentDAO appointmentDAO, DoctorDAO doctorDAO, BillingService billingService) {
+        this.appointmentDAO = appointmentDAO;
+        this.doctorDAO = doctorDAO;
+        this.billingService = billingService;
+    }
 
     @Override
     public Optional<Appointment> findAppointmentById(Long id) {
@@ -40,9 +76,27 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     public List<Appointment> getAppointmentsByDoctor(Long doctorId) {
         if (doctorId == null) return List.of();
-        return appointmentDAO.getAllAppointments().stream()
-                .filter(a -> doctorId.equals(a.getDoctorId()))
-                .collect(Collectors.toList());
+        return appointmentDAO.getAppointmentsByDoctor(doctorId);
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsByDoctor(Long doctorId, LocalDate fromDate, LocalDate toDate,
+                                                     AppointmentStatus status) {
+        if (doctorId == null) return List.of();
+        return appointmentDAO.getAppointmentsByDoctor(doctorId, fromDate, toDate, status);
+    }
+
+    @Override
+    public List<AppointmentSummary> getAppointmentSummariesByPatient(Long patientId) {
+        if (patientId == null) return List.of();
+        // Like getAppointmentsByPatient, the ID here is the patient's user ID
+        return appointmentDAO.getAppointmentSummariesByUserId(patientId);
+    }
+
+    @Override
+    public List<AppointmentSummary> getAppointmentSummariesByDoctor(Long doctorId) {
+        if (doctorId == null) return List.of();
+        return appointmentDAO.getAppointmentSummariesByDoctor(doctorId, null, null);
     }
 
     // ✅ CHANGE THIS TO RETURN CommandResult:
@@ -53,35 +107,30 @@ public class AppointmentServiceImpl implements AppointmentService {
 
             // Validate appointment
             appointment.validate();
-            checkForConflicts(appointment);
-
-            // Create appointment in database
-            boolean created = appointmentDAO.createAppointment(appointment);
-
-            if (created) {
-                // ✅ CRITICAL: Get the appointment back from database with its generated ID
-                List<Appointment> recentAppointments = appointmentDAO.getAllAppointments().stream()
-                        .filter(a -> patientId.equals(a.getPatientId()) &&
-                                doctorId.equals(a.getDoctorId()) &&
-                                date.equals(a.getAppointmentDate()) &&
-                                time.equals(a.getAppointmentTime()))
-                        .collect(Collectors.toList());
-
-                if (!recentAppointments.isEmpty()) {
-                    Appointment createdAppointment = recentAppointments.get(recentAppointments.size() - 1); // Get latest
+
+            StripedLock.Handle lock = BookingLocks.lock(doctorId, date);
+            try {
+                // The insert claims the slot; unique_doctor_datetime rejects it if the slot is taken
+                Appointment createdAppointment = appointmentDAO.createAppointment(appointment);
+
+                if (createdAppointment != null) {
+                    SlotAvailabilityIndex.markBooked(doctorId, date, time);
+                    DashboardStatistics.appointmentCreated();
                     System.out.println("✅ DEBUG: Appointment created in service with ID: " + createdAppointment.getId());
                     return CommandResult.success("Appointment booked successfully", createdAppointment);
                 } else {
-                    return CommandResult.failure("Appointment created but could not retrieve ID", null);
+                    return CommandResult.failure("Failed to create appointment in database", null);
                 }
-            } else {
-                return CommandResult.failure("Failed to create appointment in database", null);
+            } finally {
+                BookingLocks.release(lock);
             }
 
         } catch (ValidationException e) {
             return CommandResult.failure("Validation error: " + e.getMessage(), null);
-        } catch (BusinessLogicException e) {
-            return CommandResult.failure("Business logic error: " + e.getMessage(), null);
+        } catch (SlotTakenException e) {
+            // The index thought the slot was free; bring it in line with the table
+            SlotAvailabilityIndex.markBooked(doctorId, date, time);
+            return CommandResult.failure("Slot no longer available: " + e.getMessage(), e);
         } catch (Exception e) {
             return CommandResult.failure("Unexpected error: " + e.getMessage(), null);
         }
@@ -89,13 +138,112 @@ public class AppointmentServiceImpl implements AppointmentService {
 
 
 
+    @Override
+    public CommandResult bookAppointmentSeries(Long patientId, Long doctorId, RecurrenceRule rule, LocalTime time,
+                                               String reason) {
+        try {
+            if (rule == null) {
+                throw new ValidationException("Recurrence rule is required", "RecurrenceRule");
+            }
+            rule.validate(AppConfig.getInstance().getSeriesMaxOccurrences());
+            List<LocalDate> dates = rule.expand();
+            List<Appointment> occurrences = new ArrayList<>(dates.size());
+            for (LocalDate date : dates) {
+                Appointment occurrence = new Appointment(patientId, doctorId, date, time, reason);
+                occurrence.validate();
+                occurrences.add(occurrence);
+            }
+
+            Doctor doctor = doctorDAO.getDoctorById(doctorId.intValue());
+            if (doctor == null) {
+                return CommandResult.failure("Doctor not found with ID: " + doctorId, null);
+            }
+
+            Map<LocalDate, String> conflicts = new TreeMap<>();
+            StripedLock.Handle lock = BookingLocks.lockDays(doctorId, dates);
+            try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+                // One query for the whole series instead of a conflict check per occurrence
+                Set<LocalDate> taken = appointmentDAO.getTakenDates(doctorId, time, dates);
+                if (taken == null) {
+                    return CommandResult.failure("Could not check the series for conflicts", null);
+                }
+                List<Appointment> free = new ArrayList<>(occurrences.size());
+                for (Appointment occurrence : occurrences) {
+                    if (taken.contains(occurrence.getAppointmentDate())) {
+                        conflicts.put(occurrence.getAppointmentDate(), AppointmentDAO.SLOT_TAKEN);
+                    } else {
+                        free.add(occurrence);
+                    }
+                }
+
+                // Rows claimed since the check are rejected by unique_doctor_datetime and reported with the rest
+                BatchResult<Appointment> inserted = appointmentDAO.createAppointments(free);
+                for (BatchResult.RowFailure<Appointment> failure : inserted.getFailures()) {
+                    conflicts.put(failure.getItem().getAppointmentDate(), failure.getReason());
+                }
+                List<Appointment> booked = inserted.getCreated();
+                if (booked.isEmpty()) {
+                    return CommandResult.failure("No occurrence could be booked; conflicts on " + conflicts.keySet(), null);
+                }
+
+                // One bill for the whole series, attached to its first appointment
+                BigDecimal sessions = BigDecimal.valueOf(booked.size());
+                Bill bill = new Bill();
+                bill.setAppointmentId(booked.get(0).getId());
+                bill.setPatientId(patientId);
+                bill.setTotalAmount(doctor.getConsultationFee().multiply(sessions));
+                bill.setTaxAmount(bill.getTotalAmount().multiply(TAX_RATE));
+                bill.setDiscountAmount(BigDecimal.ZERO);
+                bill.setFinalAmount(bill.getTotalAmount().add(bill.getTaxAmount()));
+                bill.setStatus(PaymentStatus.PENDING);
+                CommandResult billResult = billingService.generateBill(bill);
+                if (!billResult.isSuccess()) {
+                    return CommandResult.failure("Failed to generate bill for the series", null);
+                }
+
+                for (Appointment appointment : booked) {
+                    SlotAvailabilityIndex.markBooked(doctorId, appointment.getAppointmentDate(), time);
+                    DashboardStatistics.appointmentCreated();
+                }
+                unitOfWork.commit();
+
+                SeriesBooking series = new SeriesBooking(booked, conflicts, billResult.getData(Bill.class));
+                return CommandResult.success("Booked " + booked.size() + " of " + dates.size() + " occurrences", series);
+            } finally {
+                BookingLocks.release(lock);
+            }
+        } catch (ValidationException e) {
+            return CommandResult.failure("Validation error: " + e.getMessage(), null);
+        } catch (Exception e) {
+            return CommandResult.failure("Unexpected error: " + e.getMessage(), null);
+        }
+    }
+
     @Override
     public boolean updateAppointment(Appointment appointment) {
         if (appointment == null || appointment.getId() == null) return false;
         try {
             appointment.validate();
-            checkForConflicts(appointment);
-            return appointmentDAO.updateAppointment(appointment);
+            Appointment previous = appointmentDAO.getAppointmentById(appointment.getId().intValue());
+            if (previous == null) {
+                return false;
+            }
+            StripedLock.Handle lock = BookingLocks.lock(previous, appointment);
+            try {
+                // Another writer may have moved the row before we got the lock; the locked days must be its current ones
+                Appointment current = appointmentDAO.getAppointmentById(appointment.getId().intValue());
+                if (current == null || !sameDay(current, previous)) {
+                    System.err.println("Appointment " + appointment.getId() + " changed concurrently, not updated");
+                    return false;
+                }
+                boolean updated = appointmentDAO.updateAppointment(appointment);
+                if (updated) {
+                    slotChanged(current, appointment, appointment.getStatus());
+                }
+                return updated;
+            } finally {
+                BookingLocks.release(lock);
+            }
         } catch (ValidationException | BusinessLogicException e) {
             System.err.println("Failed to update appointment: " + e.getMessage());
             return false;
@@ -113,18 +261,50 @@ public class AppointmentServiceImpl implements AppointmentService {
             System.err.println("Cannot cancel appointment: status or timing invalid");
             return false;
         }
-        appointment.markAsCancelled();
-        return appointmentDAO.updateAppointment(appointment);
+        StripedLock.Handle lock = BookingLocks.lock(appointment.getDoctorId(), appointment.getAppointmentDate());
+        try {
+            // Another writer may have moved or cancelled the row before we got the lock
+            Appointment current = appointmentDAO.getAppointmentById(appointmentId.intValue());
+            if (current == null || !sameDay(current, appointment) || current.getStatus() != appointment.getStatus()) {
+                System.err.println("Appointment " + appointmentId + " changed concurrently, not cancelled");
+                return false;
+            }
+            // Cancelling only gives the slot up, so this cannot collide with another booking
+            boolean cancelled = appointmentDAO.updateAppointmentStatus(appointmentId, AppointmentStatus.CANCELLED);
+            if (cancelled) {
+                slotChanged(current, current, AppointmentStatus.CANCELLED);
+            }
+            return cancelled;
+        } finally {
+            BookingLocks.release(lock);
+        }
     }
 
     @Override
     public CommandResult updateAppointmentStatus(Long appointmentId, AppointmentStatus status) {
         try {
-            boolean updated = appointmentDAO.updateAppointmentStatus(appointmentId, status);
-            if (updated) {
-                return CommandResult.success("Appointment status updated successfully", null);
-            } else {
-                return CommandResult.failure("Failed to update appointment status", null);
+            // The row tells which slot the status change gives up or takes back
+            Appointment previous = appointmentDAO.getAppointmentById(appointmentId.intValue());
+            if (previous == null) {
+                return CommandResult.failure("Appointment not found with ID: " + appointmentId, null);
+            }
+            StripedLock.Handle lock = BookingLocks.lock(previous.getDoctorId(), previous.getAppointmentDate());
+            try {
+                // Another writer may have moved the row or changed its status before we got the lock
+                Appointment current = appointmentDAO.getAppointmentById(appointmentId.intValue());
+                if (current == null || !sameDay(current, previous) || current.getStatus() != previous.getStatus()) {
+                    return CommandResult.failure("Appointment " + appointmentId + " changed concurrently, try again", null);
+                }
+                // Taking a released slot back fails like a duplicate booking if someone else holds it now
+                boolean updated = appointmentDAO.updateAppointmentStatus(appointmentId, status);
+                if (updated) {
+                    slotChanged(current, current, status);
+                    return CommandResult.success("Appointment status updated successfully", null);
+                } else {
+                    return CommandResult.failure("Failed to update appointment status", null);
+                }
+            } finally {
+                BookingLocks.release(lock);
             }
         } catch (Exception e) {
             return CommandResult.failure("Error updating appointment status: " + e.getMessage(), null);
@@ -136,21 +316,73 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentDAO.getAllAppointments();
     }
 
+    @Override
+    public CommandResult joinWaitlist(Long patientId, Long doctorId, LocalDate date, WaitlistUrgency urgency,
+                                      String reason) {
+        if (patientId == null || doctorId == null || date == null || date.isBefore(LocalDate.now())) {
+            return CommandResult.failure("A patient, a doctor and a future date are required", null);
+        }
+        try {
+            WaitlistEntry entry = AppointmentWaitlist.join(patientId, doctorId, date, urgency, reason);
+            return CommandResult.success("Added to the waitlist (" + AppointmentWaitlist.size(doctorId, date)
+                    + " waiting)", entry);
+        } catch (BusinessLogicException e) {
+            return CommandResult.failure(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean leaveWaitlist(Long patientId, Long doctorId, LocalDate date) {
+        return AppointmentWaitlist.leave(patientId, doctorId, date);
+    }
+
+    @Override
+    public List<Appointment> takeWaitlistFills(Long patientId) {
+        return AppointmentWaitlist.takeFilled(patientId);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Appointment>> findAppointmentByIdAsync(Long id) {
+        return ServiceExecutor.supplyAsync(() -> findAppointmentById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<AppointmentSummary>> getAppointmentSummariesByPatientAsync(Long patientId) {
+        return ServiceExecutor.supplyAsync(() -> getAppointmentSummariesByPatient(patientId));
+    }
+
+    @Override
+    public CompletableFuture<List<AppointmentSummary>> getAppointmentSummariesByDoctorAsync(Long doctorId) {
+        return ServiceExecutor.supplyAsync(() -> getAppointmentSummariesByDoctor(doctorId));
+    }
+
     /**
-     * Check that there are no time conflicts for the given appointment
-     * Throws BusinessLogicException if conflict is found
+     * Keep the slot index and the waitlist in step with a written change that
+     * moved an appointment from previous's slot to current's and into status;
+     * only appointments in a non-releasing status hold their slot
      */
-    private void checkForConflicts(Appointment appointment) throws BusinessLogicException {
-        List<Appointment> appointmentsForDoctor = getAppointmentsByDoctor(appointment.getDoctorId());
+    private static void slotChanged(Appointment previous, Appointment current, AppointmentStatus status) {
+        boolean moved = movedSlot(previous, current);
+        boolean heldBefore = !AppointmentWaitlist.releasesSlot(previous.getStatus());
+        boolean heldAfter = !AppointmentWaitlist.releasesSlot(status);
+        if (heldBefore && (moved || !heldAfter)) {
+            SlotAvailabilityIndex.markFree(previous.getDoctorId(), previous.getAppointmentDate(),
+                    previous.getAppointmentTime());
+            AppointmentWaitlist.slotReleased(previous);
+        }
+        if (heldAfter && (moved || !heldBefore)) {
+            SlotAvailabilityIndex.markBooked(current.getDoctorId(), current.getAppointmentDate(),
+                    current.getAppointmentTime());
+        }
+    }
 
-        boolean conflict = appointmentsForDoctor.stream()
-                .filter(a -> !a.getId().equals(appointment.getId())) // ignore same appointment when updating
-                .anyMatch(existing -> existing.getAppointmentDate().equals(appointment.getAppointmentDate())
-                        && existing.getAppointmentTime().equals(appointment.getAppointmentTime())
-                        && existing.getStatus().isActive());
+    private static boolean sameDay(Appointment a, Appointment b) {
+        return a.getDoctorId().equals(b.getDoctorId()) && a.getAppointmentDate().equals(b.getAppointmentDate());
+    }
 
-        if (conflict) {
-            throw new BusinessLogicException("Doctor already has an appointment at this time", "AppointmentConflict", "Appointment");
-        }
+    private static boolean movedSlot(Appointment previous, Appointment current) {
+        return !previous.getDoctorId().equals(current.getDoctorId())
+                || !previous.getAppointmentDate().equals(current.getAppointmentDate())
+                || !previous.getAppointmentTime().equals(current.getAppointmentTime());
     }
 }
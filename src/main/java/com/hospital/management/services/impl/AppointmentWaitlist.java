@@ -0,0 +1,340 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.commands.CommandResult;
+import com.hospital.management.common.concurrent.StripedLock;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.UnitOfWork;
+import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.common.enums.PaymentStatus;
+import com.hospital.management.common.enums.WaitlistUrgency;
+import com.hospital.management.common.exceptions.BusinessLogicException;
+import com.hospital.management.common.exceptions.SlotTakenException;
+import com.hospital.management.dao.impl.AppointmentDAOImpl;
+import com.hospital.management.dao.impl.DoctorDAOImpl;
+import com.hospital.management.dao.interfaces.AppointmentDAO;
+import com.hospital.management.dao.interfaces.DoctorDAO;
+import com.hospital.management.interfaces.BillingService;
+import com.hospital.management.models.Appointment;
+import com.hospital.management.models.Bill;
+import com.hospital.management.models.Doctor;
+import com.hospital.management.models.WaitlistEntry;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Patients waiting for a fully booked doctor, one priority queue per doctor
+ * per day. When an appointment releases its slot (cancelled, no-show or
+ * rescheduled) the slot goes straight to the head of that day's queue, so
+ * waiting patients do not have to keep polling for free slots.
+ *
+ * A released appointment drops out of unique_doctor_datetime but keeps its
+ * row, so the original patient's history, bills and payments stay theirs;
+ * the waiting patient always gets a new appointment with a pending bill, and
+ * is told about it on their next visit. A patient who already has an
+ * appointment at that time, or who just released the slot, is passed over
+ * and keeps their place.
+ *
+ * Fills run on one background thread after the releasing write commits, each
+ * in its own unit of work and under the day's booking lock.
+ */
+public final class AppointmentWaitlist {
+
+    private static final Set<AppointmentStatus> RELEASING =
+            EnumSet.of(AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW, AppointmentStatus.RESCHEDULED);
+    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(0.18);
+
+    private static final Store DATABASE = new DatabaseStore();
+
+    private static final Map<DoctorDay, PriorityQueue<WaitlistEntry>> QUEUES = new HashMap<>();
+    private static final Map<Long, List<Appointment>> FILLED_BY_PATIENT = new ConcurrentHashMap<>();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicLong FILLED = new AtomicLong();
+
+    private static final ExecutorService FILLER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "waitlist-filler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AppointmentWaitlist() {
+    }
+
+    /**
+     * Queue the patient for the doctor's day
+     *
+     * @throws BusinessLogicException if the patient is already waiting for that day or the day's list is full
+     */
+    public static WaitlistEntry join(Long patientId, Long doctorId, LocalDate date, WaitlistUrgency urgency,
+                                     String reason) throws BusinessLogicException {
+        synchronized (QUEUES) {
+            dropPastDays();
+            PriorityQueue<WaitlistEntry> queue =
+                    QUEUES.computeIfAbsent(new DoctorDay(doctorId, date), key -> new PriorityQueue<>(WaitlistEntry.SERVE_ORDER));
+            if (queue.stream().anyMatch(entry -> entry.getPatientId().equals(patientId))) {
+                throw new BusinessLogicException("Patient is already on the waitlist for this day",
+                        "WAITLIST_DUPLICATE", "Patient", patientId);
+            }
+            if (queue.size() >= AppConfig.getInstance().getWaitlistMaxPerDay()) {
+                throw new BusinessLogicException("The waitlist for this day is full", "WAITLIST_FULL", "Doctor", doctorId);
+            }
+            WaitlistEntry entry = new WaitlistEntry(SEQUENCE.incrementAndGet(), patientId, doctorId, date,
+                    urgency != null ? urgency : WaitlistUrgency.ROUTINE, reason, LocalDateTime.now());
+            queue.add(entry);
+            return entry;
+        }
+    }
+
+    public static boolean leave(Long patientId, Long doctorId, LocalDate date) {
+        synchronized (QUEUES) {
+            PriorityQueue<WaitlistEntry> queue = QUEUES.get(new DoctorDay(doctorId, date));
+            return queue != null && queue.removeIf(entry -> entry.getPatientId().equals(patientId));
+        }
+    }
+
+    /**
+     * Number of patients waiting for the doctor's day
+     */
+    public static int size(Long doctorId, LocalDate date) {
+        synchronized (QUEUES) {
+            PriorityQueue<WaitlistEntry> queue = QUEUES.get(new DoctorDay(doctorId, date));
+            return queue != null ? queue.size() : 0;
+        }
+    }
+
+    /**
+     * Appointments filled for the patient since the last call
+     */
+    public static List<Appointment> takeFilled(Long patientId) {
+        List<Appointment> filled = FILLED_BY_PATIENT.remove(patientId);
+        return filled != null ? filled : List.of();
+    }
+
+    /**
+     * The appointment gave its slot up; once the current unit of work commits
+     * the slot is offered to whoever is waiting for that day
+     */
+    public static void slotReleased(Appointment released) {
+        Long doctorId = released.getDoctorId();
+        LocalDate date = released.getAppointmentDate();
+        LocalTime time = released.getAppointmentTime();
+        if (size(doctorId, date) == 0) {
+            return;
+        }
+        Long releasedBy = released.getPatientId();
+        UnitOfWork.afterCommit(() -> FILLER.execute(() -> fill(doctorId, date, time, releasedBy)));
+    }
+
+    /**
+     * Whether moving an appointment into this status gives up its slot
+     */
+    public static boolean releasesSlot(AppointmentStatus status) {
+        return RELEASING.contains(status);
+    }
+
+    public static long getWaitingCount() {
+        synchronized (QUEUES) {
+            return QUEUES.values().stream().mapToLong(PriorityQueue::size).sum();
+        }
+    }
+
+    public static long getFilledCount() {
+        return FILLED.get();
+    }
+
+    private static void fill(Long doctorId, LocalDate date, LocalTime time, Long releasedBy) {
+        if (!LocalDateTime.of(date, time).isAfter(LocalDateTime.now())) {
+            return;
+        }
+        StripedLock.Handle lock = BookingLocks.lock(doctorId, date);
+        try {
+            fill(DATABASE, doctorId, date, time, releasedBy);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Waitlist fill failed for doctor #" + doctorId + " on " + date + ": " + e.getMessage());
+        } finally {
+            BookingLocks.release(lock);
+        }
+    }
+
+    /**
+     * Give the slot to the first waiting patient who can take it; caller holds the day's booking lock
+     *
+     * @return the new appointment, or null if the slot stays as it is
+     */
+    static Appointment fill(Store store, Long doctorId, LocalDate date, LocalTime time, Long releasedBy) {
+        if (store.isHeld(doctorId, date, time)) {
+            return null; // taken again before we got here
+        }
+        List<WaitlistEntry> passedOver = new ArrayList<>();
+        try {
+            WaitlistEntry entry;
+            while ((entry = poll(doctorId, date)) != null) {
+                Long patientId = entry.getPatientId();
+                if (patientId.equals(releasedBy) || store.isBusy(patientId, date, time)) {
+                    passedOver.add(entry);
+                    continue;
+                }
+                Appointment filled;
+                try {
+                    filled = store.book(entry, time);
+                } catch (SlotTakenException e) {
+                    requeue(entry);
+                    SlotAvailabilityIndex.markBooked(doctorId, date, time);
+                    return null;
+                }
+                if (filled == null) {
+                    // The booking failed for another reason; keep the patient's place and leave the slot for later
+                    passedOver.add(entry);
+                    return null;
+                }
+                FILLED.incrementAndGet();
+                FILLED_BY_PATIENT.compute(patientId, (key, list) -> {
+                    List<Appointment> appointments = list != null ? list : new ArrayList<>();
+                    appointments.add(filled);
+                    return appointments;
+                });
+                System.out.println("📣 Waitlist: " + date + " " + time + " with doctor #" + doctorId
+                        + " given to patient #" + patientId);
+                return filled;
+            }
+            return null;
+        } finally {
+            passedOver.forEach(AppointmentWaitlist::requeue);
+        }
+    }
+
+    private static WaitlistEntry poll(Long doctorId, LocalDate date) {
+        synchronized (QUEUES) {
+            DoctorDay key = new DoctorDay(doctorId, date);
+            PriorityQueue<WaitlistEntry> queue = QUEUES.get(key);
+            if (queue == null) {
+                return null;
+            }
+            WaitlistEntry head = queue.poll();
+            if (queue.isEmpty()) {
+                QUEUES.remove(key);
+            }
+            return head;
+        }
+    }
+
+    private static void requeue(WaitlistEntry entry) {
+        synchronized (QUEUES) {
+            QUEUES.computeIfAbsent(new DoctorDay(entry.getDoctorId(), entry.getAppointmentDate()),
+                    key -> new PriorityQueue<>(WaitlistEntry.SERVE_ORDER)).add(entry);
+        }
+    }
+
+    // Caller holds QUEUES
+    private static void dropPastDays() {
+        LocalDate today = LocalDate.now();
+        QUEUES.keySet().removeIf(key -> key.date.isBefore(today));
+    }
+
+    /**
+     * What a fill reads and writes; tests fill against an in-memory store
+     */
+    interface Store {
+        // Whether an appointment holds the doctor's date/time
+        boolean isHeld(Long doctorId, LocalDate date, LocalTime time);
+
+        // Whether the patient already holds an appointment at that date/time, with any doctor
+        boolean isBusy(Long patientId, LocalDate date, LocalTime time);
+
+        // New appointment plus pending bill in one unit of work; null if either could not be written
+        Appointment book(WaitlistEntry entry, LocalTime time) throws SlotTakenException;
+    }
+
+    private static final class DatabaseStore implements Store {
+        private final AppointmentDAO appointmentDAO = new AppointmentDAOImpl();
+        private final DoctorDAO doctorDAO = new DoctorDAOImpl();
+        private final BillingService billingService = new BillingServiceImpl();
+
+        @Override
+        public boolean isHeld(Long doctorId, LocalDate date, LocalTime time) {
+            return appointmentDAO.getAppointmentAt(doctorId, date, time) != null;
+        }
+
+        @Override
+        public boolean isBusy(Long patientId, LocalDate date, LocalTime time) {
+            return appointmentDAO.getPatientAppointmentAt(patientId, date, time) != null;
+        }
+
+        @Override
+        public Appointment book(WaitlistEntry entry, LocalTime time) throws SlotTakenException {
+            try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+                Doctor doctor = doctorDAO.getDoctorById(entry.getDoctorId().intValue());
+                if (doctor == null) {
+                    return null;
+                }
+
+                Appointment fill = new Appointment(entry.getPatientId(), entry.getDoctorId(),
+                        entry.getAppointmentDate(), time, entry.getReason());
+                fill.setNotes("Filled from waitlist");
+                Appointment appointment = appointmentDAO.createAppointment(fill);
+                if (appointment == null) {
+                    return null;
+                }
+
+                Bill bill = new Bill();
+                bill.setAppointmentId(appointment.getId());
+                bill.setPatientId(entry.getPatientId());
+                bill.setTotalAmount(doctor.getConsultationFee());
+                bill.setTaxAmount(doctor.getConsultationFee().multiply(TAX_RATE));
+                bill.setDiscountAmount(BigDecimal.ZERO);
+                bill.setFinalAmount(bill.getTotalAmount().add(bill.getTaxAmount()));
+                bill.setStatus(PaymentStatus.PENDING);
+                CommandResult billResult = billingService.generateBill(bill);
+                if (!billResult.isSuccess()) {
+                    return null;
+                }
+
+                SlotAvailabilityIndex.markBooked(entry.getDoctorId(), entry.getAppointmentDate(), time);
+                DashboardStatistics.appointmentCreated();
+                unitOfWork.commit();
+                return appointment;
+            } catch (SQLException e) {
+                System.err.println("⚠️ Waitlist booking failed for patient #" + entry.getPatientId() + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private static final class DoctorDay {
+        private final Long doctorId;
+        private final LocalDate date;
+
+        DoctorDay(Long doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DoctorDay)) return false;
+            DoctorDay other = (DoctorDay) o;
+            return Objects.equals(doctorId, other.doctorId) && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, date);
+        }
+    }
+}
@@ -7,13 +7,16 @@ import com.hospital.management.models.User;
 import com.hospital.management.common.utils.PasswordEncoder;
 import com.hospital.management.common.exceptions.AuthenticationException;
 import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.session.SessionStats;
+import com.hospital.management.common.session.SessionStore;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Thread-safe singleton implementation of AuthenticationService.
- * Tracks authenticated users in memory.
+ * Tracks authenticated users in memory; sessions idle for longer than
+ * app.session.timeout minutes are expired.
  */
 public class AuthenticationServiceImpl implements AuthenticationService {
 
@@ -29,7 +32,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserDAO userDAO = new UserDAOImpl();
 
     // In-memory authenticated users & login attempts tracking
-    private final Map<String, User> authenticatedUsers = new ConcurrentHashMap<>();
+    private final SessionStore<String, User> authenticatedUsers = new SessionStore<>(
+            AppConfig.getInstance().getSessionTimeout() * 60_000L, AppConfig.getInstance().getMaxSessions());
     private final Map<String, Integer> failedLoginAttempts = new ConcurrentHashMap<>();
     private final int maxAttempts = AppConfig.getInstance().getMaxLoginAttempts();
 
@@ -39,10 +43,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new AuthenticationException("Username and password required.");
         }
 
-        User user = userDAO.getAllUsers().stream()
-                .filter(u -> username.equals(u.getUsername()))
-                .findFirst()
-                .orElse(null);
+        User user = userDAO.findByUsername(username);
 
         if (user == null || !user.isActive()) {
             recordAttempt(username, false);
@@ -59,26 +60,31 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new AuthenticationException("Invalid credentials.", username);
         }
         recordAttempt(username, true);
-        authenticatedUsers.put(username, user);
+        if (!authenticatedUsers.put(username, user)) {
+            throw new AuthenticationException("Too many active sessions, try again later.", username, "Login");
+        }
         return user;
     }
 
     @Override
     public void logout(String username) throws AuthenticationException {
-        if (username == null || !authenticatedUsers.containsKey(username)) {
+        if (username == null || authenticatedUsers.remove(username) == null) {
             throw new AuthenticationException("User not logged in.", username, "Logout");
         }
-        authenticatedUsers.remove(username);
     }
 
     @Override
     public boolean isAuthenticated(String username) {
-        return authenticatedUsers.containsKey(username);
+        return username != null && authenticatedUsers.contains(username);
     }
 
     @Override
     public User getCurrentUser(String username) {
-        return authenticatedUsers.get(username);
+        return username != null ? authenticatedUsers.get(username) : null;
+    }
+
+    public SessionStats getSessionStats() {
+        return authenticatedUsers.getStats();
     }
 
     private void recordAttempt(String username, boolean success) {
@@ -10,6 +10,7 @@ import com.hospital.management.dao.impl.BillDAOImpl;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class BillingServiceImpl implements BillingService {
     private final BillDAO billDAO = new BillDAOImpl();
@@ -31,7 +32,11 @@ public class BillingServiceImpl implements BillingService {
     public boolean createBill(Bill bill) {
         try {
             bill.validate();
-            return billDAO.createBill(bill);
+            if (billDAO.createBill(bill) == null) {
+                return false;
+            }
+            DashboardStatistics.billCreated();
+            return true;
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -74,9 +79,10 @@ public class BillingServiceImpl implements BillingService {
     public CommandResult generateBill(Bill bill) {
         try {
             bill.validate();
-            boolean created = billDAO.createBill(bill);
-            if (created) {
-                return CommandResult.success("Bill generated successfully", bill);
+            Bill createdBill = billDAO.createBill(bill);
+            if (createdBill != null) {
+                DashboardStatistics.billCreated();
+                return CommandResult.success("Bill generated successfully", createdBill);
             } else {
                 return CommandResult.failure("Failed to generate bill", null);
             }
@@ -133,4 +139,14 @@ public class BillingServiceImpl implements BillingService {
     public Bill generateBill(Long appointmentId, Long patientId, BigDecimal amount, BigDecimal tax, BigDecimal discount, BigDecimal total, String status) {
         return null;
     }
+
+    @Override
+    public CompletableFuture<Optional<Bill>> findBillByIdAsync(Long id) {
+        return ServiceExecutor.supplyAsync(() -> findBillById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Bill>> getBillsByPatientAsync(Long patientId) {
+        return ServiceExecutor.supplyAsync(() -> getBillsByPatient(patientId));
+    }
 }
@@ -0,0 +1,122 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.concurrent.LockStats;
+import com.hospital.management.common.concurrent.StripedLock;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.UnitOfWork;
+import com.hospital.management.models.Appointment;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serializes appointment writes per doctor per day, so a booking, move or
+ * cancellation and the slot index update that follows it are never
+ * interleaved with another write to the same day. Writes for other doctors or
+ * days take different stripes and run in parallel.
+ *
+ * The index is updated when the outermost unit of work commits, so a lock
+ * taken inside a command's unit of work is handed to release(), which keeps
+ * it until that unit of work ends. Stripes are ordered only within one
+ * lock call: a unit of work must take all the days it writes in a single
+ * call, or two such units locking the same days could deadlock.
+ *
+ * Wait times are recorded per doctor to show which schedules are contended.
+ */
+public final class BookingLocks {
+
+    private static final StripedLock<DoctorDay> LOCKS =
+            new StripedLock<>("booking", AppConfig.getInstance().getBookingLockStripes());
+    private static final Map<Long, LongAdder> WAIT_NANOS_BY_DOCTOR = new ConcurrentHashMap<>();
+
+    private BookingLocks() {
+    }
+
+    public static StripedLock.Handle lock(Long doctorId, LocalDate date) {
+        return record(LOCKS.lock(new DoctorDay(doctorId, date)), doctorId);
+    }
+
+    /**
+     * Lock the day an appointment is moving from together with the day it is moving to
+     */
+    public static StripedLock.Handle lock(Appointment from, Appointment to) {
+        DoctorDay source = new DoctorDay(from.getDoctorId(), from.getAppointmentDate());
+        DoctorDay target = new DoctorDay(to.getDoctorId(), to.getAppointmentDate());
+        return record(LOCKS.lockAll(List.of(source, target)), to.getDoctorId());
+    }
+
+    /**
+     * Lock several days of one doctor's schedule at once, for a recurring series
+     */
+    public static StripedLock.Handle lockDays(Long doctorId, Collection<LocalDate> dates) {
+        List<DoctorDay> days = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            days.add(new DoctorDay(doctorId, date));
+        }
+        return record(LOCKS.lockAll(days), doctorId);
+    }
+
+    /**
+     * Release the handle once the unit of work open on this thread ends, or
+     * now if none is open; call from a finally block
+     */
+    public static void release(StripedLock.Handle handle) {
+        UnitOfWork.whenComplete(handle::close);
+    }
+
+    public static LockStats getStats() {
+        return LOCKS.getStats();
+    }
+
+    /**
+     * Total lock wait in milliseconds of the limit doctors that waited longest, highest first
+     */
+    public static Map<Long, Long> getMostContendedDoctors(int limit) {
+        Map<Long, Long> top = new LinkedHashMap<>();
+        WAIT_NANOS_BY_DOCTOR.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue())));
+        return top;
+    }
+
+    private static StripedLock.Handle record(StripedLock.Handle handle, Long doctorId) {
+        if (handle.getWaitNanos() > 0 && doctorId != null) {
+            WAIT_NANOS_BY_DOCTOR.computeIfAbsent(doctorId, id -> new LongAdder()).add(handle.getWaitNanos());
+        }
+        return handle;
+    }
+
+    private static final class DoctorDay {
+        private final Long doctorId;
+        private final LocalDate date;
+
+        DoctorDay(Long doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DoctorDay)) return false;
+            DoctorDay other = (DoctorDay) o;
+            return Objects.equals(doctorId, other.doctorId) && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, date);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.UnitOfWork;
+import com.hospital.management.dao.impl.StatisticsDAOImpl;
+import com.hospital.management.dao.interfaces.StatisticsDAO;
+import com.hospital.management.models.DashboardCounts;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row totals for the admin dashboard. They are counted with one aggregate
+ * query the first time they are needed, then kept current by the create paths
+ * and recounted by a background thread every
+ * dashboard.reconcile.interval.seconds to pick up changes made elsewhere.
+ *
+ * Deleting a user cascades to an unknown number of appointments, bills and
+ * payments, so a delete marks the totals stale instead of adjusting them.
+ */
+public final class DashboardStatistics {
+
+    private static final StatisticsDAO STATISTICS_DAO = new StatisticsDAOImpl();
+
+    private static final Counter USERS = new Counter();
+    private static final Counter APPOINTMENTS = new Counter();
+    private static final Counter BILLS = new Counter();
+    private static final Counter PAYMENTS = new Counter();
+
+    private static volatile boolean loaded;
+    private static volatile boolean stale;
+    private static ScheduledExecutorService reconciler;
+
+    private DashboardStatistics() {
+    }
+
+    /**
+     * Current totals; only the first call, or the first after a delete, runs a query.
+     * Returns null if the totals could not be counted.
+     */
+    public static DashboardCounts getCounts() {
+        if ((!loaded || stale) && !reconcile()) {
+            return null;
+        }
+        return new DashboardCounts(USERS.get(), APPOINTMENTS.get(), BILLS.get(), PAYMENTS.get());
+    }
+
+    /**
+     * Recount every table, keeping creates that were recorded while the query
+     * ran. A create that commits during the query may be off by one until the
+     * next reconcile.
+     */
+    public static synchronized boolean reconcile() {
+        long users = USERS.changes();
+        long appointments = APPOINTMENTS.changes();
+        long bills = BILLS.changes();
+        long payments = PAYMENTS.changes();
+        stale = false;
+
+        DashboardCounts counts = STATISTICS_DAO.countAll();
+        if (counts == null) {
+            stale = true;
+            return false;
+        }
+        USERS.reset(counts.getUsers(), users);
+        APPOINTMENTS.reset(counts.getAppointments(), appointments);
+        BILLS.reset(counts.getBills(), bills);
+        PAYMENTS.reset(counts.getPayments(), payments);
+
+        if (!loaded) {
+            loaded = true;
+            startReconciler();
+        }
+        return true;
+    }
+
+    public static void userCreated() {
+        UnitOfWork.afterCommit(USERS::increment);
+    }
+
+    public static void userDeleted() {
+        UnitOfWork.afterCommit(() -> stale = true);
+    }
+
+    public static void appointmentCreated() {
+        UnitOfWork.afterCommit(APPOINTMENTS::increment);
+    }
+
+    public static void billCreated() {
+        UnitOfWork.afterCommit(BILLS::increment);
+    }
+
+    public static void paymentCreated() {
+        UnitOfWork.afterCommit(PAYMENTS::increment);
+    }
+
+    private static void startReconciler() {
+        int interval = AppConfig.getInstance().getDashboardReconcileIntervalSeconds();
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(DashboardStatistics::reconcile, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A total plus a running count of in-process changes, so a recount can
+     * keep the changes that happened while it was running
+     */
+    private static final class Counter {
+        private final AtomicLong value = new AtomicLong();
+        private final AtomicLong changes = new AtomicLong();
+
+        void increment() {
+            changes.incrementAndGet();
+            value.incrementAndGet();
+        }
+
+        long changes() {
+            return changes.get();
+        }
+
+        void reset(long counted, long changesBeforeCount) {
+            value.set(counted + (changes.get() - changesBeforeCount));
+        }
+
+        long get() {
+            return value.get();
+        }
+    }
+}
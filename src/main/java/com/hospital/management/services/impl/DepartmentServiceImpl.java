@@ -13,18 +13,19 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     public List<Department> getAllActiveDepartments() {
-        return departmentDAO.getActiveDepartments();
+        return ReferenceDataCache.activeDepartments(departmentDAO::getActiveDepartments);
     }
 
     @Override
     public Optional<Department> findDepartmentById(Long departmentId) {
         if (departmentId == null) return Optional.empty();
-        Department dept = departmentDAO.getDepartmentById(departmentId);
+        Department dept = ReferenceDataCache.department(departmentId,
+                () -> departmentDAO.getDepartmentById(departmentId));
         return Optional.ofNullable(dept);
     }
 
     @Override
     public List<Department> getDepartmentsWithDoctors() {
-        return departmentDAO.getDepartmentsWithDoctors();
+        return ReferenceDataCache.departmentsWithDoctors(departmentDAO::getDepartmentsWithDoctors);
     }
 }
@@ -5,22 +5,37 @@ import com.hospital.management.dao.interfaces.DoctorDAO;
 import com.hospital.management.dao.interfaces.AppointmentDAO;
 import com.hospital.management.dao.impl.DoctorDAOImpl;
 import com.hospital.management.dao.impl.AppointmentDAOImpl;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.models.AvailableSlot;
 import com.hospital.management.models.Doctor;
-import com.hospital.management.models.Appointment;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.ArrayList;
 
 public class DoctorServiceImpl implements DoctorService {
-    private final DoctorDAO doctorDAO = new DoctorDAOImpl();
-    private final AppointmentDAO appointmentDAO = new AppointmentDAOImpl();
+    private final DoctorDAO doctorDAO;
+    private final AppointmentDAO appointmentDAO;
+
+    public DoctorServiceImpl() {
+        this(new DoctorDAOImpl(), new AppointmentDAOImpl());
+    }
+
+    // Tests search against in-memory stand-ins
+    DoctorServiceImpl(DoctorDAO doctorDAO, AppointmentDAO appointmentDAO) {
+        this.doctorDAO = doctorDAO;
+        this.appointmentDAO = appointmentDAO;
+    }
 
     @Override
     public List<Doctor> getDoctorsByDepartment(Long departmentId) {
-        return doctorDAO.getDoctorsByDepartment(departmentId);
+        return ReferenceDataCache.doctorsByDepartment(departmentId,
+                () -> doctorDAO.getDoctorsByDepartment(departmentId));
     }
 
     @Override
@@ -32,23 +47,53 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     public List<LocalTime> getAvailableTimeSlots(Long doctorId, LocalDate appointmentDate) {
-        List<LocalTime> allSlots = generateTimeSlots();
-        List<Appointment> bookedAppointments = appointmentDAO.getAppointmentsByDoctorAndDate(
-                doctorId, appointmentDate);
-
-        List<LocalTime> bookedTimes = bookedAppointments.stream()
-                .map(Appointment::getAppointmentTime)
-                .toList();
+        List<LocalTime> free = SlotAvailabilityIndex.freeSlots(doctorId, appointmentDate, generateTimeSlots(),
+                () -> appointmentDAO.getBookedTimes(doctorId, appointmentDate));
+        // Nothing is offered for a day whose bookings could not be read
+        return free != null ? free : List.of();
+    }
 
-        return allSlots.stream()
-                .filter(slot -> !bookedTimes.contains(slot))
-                .toList();
+    @Override
+    public List<AvailableSlot> findEarliestAvailable(Long departmentId, int limit) {
+        if (departmentId == null || limit < 1) {
+            return List.of();
+        }
+        int horizonDays = Math.max(1, AppConfig.getInstance().getAdvanceBookingDays());
+        LocalDateTime now = LocalDateTime.now();
+
+        // Each doctor's schedule is scanned on its own thread; results are merged once all are in.
+        // Called from an async lookup, waiting on the pool could leave every worker waiting, so scan in place.
+        boolean inPlace = ServiceExecutor.isWorkerThread();
+        List<CompletableFuture<List<AvailableSlot>>> perDoctor = new ArrayList<>();
+        for (Doctor doctor : getDoctorsByDepartment(departmentId)) {
+            if (doctor.isDoctorAvailable()) {
+                Supplier<List<AvailableSlot>> scan = () -> earliestFor(doctor, now, horizonDays, limit);
+                CompletableFuture<List<AvailableSlot>> slots = inPlace
+                        ? CompletableFuture.supplyAsync(scan, Runnable::run)
+                        : ServiceExecutor.supplyAsync(scan);
+                // One unreadable schedule leaves that doctor out instead of failing the search
+                perDoctor.add(slots.exceptionally(e -> {
+                    System.err.println("⚠️ Skipping doctor #" + doctor.getId() + " in earliest-slot search: "
+                            + e.getMessage());
+                    return List.of();
+                }));
+            }
+        }
+        List<AvailableSlot> earliest = new ArrayList<>();
+        for (CompletableFuture<List<AvailableSlot>> doctorSlots : perDoctor) {
+            earliest.addAll(doctorSlots.join());
+        }
+        earliest.sort(AvailableSlot.EARLIEST_FIRST);
+        return earliest.size() > limit ? new ArrayList<>(earliest.subList(0, limit)) : earliest;
     }
 
     @Override
     public boolean isDoctorAvailable(Long doctorId, LocalDate date, LocalTime time) {
-        List<LocalTime> availableSlots = getAvailableTimeSlots(doctorId, date);
-        return availableSlots.contains(time);
+        if (time == null || !generateTimeSlots().contains(time)) {
+            return false;
+        }
+        return !SlotAvailabilityIndex.isBooked(doctorId, date, time,
+                () -> appointmentDAO.getBookedTimes(doctorId, date));
     }
 
     @Override
@@ -63,8 +108,16 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         try {
+            Doctor stored = doctorDAO.getDoctorById(doctor.getId().intValue());
+            String previousLicense = stored != null ? stored.getLicenseNumber() : null;
+
             // Use the existing doctorDAO to update the doctor
-            return doctorDAO.updateDoctor(doctor);
+            boolean updated = doctorDAO.updateDoctor(doctor);
+            if (updated) {
+                ReferenceDataCache.invalidateDoctors();
+                RegistrationKeyFilter.licenseUpdated(previousLicense, doctor.getLicenseNumber());
+            }
+            return updated;
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -78,7 +131,11 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         try {
-            return doctorDAO.updateDoctorQualification(doctorId, qualification.trim());
+            boolean updated = doctorDAO.updateDoctorQualification(doctorId, qualification.trim());
+            if (updated) {
+                ReferenceDataCache.invalidateDoctors();
+            }
+            return updated;
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -86,6 +143,40 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
 
+    // The doctor's first limit free slots inside their own hours, over horizonDays days starting today; days
+    // are scanned in order, so the scan stops as soon as limit slots are found and later days are never loaded
+    private List<AvailableSlot> earliestFor(Doctor doctor, LocalDateTime now, int horizonDays, int limit) {
+        List<LocalTime> withinHours = new ArrayList<>();
+        for (LocalTime slot : generateTimeSlots()) {
+            if (doctor.isAvailableAtTime(slot)) {
+                withinHours.add(slot);
+            }
+        }
+        List<AvailableSlot> found = new ArrayList<>(limit);
+        if (withinHours.isEmpty()) {
+            return found;
+        }
+        LocalDate today = now.toLocalDate();
+        for (int day = 0; day < horizonDays && found.size() < limit; day++) {
+            LocalDate date = today.plusDays(day);
+            List<LocalTime> free = SlotAvailabilityIndex.freeSlots(doctor.getId(), date, withinHours,
+                    () -> appointmentDAO.getBookedTimes(doctor.getId(), date));
+            if (free == null) {
+                // Later days must not be offered ahead of slots this day may still have
+                throw new IllegalStateException("bookings for " + date + " could not be read");
+            }
+            for (LocalTime time : free) {
+                if (found.size() == limit) {
+                    break;
+                }
+                if (LocalDateTime.of(date, time).isAfter(now)) {
+                    found.add(new AvailableSlot(doctor, date, time));
+                }
+            }
+        }
+        return found;
+    }
+
     private List<LocalTime> generateTimeSlots() {
         List<LocalTime> slots = new ArrayList<>();
         for (int hour = 10; hour <= 17; hour++) {
@@ -101,11 +192,29 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         try {
-            return doctorDAO.updateConsultationFee(doctorId, consultationFee);
+            boolean updated = doctorDAO.updateConsultationFee(doctorId, consultationFee);
+            if (updated) {
+                ReferenceDataCache.invalidateDoctors();
+            }
+            return updated;
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    @Override
+    public CompletableFuture<Optional<Doctor>> findDoctorByIdAsync(Long doctorId) {
+        return ServiceExecutor.supplyAsync(() -> findDoctorById(doctorId));
+    }
+
+    @Override
+    public CompletableFuture<List<Doctor>> getDoctorsByDepartmentAsync(Long departmentId) {
+        return ServiceExecutor.supplyAsync(() -> getDoctorsByDepartment(departmentId));
+    }
+
+    @Override
+    public CompletableFuture<List<LocalTime>> getAvailableTimeSlotsAsync(Long doctorId, LocalDate appointmentDate) {
+        return ServiceExecutor.supplyAsync(() -> getAvailableTimeSlots(doctorId, appointmentDate));
+    }
 }
@@ -8,6 +8,7 @@ import com.hospital.management.commands.CommandResult;
 import com.hospital.management.common.exceptions.ValidationException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class PaymentServiceImpl implements PaymentService {
 
@@ -39,6 +40,7 @@ public class PaymentServiceImpl implements PaymentService {
             boolean created = paymentDAO.createPayment(payment);
 
             if (created && payment.getId() != null) {
+                DashboardStatistics.paymentCreated();
                 System.out.println("✅ Payment processed successfully with ID: " + payment.getId());
 
                 if (payment.requiresProcessing()) {
@@ -106,4 +108,14 @@ public class PaymentServiceImpl implements PaymentService {
         }
         return paymentDAO.getPaymentsByPatientId(patientId);
     }
+
+    @Override
+    public CompletableFuture<List<Payment>> getPaymentsByBillAsync(Long billId) {
+        return ServiceExecutor.supplyAsync(() -> getPaymentsByBill(billId));
+    }
+
+    @Override
+    public CompletableFuture<List<Payment>> getPaymentsByPatientAsync(Long patientId) {
+        return ServiceExecutor.supplyAsync(() -> getPaymentsByPatient(patientId));
+    }
 }
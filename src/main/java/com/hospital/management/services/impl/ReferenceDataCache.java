@@ -0,0 +1,88 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.cache.CacheStats;
+import com.hospital.management.common.cache.TtlCache;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.models.Department;
+import com.hospital.management.models.Doctor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache of department and doctor listings used by the booking flow.
+ * Services are created per controller, so the caches live here rather than
+ * in the service instances. Anything that changes a department or a doctor
+ * must call the matching invalidate method.
+ */
+public final class ReferenceDataCache {
+
+    private static final String ACTIVE = "active";
+    private static final String WITH_DOCTORS = "with-doctors";
+
+    private static final TtlCache<String, List<Department>> DEPARTMENT_LISTS;
+    private static final TtlCache<Long, Department> DEPARTMENTS_BY_ID;
+    private static final TtlCache<Long, List<Doctor>> DOCTORS_BY_DEPARTMENT;
+
+    static {
+        AppConfig config = AppConfig.getInstance();
+        long ttlMillis = config.getReferenceCacheTtlMillis();
+        int maxEntries = config.getReferenceCacheMaxEntries();
+        DEPARTMENT_LISTS = new TtlCache<>("departmentLists", ttlMillis, maxEntries);
+        DEPARTMENTS_BY_ID = new TtlCache<>("departmentsById", ttlMillis, maxEntries);
+        DOCTORS_BY_DEPARTMENT = new TtlCache<>("doctorsByDepartment", ttlMillis, maxEntries);
+    }
+
+    private ReferenceDataCache() {
+    }
+
+    static List<Department> activeDepartments(Supplier<List<Department>> loader) {
+        return list(DEPARTMENT_LISTS.get(ACTIVE, key -> nonEmpty(loader.get())));
+    }
+
+    static List<Department> departmentsWithDoctors(Supplier<List<Department>> loader) {
+        return list(DEPARTMENT_LISTS.get(WITH_DOCTORS, key -> nonEmpty(loader.get())));
+    }
+
+    static Department department(Long departmentId, Supplier<Department> loader) {
+        return DEPARTMENTS_BY_ID.get(departmentId, key -> loader.get());
+    }
+
+    static List<Doctor> doctorsByDepartment(Long departmentId, Supplier<List<Doctor>> loader) {
+        return list(DOCTORS_BY_DEPARTMENT.get(departmentId, key -> nonEmpty(loader.get())));
+    }
+
+    /**
+     * Call after a department is created, changed or deleted
+     */
+    public static void invalidateDepartments() {
+        DEPARTMENT_LISTS.invalidateAll();
+        DEPARTMENTS_BY_ID.invalidateAll();
+    }
+
+    /**
+     * Call after a doctor is added or changed; the "with doctors" department list depends on them too
+     */
+    public static void invalidateDoctors() {
+        DOCTORS_BY_DEPARTMENT.invalidateAll();
+        DEPARTMENT_LISTS.invalidate(WITH_DOCTORS);
+    }
+
+    public static List<CacheStats> getStats() {
+        return List.of(DEPARTMENT_LISTS.getStats(), DEPARTMENTS_BY_ID.getStats(), DOCTORS_BY_DEPARTMENT.getStats());
+    }
+
+    // DAOs return an empty list on a database error, so empty results are not cached
+    private static <T> List<T> nonEmpty(List<T> loaded) {
+        if (loaded == null || loaded.isEmpty()) {
+            return null;
+        }
+        return Collections.unmodifiableList(new ArrayList<>(loaded));
+    }
+
+    private static <T> List<T> list(List<T> cached) {
+        return cached != null ? cached : Collections.emptyList();
+    }
+}
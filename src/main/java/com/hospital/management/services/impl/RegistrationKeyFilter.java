@@ -0,0 +1,170 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.cache.CountingBloomFilter;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.dao.impl.DoctorDAOImpl;
+import com.hospital.management.dao.impl.UserDAOImpl;
+import com.hospital.management.dao.interfaces.DoctorDAO;
+import com.hospital.management.dao.interfaces.UserDAO;
+import com.hospital.management.models.Doctor;
+import com.hospital.management.models.User;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Membership filters for the values registration must keep unique: usernames,
+ * emails and license numbers. A "no" from here means the value is free and the
+ * lookup query can be skipped; a "maybe" falls back to the database. The
+ * unique keys on users and doctors remain the actual guarantee.
+ *
+ * Values are folded to lower case, so case variants that the column collation
+ * treats as equal are reported as possibly taken. Until seed() has completed
+ * every value is reported as possibly taken.
+ */
+public final class RegistrationKeyFilter {
+
+    private static final CountingBloomFilter USERNAMES;
+    private static final CountingBloomFilter EMAILS;
+    private static final CountingBloomFilter LICENSES;
+
+    private static volatile boolean seeded;
+
+    static {
+        AppConfig config = AppConfig.getInstance();
+        int expected = config.getRegistrationFilterExpectedEntries();
+        double fpp = config.getRegistrationFilterFalsePositiveRate();
+        USERNAMES = new CountingBloomFilter(expected, fpp);
+        EMAILS = new CountingBloomFilter(expected, fpp);
+        LICENSES = new CountingBloomFilter(expected, fpp);
+    }
+
+    private RegistrationKeyFilter() {
+    }
+
+    /**
+     * Load every existing username, email and license number with a streaming
+     * scan. Returns false, leaving the filter in pass-through mode, if a scan fails.
+     */
+    public static synchronized boolean seed() {
+        if (seeded) {
+            return true;
+        }
+        UserDAO userDAO = new UserDAOImpl();
+        DoctorDAO doctorDAO = new DoctorDAOImpl();
+        AtomicInteger users = new AtomicInteger();
+        AtomicInteger licenses = new AtomicInteger();
+
+        boolean usersLoaded = userDAO.scanUsernamesAndEmails((username, email) -> {
+            add(USERNAMES, username);
+            add(EMAILS, email);
+            users.incrementAndGet();
+        });
+        boolean licensesLoaded = usersLoaded && doctorDAO.scanLicenseNumbers(license -> {
+            add(LICENSES, license);
+            licenses.incrementAndGet();
+        });
+        if (!licensesLoaded) {
+            System.err.println("⚠️ Registration filter not seeded; uniqueness checks will query the database");
+            return false;
+        }
+        seeded = true;
+        System.out.println("✅ Registration filter seeded: " + users.get() + " users, "
+                + licenses.get() + " licenses");
+        return true;
+    }
+
+    public static boolean usernameMayBeTaken(String username) {
+        return mayContain(USERNAMES, username);
+    }
+
+    public static boolean emailMayBeTaken(String email) {
+        return mayContain(EMAILS, email);
+    }
+
+    public static boolean licenseMayBeTaken(String licenseNumber) {
+        return mayContain(LICENSES, licenseNumber);
+    }
+
+    /**
+     * Call once the users row has been inserted
+     */
+    public static void recordUser(User user) {
+        add(USERNAMES, user.getUsername());
+        add(EMAILS, user.getEmail());
+    }
+
+    /**
+     * Call once the doctors row has been inserted
+     */
+    public static void recordLicense(String licenseNumber) {
+        add(LICENSES, licenseNumber);
+    }
+
+    /**
+     * Call after a users row has been updated, with the username and email it
+     * held before. Only values that changed are swapped, so saving a profile
+     * again does not pile up counts for the same key.
+     */
+    public static void userUpdated(String previousUsername, String previousEmail, User user) {
+        replace(USERNAMES, previousUsername, user.getUsername());
+        replace(EMAILS, previousEmail, user.getEmail());
+    }
+
+    /**
+     * Call after a doctors row has been updated, with the license number it held before
+     */
+    public static void licenseUpdated(String previousLicenseNumber, String licenseNumber) {
+        replace(LICENSES, previousLicenseNumber, licenseNumber);
+    }
+
+    /**
+     * Call after a user has been deleted, with the row as it was stored. Values
+     * recorded before seeding finished may have been counted twice, so removals
+     * are skipped until then; that can only leave a harmless false positive.
+     */
+    public static void forgetUser(User user, Doctor doctor) {
+        if (!seeded) {
+            return;
+        }
+        remove(USERNAMES, user.getUsername());
+        remove(EMAILS, user.getEmail());
+        if (doctor != null) {
+            remove(LICENSES, doctor.getLicenseNumber());
+        }
+    }
+
+    private static boolean mayContain(CountingBloomFilter filter, String value) {
+        return !seeded || value == null || filter.mightContain(normalize(value));
+    }
+
+    private static void add(CountingBloomFilter filter, String value) {
+        if (value != null) {
+            filter.add(normalize(value));
+        }
+    }
+
+    // Removal follows the same before-seeding rule as forgetUser
+    private static void replace(CountingBloomFilter filter, String previous, String current) {
+        String before = previous != null ? normalize(previous) : null;
+        String after = current != null ? normalize(current) : null;
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (seeded) {
+            remove(filter, previous);
+        }
+        add(filter, current);
+    }
+
+    private static void remove(CountingBloomFilter filter, String value) {
+        if (value != null) {
+            filter.remove(normalize(value));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.enums.UserRole;
+import com.hospital.management.dao.impl.DoctorDAOImpl;
+import com.hospital.management.dao.impl.PatientDAOImpl;
+import com.hospital.management.dao.interfaces.DoctorDAO;
+import com.hospital.management.dao.interfaces.PatientDAO;
+import com.hospital.management.models.User;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Translates a user account ID into the doctors.id or patients.id of the same
+ * person. The mapping is fixed for the lifetime of the account (user_id is
+ * unique in both tables), so each one is looked up at most once and then
+ * served from memory until the user is deleted. Patient IDs are remembered
+ * by PatientDAOImpl itself, which also needs them for getPatientByUserId.
+ */
+public final class RoleIdentityResolver {
+
+    private static final DoctorDAO DOCTOR_DAO = new DoctorDAOImpl();
+    private static final PatientDAO PATIENT_DAO = new PatientDAOImpl();
+
+    private static final Map<Long, Long> DOCTOR_IDS = new ConcurrentHashMap<>();
+
+    private RoleIdentityResolver() {
+    }
+
+    /**
+     * Resolve the role-specific ID of a user who has just logged in, so later screens never query for it
+     */
+    public static void onLogin(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        if (user.getRole() == UserRole.DOCTOR) {
+            doctorIdFor(user.getId());
+        } else if (user.getRole() == UserRole.PATIENT) {
+            patientIdFor(user.getId());
+        }
+    }
+
+    /**
+     * doctors.id for the user, or null if the user has no doctor record
+     */
+    public static Long doctorIdFor(Long userId) {
+        return resolve(DOCTOR_IDS, userId, DOCTOR_DAO::getDoctorIdByUserId);
+    }
+
+    /**
+     * patients.id for the user, or null if the user has no patient record
+     */
+    public static Long patientIdFor(Long userId) {
+        return userId != null ? PATIENT_DAO.getPatientIdByUserId(userId) : null;
+    }
+
+    // The query runs outside the map so a slow lookup never blocks other users;
+    // a missing record is not cached and is looked up again next time
+    private static Long resolve(Map<Long, Long> ids, Long userId, Function<Long, Long> lookup) {
+        if (userId == null) {
+            return null;
+        }
+        Long id = ids.get(userId);
+        if (id != null) {
+            return id;
+        }
+        id = lookup.apply(userId);
+        if (id != null) {
+            ids.putIfAbsent(userId, id);
+        }
+        return id;
+    }
+
+    /**
+     * Drop the doctor mapping of a deleted user (UserDAOImpl.deleteUser drops the patient one);
+     * IDs are not reused, so nothing else can make them stale
+     */
+    public static void forget(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        DOCTOR_IDS.remove(userId);
+    }
+}
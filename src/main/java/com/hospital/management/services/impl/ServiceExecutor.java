@@ -0,0 +1,58 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.concurrent.BoundedExecutor;
+import com.hospital.management.common.config.AppConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the services' *Async lookups. Each task borrows its own connection, so
+ * no more of them run at once than the connection pool can serve; the rest
+ * wait for a permit rather than for a connection.
+ *
+ * Tasks run outside the caller's UnitOfWork, which is why only reads are
+ * offered asynchronously. A task must not wait on another async lookup: once
+ * every worker is waiting, the lookups they wait for never start. Code that
+ * fans lookups out checks isWorkerThread() and runs them in place instead.
+ */
+public final class ServiceExecutor {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    private static final ExecutorService WORKERS =
+            Executors.newFixedThreadPool(Math.max(1, AppConfig.getInstance().getThreadPoolSize()), Worker::new);
+    private static final BoundedExecutor EXECUTOR =
+            new BoundedExecutor(WORKERS, Math.max(1, AppConfig.getInstance().getDbPoolMaxSize()));
+
+    private ServiceExecutor() {
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> lookup) {
+        return EXECUTOR.supply(lookup);
+    }
+
+    /**
+     * Whether the caller is itself running as an async lookup
+     */
+    public static boolean isWorkerThread() {
+        return Thread.currentThread() instanceof Worker;
+    }
+
+    public static int getPeakRunning() {
+        return EXECUTOR.getPeakRunning();
+    }
+
+    public static int getMaxConcurrency() {
+        return EXECUTOR.getMaxConcurrency();
+    }
+
+    private static final class Worker extends Thread {
+        Worker(Runnable task) {
+            super(task, "service-async-" + THREAD_NUMBER.incrementAndGet());
+            setDaemon(true);
+        }
+    }
+}
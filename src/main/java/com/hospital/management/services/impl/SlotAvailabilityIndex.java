@@ -0,0 +1,167 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.cache.CacheStats;
+import com.hospital.management.common.cache.TtlCache;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.UnitOfWork;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of booked appointment times, one bitmap per doctor per day.
+ * A day is loaded from the database the first time it is asked for and then
+ * kept up to date by the booking paths, so availability checks and slot
+ * listings are answered without a query until the entry expires.
+ *
+ * A slot counts as booked while an appointment holds it in
+ * unique_doctor_datetime; cancelled, no-show and rescheduled appointments
+ * release theirs, so the booking paths mark those slots free.
+ */
+public final class SlotAvailabilityIndex {
+
+    private static final TtlCache<DoctorDay, BookedSlots> DAYS;
+
+    static {
+        AppConfig config = AppConfig.getInstance();
+        DAYS = new TtlCache<>("bookedSlots", config.getSlotIndexTtlMillis(), config.getSlotIndexMaxEntries());
+    }
+
+    private SlotAvailabilityIndex() {
+    }
+
+    /**
+     * Whether the slot is booked; a day whose bookings could not be read counts as booked
+     */
+    static boolean isBooked(Long doctorId, LocalDate date, LocalTime time, Supplier<List<LocalTime>> loader) {
+        BookedSlots booked = day(doctorId, date, loader);
+        return booked == null || booked.isBooked(time);
+    }
+
+    /**
+     * The candidates that are not booked, in their original order; null if the day's bookings could not be read
+     */
+    static List<LocalTime> freeSlots(Long doctorId, LocalDate date, List<LocalTime> candidates,
+                                     Supplier<List<LocalTime>> loader) {
+        BookedSlots booked = day(doctorId, date, loader);
+        if (booked == null) {
+            return null;
+        }
+        List<LocalTime> free = new ArrayList<>(candidates.size());
+        for (LocalTime slot : candidates) {
+            if (!booked.isBooked(slot)) {
+                free.add(slot);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Record a new appointment row; applied when the surrounding unit of work commits
+     */
+    public static void markBooked(Long doctorId, LocalDate date, LocalTime time) {
+        DoctorDay key = new DoctorDay(doctorId, date);
+        UnitOfWork.afterCommit(() -> DAYS.update(key, slots -> slots.with(time)));
+    }
+
+    /**
+     * Record that an appointment no longer holds its slot (moved, released or deleted)
+     */
+    public static void markFree(Long doctorId, LocalDate date, LocalTime time) {
+        DoctorDay key = new DoctorDay(doctorId, date);
+        UnitOfWork.afterCommit(() -> DAYS.update(key, slots -> slots.without(time)));
+    }
+
+    /**
+     * Drop a day so it is reloaded on next use, for changes made outside the booking paths
+     */
+    public static void invalidate(Long doctorId, LocalDate date) {
+        DAYS.invalidate(new DoctorDay(doctorId, date));
+    }
+
+    public static CacheStats getStats() {
+        return DAYS.getStats();
+    }
+
+    // A loader returns null when the query failed; the null is passed on and not cached, so the day is retried
+    private static BookedSlots day(Long doctorId, LocalDate date, Supplier<List<LocalTime>> loader) {
+        return DAYS.get(new DoctorDay(doctorId, date), key -> {
+            List<LocalTime> times = loader.get();
+            return times != null ? BookedSlots.of(times) : null;
+        });
+    }
+
+    private static final class DoctorDay {
+        private final Long doctorId;
+        private final LocalDate date;
+
+        DoctorDay(Long doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DoctorDay)) return false;
+            DoctorDay other = (DoctorDay) o;
+            return Objects.equals(doctorId, other.doctorId) && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, date);
+        }
+    }
+
+    /**
+     * Immutable bitmap with one bit per minute of the day (1440 bits, 23 longs).
+     * Times are truncated to the minute; appointment times never carry seconds.
+     */
+    static final class BookedSlots {
+        private static final int MINUTES_PER_DAY = 24 * 60;
+
+        private final long[] words;
+
+        private BookedSlots(long[] words) {
+            this.words = words;
+        }
+
+        static BookedSlots of(Collection<LocalTime> times) {
+            long[] words = new long[(MINUTES_PER_DAY + 63) / 64];
+            for (LocalTime time : times) {
+                int bit = minuteOfDay(time);
+                words[bit >>> 6] |= 1L << bit;
+            }
+            return new BookedSlots(words);
+        }
+
+        boolean isBooked(LocalTime time) {
+            int bit = minuteOfDay(time);
+            return (words[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        BookedSlots with(LocalTime time) {
+            int bit = minuteOfDay(time);
+            long[] copy = words.clone();
+            copy[bit >>> 6] |= 1L << bit;
+            return new BookedSlots(copy);
+        }
+
+        BookedSlots without(LocalTime time) {
+            int bit = minuteOfDay(time);
+            long[] copy = words.clone();
+            copy[bit >>> 6] &= ~(1L << bit);
+            return new BookedSlots(copy);
+        }
+
+        private static int minuteOfDay(LocalTime time) {
+            return time.getHour() * 60 + time.getMinute();
+        }
+    }
+}
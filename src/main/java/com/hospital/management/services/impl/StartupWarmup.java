@@ -0,0 +1,116 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.interfaces.DepartmentService;
+import com.hospital.management.interfaces.DoctorService;
+import com.hospital.management.models.Department;
+import com.hospital.management.models.Doctor;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Loads the shared caches before the first user arrives, so the first login
+ * does not pay for cold caches, class loading and first-time statement
+ * preparation. Steps run in parallel; startup waits for them only until the
+ * deadline, and steps still running then finish in the background.
+ */
+public final class StartupWarmup {
+
+    private StartupWarmup() {
+    }
+
+    /**
+     * Run every step and print its timing. Returns true if all of them succeeded before the deadline.
+     * A step reports failure by returning false or throwing.
+     */
+    public static boolean run(int threads, long deadlineMillis) {
+        Map<String, BooleanSupplier> steps = new LinkedHashMap<>();
+        steps.put("Departments", StartupWarmup::loadDepartments);
+        steps.put("Doctors & today's slots", StartupWarmup::loadDoctorsAndTodaysSlots);
+        steps.put("Registration filter", RegistrationKeyFilter::seed);
+        steps.put("Dashboard counters", DashboardStatistics::reconcile);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, steps.size())), r -> {
+            Thread thread = new Thread(r, "startup-warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        System.out.println("🔥 Warming up caches (" + steps.size() + " steps, deadline "
+                + deadlineMillis + " ms)...");
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Long>> running = new LinkedHashMap<>();
+        steps.forEach((name, step) -> running.put(name, CompletableFuture.supplyAsync(() -> {
+            long stepStart = System.nanoTime();
+            if (!step.getAsBoolean()) {
+                throw new IllegalStateException("step reported failure");
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stepStart);
+        }, executor)));
+        executor.shutdown(); // threads exit once their step is done
+
+        boolean waitedForAll = true;
+        try {
+            CompletableFuture.allOf(running.values().toArray(new CompletableFuture<?>[0]))
+                    .get(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            waitedForAll = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            waitedForAll = false;
+        } catch (ExecutionException e) {
+            // Reported per step below
+        }
+
+        boolean failed = false;
+        for (Map.Entry<String, CompletableFuture<Long>> entry : running.entrySet()) {
+            failed |= entry.getValue().isCompletedExceptionally();
+            System.out.println("   " + describe(entry.getKey(), entry.getValue()));
+        }
+        boolean complete = waitedForAll && !failed;
+        String outcome = !waitedForAll ? "stopped waiting" : failed ? "finished with failures" : "finished";
+        System.out.println((complete ? "✅" : "⚠️") + " Warm-up " + outcome
+                + " after " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return complete;
+    }
+
+    private static String describe(String name, CompletableFuture<Long> step) {
+        if (!step.isDone()) {
+            return "⏳ " + name + ": still running in the background";
+        }
+        try {
+            return "✅ " + name + ": " + step.getNow(0L) + " ms";
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return "❌ " + name + ": " + cause.getMessage();
+        }
+    }
+
+    private static boolean loadDepartments() {
+        new DepartmentServiceImpl().getAllActiveDepartments();
+        return true;
+    }
+
+    // Fills the doctor listings of the booking flow and today's slot bitmap for every doctor in them
+    private static boolean loadDoctorsAndTodaysSlots() {
+        DepartmentService departmentService = new DepartmentServiceImpl();
+        DoctorService doctorService = new DoctorServiceImpl();
+        LocalDate today = LocalDate.now();
+        for (Department department : departmentService.getDepartmentsWithDoctors()) {
+            for (Doctor doctor : doctorService.getDoctorsByDepartment(department.getId())) {
+                doctorService.getAvailableTimeSlots(doctor.getId(), today);
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package com.hospital.management.services.impl;
 
 import com.hospital.management.common.enums.UserRole;
+import com.hospital.management.common.database.Page;
 import com.hospital.management.dao.impl.DoctorDAOImpl;
 import com.hospital.management.dao.interfaces.DoctorDAO;
 import com.hospital.management.interfaces.UserService;
@@ -39,10 +40,7 @@ public class UserServiceImpl implements UserService {
         if (username == null || username.trim().isEmpty()) {
             return Optional.empty();
         }
-        List<User> users = userDAO.getAllUsers();
-        return users.stream()
-                .filter(u -> username.equals(u.getUsername()))
-                .findFirst();
+        return Optional.ofNullable(userDAO.findByUsername(username));
     }
 
     @Override
@@ -50,6 +48,11 @@ public class UserServiceImpl implements UserService {
         return userDAO.getAllUsers();
     }
 
+    @Override
+    public Page<User> findUsersPage(Long afterId, int pageSize) {
+        return userDAO.getUsersPage(afterId, pageSize, null);
+    }
+
     @Override
     public boolean registerUser(User user, String password) {
         if (user == null || password == null || password.isEmpty()) {
@@ -68,26 +71,19 @@ public class UserServiceImpl implements UserService {
 
             // STEP 1: Save to users table first
             System.out.println("🔄 Saving user data to users table...");
-            boolean userCreated = userDAO.createUser(user);
+            User savedUser = userDAO.createUser(user);
 
-            if (!userCreated) {
+            if (savedUser == null) {
                 System.err.println("❌ Failed to create user in users table");
                 return false;
             }
 
-            System.out.println("✅ User saved to users table successfully");
-
-            // STEP 2: Get the generated user ID from database
-            Optional<User> savedUser = findUserByUsername(user.getUsername());
-            if (savedUser.isEmpty()) {
-                System.err.println("❌ Could not retrieve saved user from database");
-                return false;
-            }
+            // STEP 2: Generated user ID is returned by the insert itself
+            Long userId = savedUser.getId();
+            RegistrationKeyFilter.recordUser(savedUser);
+            DashboardStatistics.userCreated();
 
-            Long userId = savedUser.get().getId();
-            user.setId(userId); // Set the generated ID in the user object
-
-            System.out.println("✅ Retrieved generated user ID: " + userId);
+            System.out.println("✅ User saved to users table with ID: " + userId);
 
             // STEP 3: Handle role-specific data creation
             if (user instanceof Patient) {
@@ -97,14 +93,15 @@ public class UserServiceImpl implements UserService {
                 patient.setId(userId); // Set user_id for foreign key relationship
 
                 System.out.println("🔄 Saving patient data to patients table...");
-                boolean patientCreated = patientDAO.createPatient(patient);
+                Patient savedPatient = patientDAO.createPatient(patient);
 
-                if (!patientCreated) {
+                if (savedPatient == null) {
                     System.err.println("❌ Failed to save patient data to patients table");
                     return false;
                 }
 
-                System.out.println("✅ Patient data saved to patients table successfully");
+                System.out.println("✅ Patient data saved to patients table with ID: " + savedPatient.getId());
+                patient.setId(userId); // Callers treat the registered object as the user account
                 System.out.println("🎉 Complete patient registration successful!");
 
             } else if (user instanceof Doctor) {
@@ -117,14 +114,16 @@ public class UserServiceImpl implements UserService {
 
                 // Create DoctorDAO instance to save doctor-specific data
                 DoctorDAO doctorDAO = new DoctorDAOImpl();
-                boolean doctorCreated = doctorDAO.createDoctor(doctor);
+                Doctor savedDoctor = doctorDAO.createDoctor(doctor);
 
-                if (!doctorCreated) {
+                if (savedDoctor == null) {
                     System.err.println("❌ Failed to save doctor data to doctors table");
                     return false;
                 }
 
-                System.out.println("✅ Doctor data saved to doctors table successfully");
+                System.out.println("✅ Doctor data saved to doctors table with ID: " + savedDoctor.getId());
+                RegistrationKeyFilter.recordLicense(doctor.getLicenseNumber());
+                doctor.setId(userId); // Callers treat the registered object as the user account
                 System.out.println("🎉 Complete doctor registration successful!");
 
             } else {
@@ -153,8 +152,16 @@ public class UserServiceImpl implements UserService {
         try {
             user.validate();
 
+            // The stored unique values, so the registration filter can swap out the ones that change
+            User stored = userDAO.getUserById(user.getId().intValue());
+            String previousUsername = stored != null ? stored.getUsername() : null;
+            String previousEmail = stored != null ? stored.getEmail() : null;
+
             // Update user in users table
             boolean userUpdated = userDAO.updateUser(user);
+            if (userUpdated) {
+                RegistrationKeyFilter.userUpdated(previousUsername, previousEmail, user);
+            }
 
             // If it's a patient, also update patient-specific data
             if (userUpdated && user instanceof Patient) {
@@ -180,7 +187,22 @@ public class UserServiceImpl implements UserService {
         try {
             // Note: In a real application, you might want to handle cascade deletion
             // or check if patient data exists before deleting user
-            return userDAO.deleteUser(id.intValue());
+            // Read the unique values before the rows go so the registration filter can drop them
+            User existing = userDAO.getUserById(id.intValue());
+            Long doctorId = RoleIdentityResolver.doctorIdFor(id);
+            Doctor doctor = doctorId != null ? new DoctorDAOImpl().getDoctorById(doctorId.intValue()) : null;
+
+            boolean deleted = userDAO.deleteUser(id.intValue());
+            if (deleted) {
+                // The user may have been a doctor listed in the booking flow
+                ReferenceDataCache.invalidateDoctors();
+                RoleIdentityResolver.forget(id);
+                DashboardStatistics.userDeleted();
+                if (existing != null) {
+                    RegistrationKeyFilter.forgetUser(existing, doctor);
+                }
+            }
+            return deleted;
         } catch (Exception e) {
             System.err.println("Error deleting user: " + e.getMessage());
             return false;
@@ -249,10 +271,7 @@ public class UserServiceImpl implements UserService {
             return Optional.empty();
         }
 
-        List<User> users = userDAO.getAllUsers();
-        return users.stream()
-                .filter(u -> email.equals(u.getEmail()))
-                .findFirst();
+        return Optional.ofNullable(userDAO.findByEmail(email));
     }
 
     @Override
@@ -1,7 +1,10 @@
 package com.hospital.management.ui.menus;
 
 import com.hospital.management.controllers.AdminController;
+import com.hospital.management.services.impl.AuthenticationServiceImpl;
 import com.hospital.management.services.impl.UserServiceImpl;
+import com.hospital.management.interfaces.AuthenticationService;
+import com.hospital.management.common.exceptions.AuthenticationException;
 import com.hospital.management.services.impl.AppointmentServiceImpl;
 import com.hospital.management.services.impl.BillingServiceImpl;
 import com.hospital.management.services.impl.PaymentServiceImpl;
@@ -11,11 +14,12 @@ import com.hospital.management.ui.InputHandler;
 import com.hospital.management.commands.CommandResult;
 import com.hospital.management.models.User;
 import com.hospital.management.models.Department;
-import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
 import com.hospital.management.common.enums.UserRole;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.Page;
 
 import java.math.BigDecimal;
-import java.util.Optional;
 import java.util.List;
 import java.util.Map;
 
@@ -26,10 +30,10 @@ public class AdminMenuUI {
     private final AdminController adminController;
     private final UserServiceImpl userService;
     private final InputHandler input;
+    private final AuthenticationService authService = AuthenticationServiceImpl.getInstance();
 
     // Session management
     private User currentUser = null;
-    private boolean isLoggedIn = false;
 
     public AdminMenuUI() {
         this.userService = new UserServiceImpl();
@@ -44,7 +48,7 @@ public class AdminMenuUI {
 
     public void show() {
         while (true) {
-            if (!isLoggedIn) {
+            if (!isLoggedIn()) {
                 // Show login menu
                 if (!showLoginMenu()) {
                     return; // Back to main menu
@@ -135,30 +139,23 @@ public class AdminMenuUI {
 
             System.out.println("\n🔄 Verifying admin access...");
 
-            // Authenticate using UserService
-            boolean authenticated = userService.authenticate(loginId, password);
-
-            if (authenticated) {
-                // Get user details and verify admin role
-                Optional<User> userOpt = userService.findUserByUsername(loginId);
-                if (userOpt.isEmpty()) {
-                    // Try finding by email if username didn't work
-                    userOpt = userService.findAllUsers().stream()
-                            .filter(u -> u.getEmail().equals(loginId))
-                            .findFirst();
-                }
+            // Login goes through the session store, which also expires idle sessions
+            User user;
+            try {
+                user = authService.login(loginId, password);
+            } catch (AuthenticationException e) {
+                System.out.println("❌ Admin login failed: " + e.getMessage());
+                System.out.println("⚠️  Unauthorized access attempt logged");
+                return;
+            }
 
-                if (userOpt.isPresent() && userOpt.get().getRole() == UserRole.ADMIN) {
-                    currentUser = userOpt.get();
-                    isLoggedIn = true;
-                    System.out.println("✅ Admin authentication successful!");
-                    System.out.println("🔐 Welcome Admin " + currentUser.getUsername() + "!");
-                } else {
-                    System.out.println("❌ Access denied: Not an admin account");
-                    System.out.println("⚠️  Unauthorized access attempt logged");
-                }
+            if (user.getRole() == UserRole.ADMIN) {
+                currentUser = user;
+                System.out.println("✅ Admin authentication successful!");
+                System.out.println("🔐 Welcome Admin " + currentUser.getUsername() + "!");
             } else {
-                System.out.println("❌ Admin login failed: Invalid credentials");
+                endSession(user);
+                System.out.println("❌ Access denied: Not an admin account");
                 System.out.println("⚠️  Unauthorized access attempt logged");
             }
 
@@ -170,71 +167,111 @@ public class AdminMenuUI {
     private void handleLogout() {
         System.out.println("\n🔄 Logging out...");
         System.out.println("👋 Goodbye, Admin " + (currentUser != null ? currentUser.getUsername() : "User") + "!");
+        if (currentUser != null) {
+            endSession(currentUser);
+        }
         currentUser = null;
-        isLoggedIn = false;
         System.out.println("✅ Admin session ended successfully!");
     }
 
+    // The session store decides whether the user is still logged in; an idle session expires there
+    private boolean isLoggedIn() {
+        if (currentUser == null) {
+            return false;
+        }
+        if (!authService.isAuthenticated(currentUser.getUsername())) {
+            System.out.println("⌛ Your session has expired. Please login again.");
+            currentUser = null;
+            return false;
+        }
+        return true;
+    }
+
+    private void endSession(User user) {
+        try {
+            authService.logout(user.getUsername());
+        } catch (AuthenticationException e) {
+            // Already expired
+        }
+    }
+
     private void handleViewAllUsers() {
         System.out.println("\n👥 VIEW ALL USERS");
         System.out.println("=" .repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
             Long adminId = currentUser.getId();
+            int pageSize = AppConfig.getInstance().getPageSize();
+            Long afterId = null;
+            int shown = 0;
 
-            System.out.println("🔄 Fetching all users...");
+            System.out.println("🔄 Fetching users...");
 
-            // Call AdminController to view all users
-            CommandResult result = adminController.viewAllUsers(adminId);
+            while (true) {
+                // Call AdminController for one page of users at a time
+                CommandResult result = adminController.viewUsersPage(adminId, afterId, pageSize);
 
-            if (result.isSuccess()) {
-                System.out.println("✅ " + result.getMessage());
+                if (!result.isSuccess()) {
+                    System.out.println("❌ " + result.getMessage());
+                    return;
+                }
 
-                if (result.getData() instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<User> users = (List<User>) result.getData();
+                @SuppressWarnings("unchecked")
+                Page<User> page = (Page<User>) result.getData();
 
-                    if (users.isEmpty()) {
-                        System.out.println("📋 No users found");
-                    } else {
-                        System.out.println("\n👥 System Users:");
-                        System.out.println("─".repeat(80));
-                        System.out.printf("%-4s %-15s %-25s %-15s %-10s%n",
-                                "ID", "Username", "Email", "Phone", "Role");
-                        System.out.println("─".repeat(80));
-
-                        for (User user : users) {
-                            System.out.printf("%-4s %-15s %-25s %-15s %-10s%n",
-                                    user.getId() != null ? user.getId() : "N/A",
-                                    user.getUsername() != null ? user.getUsername() : "N/A",
-                                    user.getEmail() != null ? user.getEmail() : "N/A",
-                                    user.getPhone() != null ? user.getPhone() : "N/A",
-                                    user.getRole() != null ? user.getRole() : "N/A");
-                        }
-                        System.out.println("─".repeat(80));
-                        System.out.println("Total Users: " + users.size());
-                    }
+                if (page.isEmpty() && shown == 0) {
+                    System.out.println("📋 No users found");
+                    return;
                 }
-            } else {
-                System.out.println("❌ " + result.getMessage());
+
+                if (shown == 0) {
+                    System.out.println("\n👥 System Users:");
+                    System.out.println("─".repeat(80));
+                    System.out.printf("%-4s %-15s %-25s %-15s %-10s%n",
+                            "ID", "Username", "Email", "Phone", "Role");
+                    System.out.println("─".repeat(80));
+                }
+
+                for (User user : page.getItems()) {
+                    System.out.printf("%-4s %-15s %-25s %-15s %-10s%n",
+                            user.getId() != null ? user.getId() : "N/A",
+                            user.getUsername() != null ? user.getUsername() : "N/A",
+                            user.getEmail() != null ? user.getEmail() : "N/A",
+                            user.getPhone() != null ? user.getPhone() : "N/A",
+                            user.getRole() != null ? user.getRole() : "N/A");
+                }
+                shown += page.size();
+
+                if (!page.hasMore() || !askForNextPage()) {
+                    break;
+                }
+                afterId = page.getNextKey();
             }
 
+            System.out.println("─".repeat(80));
+            System.out.println("Users Shown: " + shown);
+
         } catch (Exception e) {
             System.out.println("❌ View users error: " + e.getMessage());
         }
     }
 
+    private boolean askForNextPage() {
+        String answer = input.getString("➡️  Show next page? (y/n): ");
+        return answer.equalsIgnoreCase("y") || answer.equalsIgnoreCase("yes");
+    }
+
     private void handleSearchUserDetails() {
         System.out.println("\n🔍 SEARCH USER DETAILS");
         System.out.println("=" .repeat(25));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -277,7 +314,7 @@ public class AdminMenuUI {
         System.out.println("⚠️  WARNING: This action cannot be undone!");
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -314,7 +351,7 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(25));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -357,57 +394,69 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(30));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
             Long adminId = currentUser.getId();
+            int pageSize = AppConfig.getInstance().getPageSize();
+            Long afterId = null;
+            int shown = 0;
 
-            System.out.println("🔄 Fetching all appointments...");
+            System.out.println("🔄 Fetching appointments...");
 
-            // Call AdminController to view all appointments
-            CommandResult result = adminController.viewAllAppointments(adminId);
+            while (true) {
+                // Call AdminController for one page of appointments at a time
+                CommandResult result = adminController.viewAppointmentsPage(adminId, afterId, pageSize);
 
-            if (result.isSuccess()) {
-                System.out.println("✅ " + result.getMessage());
+                if (!result.isSuccess()) {
+                    System.out.println("❌ " + result.getMessage());
+                    return;
+                }
 
-                if (result.getData() instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<Appointment> appointments = (List<Appointment>) result.getData();
+                @SuppressWarnings("unchecked")
+                Page<AppointmentSummary> page = (Page<AppointmentSummary>) result.getData();
 
-                    if (appointments.isEmpty()) {
-                        System.out.println("📋 No appointments found");
-                    } else {
-                        System.out.println("\n📅 System Appointments:");
-                        System.out.println("─".repeat(100));
-                        System.out.printf("%-4s %-12s %-12s %-15s %-15s %-15s %-25s%n",
-                                "ID", "Patient ID", "Doctor ID", "Date", "Time", "Status", "Reason");
-                        System.out.println("─".repeat(100));
-
-                        for (Appointment appointment : appointments) {
-                            String reason = appointment.getReason();
-                            if (reason != null && reason.length() > 22) {
-                                reason = reason.substring(0, 19) + "...";
-                            }
+                if (page.isEmpty() && shown == 0) {
+                    System.out.println("📋 No appointments found");
+                    return;
+                }
 
-                            System.out.printf("%-4s %-12s %-12s %-15s %-15s %-15s %-25s%n",
-                                    appointment.getId() != null ? appointment.getId() : "N/A",
-                                    appointment.getPatientId() != null ? appointment.getPatientId() : "N/A",
-                                    appointment.getDoctorId() != null ? appointment.getDoctorId() : "N/A",
-                                    appointment.getAppointmentDate() != null ? appointment.getAppointmentDate() : "N/A",
-                                    appointment.getAppointmentTime() != null ? appointment.getAppointmentTime() : "N/A",
-                                    appointment.getStatus() != null ? appointment.getStatus() : "N/A",
-                                    reason != null ? reason : "N/A");
-                        }
-                        System.out.println("─".repeat(100));
-                        System.out.println("Total Appointments: " + appointments.size());
+                if (shown == 0) {
+                    System.out.println("\n📅 System Appointments:");
+                    System.out.println("─".repeat(110));
+                    System.out.printf("%-4s %-20s %-20s %-12s %-10s %-12s %-25s%n",
+                            "ID", "Patient", "Doctor", "Date", "Time", "Status", "Reason");
+                    System.out.println("─".repeat(110));
+                }
+
+                for (AppointmentSummary appointment : page.getItems()) {
+                    String reason = appointment.getReason();
+                    if (reason != null && reason.length() > 22) {
+                        reason = reason.substring(0, 19) + "...";
                     }
+
+                    System.out.printf("%-4s %-20s %-20s %-12s %-10s %-12s %-25s%n",
+                            appointment.getId() != null ? appointment.getId() : "N/A",
+                            appointment.getPatientName() != null ? appointment.getPatientName() : "N/A",
+                            appointment.getDoctorName() != null ? "Dr. " + appointment.getDoctorName() : "N/A",
+                            appointment.getAppointmentDate() != null ? appointment.getAppointmentDate() : "N/A",
+                            appointment.getAppointmentTime() != null ? appointment.getAppointmentTime() : "N/A",
+                            appointment.getStatus() != null ? appointment.getStatus() : "N/A",
+                            reason != null ? reason : "N/A");
                 }
-            } else {
-                System.out.println("❌ " + result.getMessage());
+                shown += page.size();
+
+                if (!page.hasMore() || !askForNextPage()) {
+                    break;
+                }
+                afterId = page.getNextKey();
             }
 
+            System.out.println("─".repeat(110));
+            System.out.println("Appointments Shown: " + shown);
+
         } catch (Exception e) {
             System.out.println("❌ View appointments error: " + e.getMessage());
         }
@@ -441,7 +490,7 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -499,7 +548,7 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(22));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -540,7 +589,7 @@ public class AdminMenuUI {
         System.out.println("⚠️  WARNING: This action cannot be undone!");
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -577,7 +626,7 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -649,7 +698,7 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(17));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -689,7 +738,7 @@ public class AdminMenuUI {
         System.out.println("=" .repeat(25));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
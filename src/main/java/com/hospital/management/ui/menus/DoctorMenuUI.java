@@ -1,17 +1,20 @@
 package com.hospital.management.ui.menus;
 
 import com.hospital.management.controllers.DoctorController;
+import com.hospital.management.services.impl.RoleIdentityResolver;
+import com.hospital.management.services.impl.AuthenticationServiceImpl;
 import com.hospital.management.services.impl.UserServiceImpl;
+import com.hospital.management.interfaces.AuthenticationService;
+import com.hospital.management.common.exceptions.AuthenticationException;
 import com.hospital.management.services.impl.AppointmentServiceImpl;
 import com.hospital.management.ui.InputHandler;
 import com.hospital.management.commands.CommandResult;
 import com.hospital.management.models.User;
 import com.hospital.management.models.Doctor;
-import com.hospital.management.models.Appointment;
+import com.hospital.management.models.AppointmentSummary;
 import com.hospital.management.common.utils.InputValidator;
 import com.hospital.management.common.enums.UserRole;
 
-import java.util.Optional;
 import java.util.List;
 
 /**
@@ -21,10 +24,10 @@ public class DoctorMenuUI {
     private final DoctorController doctorController;
     private final UserServiceImpl userService;
     private final InputHandler input;
+    private final AuthenticationService authService = AuthenticationServiceImpl.getInstance();
 
     // Session management
     private User currentUser = null;
-    private boolean isLoggedIn = false;
 
     public DoctorMenuUI() {
         this.userService = new UserServiceImpl();
@@ -37,7 +40,7 @@ public class DoctorMenuUI {
 
     public void show() {
         while (true) {
-            if (!isLoggedIn) {
+            if (!isLoggedIn()) {
                 // Show login menu
                 if (!showLoginMenu()) {
                     return; // Back to main menu
@@ -115,31 +118,25 @@ public class DoctorMenuUI {
 
             System.out.println("\n🔄 Authenticating doctor...");
 
-            // Authenticate using UserService
-            boolean authenticated = userService.authenticate(loginId, password);
-
-            if (authenticated) {
-                // Get user details
-                Optional<User> userOpt = userService.findUserByUsername(loginId);
-                if (userOpt.isEmpty()) {
-                    // Try finding by email if username didn't work
-                    userOpt = userService.findAllUsers().stream()
-                            .filter(u -> u.getEmail().equals(loginId))
-                            .findFirst();
-                }
+            // Login goes through the session store, which also expires idle sessions
+            User user;
+            try {
+                user = authService.login(loginId, password);
+            } catch (AuthenticationException e) {
+                System.out.println("❌ Doctor login failed: " + e.getMessage());
+                System.out.println("💡 Please check your Doctor ID/Email and password");
+                return;
+            }
 
-                if (userOpt.isPresent() && userOpt.get().getRole() == UserRole.DOCTOR) {
-                    currentUser = userOpt.get();
-                    isLoggedIn = true;
-                    System.out.println("✅ Doctor login successful!");
-                    System.out.println("👨‍⚕️ Welcome Dr. " + currentUser.getUsername() + "!");
-                } else {
-                    System.out.println("❌ Access denied: Not a doctor account");
-                    System.out.println("💡 Please contact admin if you are a registered doctor");
-                }
+            if (user.getRole() == UserRole.DOCTOR) {
+                currentUser = user;
+                RoleIdentityResolver.onLogin(currentUser);
+                System.out.println("✅ Doctor login successful!");
+                System.out.println("👨‍⚕️ Welcome Dr. " + currentUser.getUsername() + "!");
             } else {
-                System.out.println("❌ Doctor login failed: Invalid credentials");
-                System.out.println("💡 Please check your Doctor ID/Email and password");
+                endSession(user);
+                System.out.println("❌ Access denied: Not a doctor account");
+                System.out.println("💡 Please contact admin if you are a registered doctor");
             }
 
         } catch (Exception e) {
@@ -150,24 +147,47 @@ public class DoctorMenuUI {
     private void handleLogout() {
         System.out.println("\n🔄 Logging out...");
         System.out.println("👋 Goodbye, Dr. " + (currentUser != null ? currentUser.getUsername() : "Doctor") + "!");
+        if (currentUser != null) {
+            endSession(currentUser);
+        }
         currentUser = null;
-        isLoggedIn = false;
         System.out.println("✅ Logged out successfully!");
     }
 
+    // The session store decides whether the user is still logged in; an idle session expires there
+    private boolean isLoggedIn() {
+        if (currentUser == null) {
+            return false;
+        }
+        if (!authService.isAuthenticated(currentUser.getUsername())) {
+            System.out.println("⌛ Your session has expired. Please login again.");
+            currentUser = null;
+            return false;
+        }
+        return true;
+    }
+
+    private void endSession(User user) {
+        try {
+            authService.logout(user.getUsername());
+        } catch (AuthenticationException e) {
+            // Already expired
+        }
+    }
+
     private void handleViewSchedule() {
         System.out.println("📅 VIEW MY SCHEDULE");
         System.out.println("═".repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
-            // ✅ FIX: Get the actual doctor ID from database (same as patient fix)
+            // user_id → doctor_id, resolved once at login and cached
             Long userId = currentUser.getId();
-            Long doctorId = getDoctorIdFromDatabase(userId);  // Convert user_id → doctor_id
+            Long doctorId = doctorController.resolveDoctorId(userId);  // Convert user_id → doctor_id
 
             if (doctorId == null) {
                 System.out.println("❌ Doctor record not found for user ID " + userId);
@@ -181,7 +201,7 @@ public class DoctorMenuUI {
 
             if (result.isSuccess()) {
                 @SuppressWarnings("unchecked")
-                List<Appointment> appointments = (List<Appointment>) result.getData();
+                List<AppointmentSummary> appointments = (List<AppointmentSummary>) result.getData();
 
                 displaySchedule(appointments);
             } else {
@@ -193,28 +213,8 @@ public class DoctorMenuUI {
         }
     }
 
-    // ✅ ADD THIS HELPER METHOD
-    private Long getDoctorIdFromDatabase(Long userId) {
-        try {
-            String sql = "SELECT d.id FROM doctors d WHERE d.user_id = ?";
-            try (java.sql.Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-                 java.sql.PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                stmt.setLong(1, userId);
-                java.sql.ResultSet rs = stmt.executeQuery();
-
-                if (rs.next()) {
-                    return rs.getLong("id");
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Database error getting doctor ID: " + e.getMessage());
-        }
-        return null;
-    }
-
     // ✅ ADD THIS DISPLAY METHOD
-    private void displaySchedule(List<Appointment> appointments) {
+    private void displaySchedule(List<AppointmentSummary> appointments) {
         if (appointments.isEmpty()) {
             System.out.println("📋 No appointments scheduled");
             return;
@@ -224,10 +224,10 @@ public class DoctorMenuUI {
         System.out.println("═".repeat(90));
 
         for (int i = 0; i < appointments.size(); i++) {
-            Appointment apt = appointments.get(i);
+            AppointmentSummary apt = appointments.get(i);
 
-            // ✅ Get patient name from database
-            String patientName = getPatientName(apt.getPatientId());
+            // Patient name is joined in by the schedule query
+            String patientName = apt.getPatientName() != null ? apt.getPatientName() : "Unknown Patient";
 
             System.out.printf("%d. 📅 %s at %s%n", (i + 1), apt.getAppointmentDate(), apt.getAppointmentTime());
             System.out.printf("   👤 Patient: %s (ID: %d)%n", patientName, apt.getPatientId());
@@ -235,8 +235,8 @@ public class DoctorMenuUI {
             System.out.printf("   📝 Reason: %s%n", apt.getReason() != null ? apt.getReason() : "General consultation");
 
             // ✅ Optional: Show appointment notes if exists
-            if (apt.getNotes() != null && !apt.getNotes().trim().isEmpty()) {
-                System.out.printf("   📄 Notes: %s%n", apt.getNotes());
+            if (apt.getNotesPreview() != null && !apt.getNotesPreview().trim().isEmpty()) {
+                System.out.printf("   📄 Notes: %s%n", apt.getNotesPreview());
             }
 
             System.out.println("   " + "─".repeat(86));
@@ -246,43 +246,19 @@ public class DoctorMenuUI {
         input.getString("Press Enter to continue...");
     }
 
-    // ✅ ADD THIS HELPER METHOD to get patient names
-    private String getPatientName(Long patientId) {
-        try {
-            String sql = "SELECT p.first_name, p.last_name FROM patients p WHERE p.id = ?";
-            try (java.sql.Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-                 java.sql.PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                stmt.setLong(1, patientId);
-                java.sql.ResultSet rs = stmt.executeQuery();
-
-                if (rs.next()) {
-                    String firstName = rs.getString("first_name");
-                    String lastName = rs.getString("last_name");
-                    return firstName + " " + lastName;
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Error getting patient name: " + e.getMessage());
-        }
-        return "Unknown Patient";
-    }
-
-
-
     private void handleUpdateProfile() {
         System.out.println("👤 UPDATE PROFILE");
         System.out.println("═".repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
-            // ✅ FIX: Get the actual doctor ID from database
+            // user_id → doctor_id, resolved once at login and cached
             Long userId = currentUser.getId();  // This is 6
-            Long doctorId = getDoctorIdFromDatabase(userId);  // Convert to doctor_id = 1
+            Long doctorId = doctorController.resolveDoctorId(userId);  // Convert to doctor_id = 1
 
             if (doctorId == null) {
                 System.out.println("❌ Doctor record not found for user ID " + userId);
@@ -333,14 +309,14 @@ public class DoctorMenuUI {
         System.out.println("═".repeat(25));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
             // Get doctor ID
             Long userId = currentUser.getId();
-            Long doctorId = getDoctorIdFromDatabase(userId);
+            Long doctorId = doctorController.resolveDoctorId(userId);
 
             if (doctorId == null) {
                 System.out.println("❌ Doctor record not found");
@@ -470,14 +446,14 @@ public class DoctorMenuUI {
         System.out.println("═".repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
             // Get doctor ID
             Long userId = currentUser.getId();
-            Long doctorId = getDoctorIdFromDatabase(userId);
+            Long doctorId = doctorController.resolveDoctorId(userId);
 
             if (doctorId == null) {
                 System.out.println("❌ Doctor record not found");
@@ -1,19 +1,24 @@
 package com.hospital.management.ui.menus;
 
+import com.hospital.management.common.config.AppConfig;
 import com.hospital.management.common.enums.PaymentMethod;
 import com.hospital.management.controllers.PatientController;
 import com.hospital.management.models.*;
+import com.hospital.management.services.impl.RoleIdentityResolver;
+import com.hospital.management.services.impl.AuthenticationServiceImpl;
 import com.hospital.management.services.impl.UserServiceImpl;
+import com.hospital.management.interfaces.AuthenticationService;
+import com.hospital.management.common.exceptions.AuthenticationException;
 import com.hospital.management.ui.InputHandler;
 import com.hospital.management.commands.CommandResult;
 import com.hospital.management.common.utils.InputValidator;
 import com.hospital.management.common.enums.UserRole;
+import com.hospital.management.common.enums.WaitlistUrgency;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
-import java.util.Optional;
 import java.util.Map;
 import java.util.List;
 
@@ -21,13 +26,15 @@ import java.util.List;
  * Patient Menu UI with login/logout functionality
  */
 public class PatientMenuUI {
+    private static final int EARLIEST_OPTIONS = 5;
+
     private final PatientController patientController;
     private final UserServiceImpl userService;
     private final InputHandler input;
+    private final AuthenticationService authService = AuthenticationServiceImpl.getInstance();
 
     // Session management
     private User currentUser = null;
-    private boolean isLoggedIn = false;
 
     public PatientMenuUI(PatientController patientController) {
         this.patientController = patientController;
@@ -37,7 +44,7 @@ public class PatientMenuUI {
 
     public void show() {
         while (true) {
-            if (!isLoggedIn) {
+            if (!isLoggedIn()) {
                 // Show login/register menu
                 if (!showLoginMenu()) {
                     return; // Back to main menu
@@ -117,30 +124,24 @@ public class PatientMenuUI {
 
             System.out.println("\n🔄 Authenticating...");
 
-            // Authenticate using UserService
-            boolean authenticated = userService.authenticate(loginId, password);
-
-            if (authenticated) {
-                // Get user details
-                Optional<User> userOpt = userService.findUserByUsername(loginId);
-                if (userOpt.isEmpty()) {
-                    // Try finding by email if username didn't work
-                    userOpt = userService.findAllUsers().stream()
-                            .filter(u -> u.getEmail().equals(loginId))
-                            .findFirst();
-                }
+            // Login goes through the session store, which also expires idle sessions
+            User user;
+            try {
+                user = authService.login(loginId, password);
+            } catch (AuthenticationException e) {
+                System.out.println("❌ Login failed: " + e.getMessage());
+                System.out.println("💡 Please check your username/email and password");
+                return;
+            }
 
-                if (userOpt.isPresent() && userOpt.get().getRole() == UserRole.PATIENT) {
-                    currentUser = userOpt.get();
-                    isLoggedIn = true;
-                    System.out.println("✅ Login successful!");
-                    System.out.println("👋 Welcome back, " + currentUser.getUsername() + "!");
-                } else {
-                    System.out.println("❌ Access denied: Not a patient account");
-                }
+            if (user.getRole() == UserRole.PATIENT) {
+                currentUser = user;
+                RoleIdentityResolver.onLogin(currentUser);
+                System.out.println("✅ Login successful!");
+                System.out.println("👋 Welcome back, " + currentUser.getUsername() + "!");
             } else {
-                System.out.println("❌ Login failed: Invalid credentials");
-                System.out.println("💡 Please check your username/email and password");
+                endSession(user);
+                System.out.println("❌ Access denied: Not a patient account");
             }
 
         } catch (Exception e) {
@@ -151,11 +152,34 @@ public class PatientMenuUI {
     private void handleLogout() {
         System.out.println("\n🔄 Logging out...");
         System.out.println("👋 Goodbye, " + (currentUser != null ? currentUser.getUsername() : "User") + "!");
+        if (currentUser != null) {
+            endSession(currentUser);
+        }
         currentUser = null;
-        isLoggedIn = false;
         System.out.println("✅ Logged out successfully!");
     }
 
+    // The session store decides whether the user is still logged in; an idle session expires there
+    private boolean isLoggedIn() {
+        if (currentUser == null) {
+            return false;
+        }
+        if (!authService.isAuthenticated(currentUser.getUsername())) {
+            System.out.println("⌛ Your session has expired. Please login again.");
+            currentUser = null;
+            return false;
+        }
+        return true;
+    }
+
+    private void endSession(User user) {
+        try {
+            authService.logout(user.getUsername());
+        } catch (AuthenticationException e) {
+            // Already expired
+        }
+    }
+
     private void handleRegistration() {
         System.out.println("\n📝 PATIENT REGISTRATION");
         System.out.println("=" .repeat(30));
@@ -237,17 +261,17 @@ public class PatientMenuUI {
         System.out.println("=" .repeat(25));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
-            // ✅ FIX: Get the actual patient ID from database
+            // user_id → patient_id
             Long userId = currentUser.getId();
             System.out.println("🔍 Debug: User ID = " + userId);
 
-            // Query to get the actual patient ID
-            Long patientId = getPatientIdFromDatabase(userId);
+            // Resolved once at login and cached
+            Long patientId = patientController.resolvePatientId(userId);
             if (patientId == null) {
                 System.out.println("❌ Patient record not found for user ID: " + userId);
                 return;
@@ -304,49 +328,86 @@ public class PatientMenuUI {
                         doctor.getSpecialization(), doctor.getConsultationFee());
             }
 
-            int doctorChoice = input.getInt("Select doctor (1-" + doctors.size() + "): ", 1, doctors.size());
-            Doctor selectedDoctor = doctors.get(doctorChoice - 1);
+            System.out.println("0. ⚡ Earliest available with any doctor");
 
-            // Step 3: Select Date
-            System.out.println("\n📅 STEP 3: Select Appointment Date");
-            LocalDate appointmentDate = getDateInput("Enter appointment date (YYYY-MM-DD): ");
+            int doctorChoice = input.getInt("Select doctor (0-" + doctors.size() + "): ", 0, doctors.size());
+            Doctor selectedDoctor;
+            LocalDate appointmentDate;
+            LocalTime selectedTime;
+            if (doctorChoice == 0) {
+                AvailableSlot earliest = chooseEarliestSlot(selectedDept);
+                if (earliest == null) {
+                    return;
+                }
+                selectedDoctor = earliest.getDoctor();
+                appointmentDate = earliest.getDate();
+                selectedTime = earliest.getTime();
+            } else {
+                selectedDoctor = doctors.get(doctorChoice - 1);
+
+                // Step 3: Select Date
+                System.out.println("\n📅 STEP 3: Select Appointment Date");
+                appointmentDate = getDateInput("Enter appointment date (YYYY-MM-DD): ");
+
+                // Step 4: Select Time Slot
+                System.out.println("\n⏰ STEP 4: Select Time Slot");
+                CommandResult slotsResult = patientController.getBookingOverview(patientId, selectedDoctor.getId(), appointmentDate);
+                if (!slotsResult.isSuccess()) {
+                    System.out.println("❌ " + slotsResult.getMessage());
+                    return;
+                }
 
-            // Step 4: Select Time Slot
-            System.out.println("\n⏰ STEP 4: Select Time Slot");
-            CommandResult slotsResult = patientController.getAvailableTimeSlots(selectedDoctor.getId(), appointmentDate);
-            if (!slotsResult.isSuccess()) {
-                System.out.println("❌ " + slotsResult.getMessage());
-                return;
-            }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> overview = (Map<String, Object>) slotsResult.getData();
+                if (overview.get("doctor") != null) {
+                    selectedDoctor = (Doctor) overview.get("doctor"); // picks up a fee changed since step 2
+                }
 
-            @SuppressWarnings("unchecked")
-            List<LocalTime> availableSlots = (List<LocalTime>) slotsResult.getData();
+                @SuppressWarnings("unchecked")
+                List<LocalTime> availableSlots = (List<LocalTime>) overview.get("slots");
 
-            if (availableSlots.isEmpty()) {
-                System.out.println("❌ No time slots available for the selected date");
-                return;
-            }
+                @SuppressWarnings("unchecked")
+                List<Bill> bills = (List<Bill>) overview.get("bills");
+                long pendingBills = bills.stream().filter(Bill::isPending).count();
+                if (pendingBills > 0) {
+                    System.out.println("💳 Note: you have " + pendingBills + " pending bill(s)");
+                }
 
-            System.out.println("\nAvailable Time Slots:");
-            for (int i = 0; i < availableSlots.size(); i++) {
-                LocalTime slot = availableSlots.get(i);
-                System.out.printf("%d. %s%n", i + 1, slot.toString());
-            }
+                if (availableSlots.isEmpty()) {
+                    System.out.println("❌ No time slots available for the selected date");
+                    offerWaitlist(patientId, selectedDoctor, appointmentDate);
+                    return;
+                }
 
-            int timeChoice = input.getInt("Select time slot (1-" + availableSlots.size() + "): ", 1, availableSlots.size());
-            LocalTime selectedTime = availableSlots.get(timeChoice - 1);
+                System.out.println("\nAvailable Time Slots:");
+                for (int i = 0; i < availableSlots.size(); i++) {
+                    LocalTime slot = availableSlots.get(i);
+                    System.out.printf("%d. %s%n", i + 1, slot.toString());
+                }
+
+                int timeChoice = input.getInt("Select time slot (1-" + availableSlots.size() + "): ", 1, availableSlots.size());
+                selectedTime = availableSlots.get(timeChoice - 1);
+            }
 
             // Step 5: Enter reason (optional)
             String reason = input.getString("\n📝 Reason for appointment (optional): ");
             if (reason.trim().isEmpty()) reason = null;
 
+            // Weekly treatments (physiotherapy, dialysis) book the whole course in one go
+            int maxWeeks = AppConfig.getInstance().getSeriesMaxOccurrences();
+            int weeks = input.getInt("🔁 Repeat weekly for how many weeks? (1 = this visit only, max "
+                    + maxWeeks + "): ", 1, maxWeeks);
+
             // Step 6: Show bill summary
-            BigDecimal consultationFee = selectedDoctor.getConsultationFee();
+            BigDecimal consultationFee = selectedDoctor.getConsultationFee().multiply(BigDecimal.valueOf(weeks));
             BigDecimal taxAmount = consultationFee.multiply(BigDecimal.valueOf(0.18));
             BigDecimal totalAmount = consultationFee.add(taxAmount);
 
             System.out.println("\n💰 BILL SUMMARY:");
             System.out.println("═".repeat(40));
+            if (weeks > 1) {
+                System.out.println("Sessions:         up to " + weeks + " (taken weeks are skipped and not charged)");
+            }
             System.out.println("Consultation Fee: ₹" + consultationFee);
             System.out.println("Tax (18%):        ₹" + taxAmount);
             System.out.println("─".repeat(40));
@@ -393,6 +454,11 @@ public class PatientMenuUI {
 
             // Process appointment with payment using the correct patientId
             System.out.println("\n🔄 Processing appointment and payment...");
+            if (weeks > 1) {
+                showSeriesResult(patientController.bookWeeklySeriesWithPayment(patientId, selectedDoctor.getId(),
+                        appointmentDate, selectedTime, weeks, reason, selectedPaymentMethod), selectedDoctor, paymentMethodName);
+                return;
+            }
             CommandResult result = patientController.bookAppointmentWithPayment(patientId, selectedDoctor.getId(),
                     appointmentDate, selectedTime, reason, selectedPaymentMethod);
 
@@ -424,24 +490,79 @@ public class PatientMenuUI {
         }
     }
 
-    // ✅ ADD THIS HELPER METHOD:
-    private Long getPatientIdFromDatabase(Long userId) {
-        try {
-            String sql = "SELECT p.id FROM patients p WHERE p.user_id = ?";
-            try (java.sql.Connection conn = com.hospital.management.common.config.DatabaseConfig.getConnection();
-                 java.sql.PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Department-wide search: the earliest free slots with any doctor, one pick away
+     */
+    private AvailableSlot chooseEarliestSlot(Department department) {
+        System.out.println("\n⚡ Searching every doctor in " + department.getName() + "...");
+        CommandResult result = patientController.findEarliestAvailable(department.getId(), EARLIEST_OPTIONS);
+        if (!result.isSuccess()) {
+            System.out.println("❌ " + result.getMessage());
+            return null;
+        }
 
-                stmt.setLong(1, userId);
-                java.sql.ResultSet rs = stmt.executeQuery();
+        @SuppressWarnings("unchecked")
+        List<AvailableSlot> options = (List<AvailableSlot>) result.getData();
+        if (options.isEmpty()) {
+            System.out.println("❌ No free slots in this department within the booking window");
+            return null;
+        }
 
-                if (rs.next()) {
-                    return rs.getLong("id");
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Database error getting patient ID: " + e.getMessage());
+        System.out.println("\nEarliest Available:");
+        for (int i = 0; i < options.size(); i++) {
+            AvailableSlot option = options.get(i);
+            Doctor doctor = option.getDoctor();
+            System.out.printf("%d. %s at %s - Dr. %s %s (Fee: ₹%s)%n", i + 1, option.getDate(), option.getTime(),
+                    doctor.getFirstName(), doctor.getLastName(), doctor.getConsultationFee());
+        }
+        int choice = input.getInt("Select slot (1-" + options.size() + "): ", 1, options.size());
+        return options.get(choice - 1);
+    }
+
+    private void showSeriesResult(CommandResult result, Doctor doctor, String paymentMethodName) {
+        if (!result.isSuccess()) {
+            System.out.println("❌ " + result.getMessage());
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> data = (Map<String, Object>) result.getData();
+        SeriesBooking series = (SeriesBooking) data.get("series");
+        Bill bill = (Bill) data.get("bill");
+
+        System.out.println("✅ " + result.getMessage());
+        System.out.println("\n📋 APPOINTMENT SERIES CONFIRMATION");
+        System.out.println("═".repeat(40));
+        System.out.println("👨‍⚕️ Doctor: Dr. " + doctor.getFirstName() + " " + doctor.getLastName());
+        for (Appointment appointment : series.getBooked()) {
+            System.out.println("📅 #" + appointment.getId() + ": " + appointment.getAppointmentDate()
+                    + " at " + appointment.getAppointmentTime());
         }
-        return null;
+        series.getConflicts().forEach((date, why) -> System.out.println("⚠️ " + date + " not booked: " + why));
+        System.out.println("💳 Payment Method: " + paymentMethodName);
+        System.out.println("💰 Amount Paid: ₹" + bill.getFinalAmount());
+        System.out.println("═".repeat(40));
+    }
+
+    /**
+     * Fully booked day: let the patient wait for a cancellation instead of checking back
+     */
+    private void offerWaitlist(Long patientId, Doctor doctor, LocalDate appointmentDate) {
+        String answer = input.getString("🕒 Join the waitlist for this day? A freed slot is booked for you automatically (y/n): ");
+        if (!answer.trim().equalsIgnoreCase("y")) {
+            return;
+        }
+
+        WaitlistUrgency[] urgencies = WaitlistUrgency.values();
+        for (int i = 0; i < urgencies.length; i++) {
+            System.out.printf("%d. %s - %s%n", i + 1, urgencies[i].getDisplayName(), urgencies[i].getDescription());
+        }
+        int urgencyChoice = input.getInt("Select urgency (1-" + urgencies.length + "): ", 1, urgencies.length);
+        String reason = input.getString("📝 Reason for appointment (optional): ");
+        if (reason.trim().isEmpty()) reason = null;
+
+        CommandResult result = patientController.joinWaitlist(patientId, doctor.getId(), appointmentDate,
+                urgencies[urgencyChoice - 1], reason);
+        System.out.println((result.isSuccess() ? "✅ " : "❌ ") + result.getMessage());
     }
 
     // ... REST OF YOUR EXISTING METHODS REMAIN THE SAME ...
@@ -451,7 +572,7 @@ public class PatientMenuUI {
         System.out.println("═".repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -459,6 +580,14 @@ public class PatientMenuUI {
             Long patientId = currentUser.getId();
             System.out.println("🔍 Fetching your appointments...");
 
+            Long waitlistPatientId = patientController.resolvePatientId(patientId);
+            if (waitlistPatientId != null) {
+                for (Appointment filled : patientController.getWaitlistFills(waitlistPatientId)) {
+                    System.out.printf("🎉 A slot opened up: booked %s at %s from the waitlist (bill pending)%n",
+                            filled.getAppointmentDate(), filled.getAppointmentTime());
+                }
+            }
+
             // Call PatientController to view appointments
             CommandResult result = patientController.viewAppointments(patientId);
 
@@ -469,7 +598,7 @@ public class PatientMenuUI {
                 // Extract and display appointments from result data
                 if (result.getData() != null) {
                     @SuppressWarnings("unchecked")
-                    List<Appointment> appointments = (List<Appointment>) result.getData();
+                    List<AppointmentSummary> appointments = (List<AppointmentSummary>) result.getData();
 
                     if (appointments.isEmpty()) {
                         System.out.println("📋 No appointments found.");
@@ -488,15 +617,15 @@ public class PatientMenuUI {
     }
 
     // ADD THIS NEW METHOD to display appointment details
-    private void displayAppointmentDetails(List<Appointment> appointments) {
+    private void displayAppointmentDetails(List<AppointmentSummary> appointments) {
         System.out.println("\n📅 YOUR APPOINTMENTS (" + appointments.size() + " found)");
         System.out.println("═".repeat(80));
 
         for (int i = 0; i < appointments.size(); i++) {
-            Appointment apt = appointments.get(i);
+            AppointmentSummary apt = appointments.get(i);
             System.out.printf("%d. 🏥 Appointment ID: %d%n", (i + 1), apt.getId());
             System.out.printf("   📅 Date: %s at %s%n", apt.getAppointmentDate(), apt.getAppointmentTime());
-            System.out.printf("   👨‍⚕️ Doctor ID: %d%n", apt.getDoctorId());
+            System.out.printf("   👨‍⚕️ Doctor: Dr. %s (ID: %d)%n", apt.getDoctorName(), apt.getDoctorId());
             System.out.printf("   📋 Status: %s%n", apt.getStatus());
             System.out.printf("   📝 Reason: %s%n", apt.getReason() != null ? apt.getReason() : "Not specified");
             System.out.printf("   🗓️ Created: %s%n", apt.getCreatedAt() != null ? apt.getCreatedAt().toLocalDate() : "N/A");
@@ -523,7 +652,7 @@ public class PatientMenuUI {
         System.out.println("=" .repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -647,14 +776,14 @@ public class PatientMenuUI {
         System.out.println("═".repeat(30));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
 
-            // ✅ FIX: Get the actual patient ID from database (same as appointments)
+            // user_id → patient_id, resolved once at login and cached
             Long userId = currentUser.getId();
-            Long patientId = getPatientIdFromDatabase(userId);  // Convert user_id → patient_id
+            Long patientId = patientController.resolvePatientId(userId);  // Convert user_id → patient_id
 
             if (patientId == null) {
                 System.out.println("❌ Patient record not found for user ID " + userId);
@@ -671,7 +800,7 @@ public class PatientMenuUI {
                 Map<String, Object> data = (Map<String, Object>) result.getData();
 
                 @SuppressWarnings("unchecked")
-                List<Bill> bills = (List<Bill>) data.get("bills");
+                List<BillSummary> bills = (List<BillSummary>) data.get("bills");
                 @SuppressWarnings("unchecked")
                 List<Payment> payments = (List<Payment>) data.get("payments");
 
@@ -685,7 +814,7 @@ public class PatientMenuUI {
         }
     }
 
-    private void displayBillsAndPayments(List<Bill> bills, List<Payment> payments) {
+    private void displayBillsAndPayments(List<BillSummary> bills, List<Payment> payments) {
         System.out.println("\n" + "═".repeat(90));
         System.out.println("💰 YOUR BILLS & PAYMENTS SUMMARY");
         System.out.println("═".repeat(90));
@@ -696,12 +825,12 @@ public class PatientMenuUI {
         } else {
             System.out.println("\n💳 BILLS:");
             System.out.println("─".repeat(90));
-            System.out.printf("%-4s %-10s %-12s %-10s %-10s %-12s %-15s %-15s%n",
-                    "ID", "Total", "Tax", "Discount", "Final", "Status", "Bill Date", "Due Date");
+            System.out.printf("%-4s %-10s %-12s %-10s %-10s %-12s %-15s %-15s %-20s%n",
+                    "ID", "Total", "Tax", "Discount", "Final", "Status", "Bill Date", "Due Date", "Doctor");
             System.out.println("─".repeat(90));
 
-            for (Bill bill : bills) {
-                System.out.printf("%-4s %-10s %-12s %-10s %-10s %-12s %-15s %-15s%n",
+            for (BillSummary bill : bills) {
+                System.out.printf("%-4s %-10s %-12s %-10s %-10s %-12s %-15s %-15s %-20s%n",
                         bill.getId(),
                         "₹" + bill.getTotalAmount(),
                         "₹" + bill.getTaxAmount(),
@@ -709,7 +838,8 @@ public class PatientMenuUI {
                         "₹" + bill.getFinalAmount(),
                         bill.getStatus(),
                         bill.getBillDate(),
-                        bill.getDueDate());
+                        bill.getDueDate(),
+                        bill.getDoctorName() != null ? "Dr. " + bill.getDoctorName() : "N/A");
             }
             System.out.println("─".repeat(90));
         }
@@ -778,7 +908,7 @@ public class PatientMenuUI {
         System.out.println("=" .repeat(25));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
@@ -876,7 +1006,7 @@ public class PatientMenuUI {
         System.out.println("─".repeat(20));
 
         try {
-            if (!isLoggedIn || currentUser == null) {
+            if (!isLoggedIn()) {
                 System.out.println("❌ Please login first");
                 return;
             }
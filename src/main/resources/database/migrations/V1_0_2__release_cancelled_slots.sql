@@ -0,0 +1,16 @@
+-- Hospital Management System - Release Cancelled Appointment Slots
+
+-- Version: 1.0.2
+-- Description: Only appointments that still hold their slot take part in unique_doctor_datetime
+-- Dependencies: V1_0_0__create_base_schema.sql
+-- Note: slot_held is NULL for CANCELLED, NO_SHOW and RESCHEDULED rows. NULLs never collide in a unique key,
+--       so a released slot can be booked again while the released row stays behind as history.
+
+ALTER TABLE appointments
+    ADD COLUMN slot_held TINYINT AS (IF(status IN ('CANCELLED', 'NO_SHOW', 'RESCHEDULED'), NULL, 1)) VIRTUAL;
+
+ALTER TABLE appointments
+    DROP INDEX unique_doctor_datetime,
+    ADD UNIQUE KEY unique_doctor_datetime (doctor_id, appointment_date, appointment_time, slot_held);
+
+-- Migration completed successfully
@@ -0,0 +1,43 @@
+package com.hospital.management.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountingBloomFilterTest {
+
+    @Test
+    @DisplayName("Added values are always reported; false positives stay near the target rate")
+    public void testNoFalseNegatives() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Removed values are no longer reported; others are unaffected")
+    public void testRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+        filter.add("alice");
+        filter.add("bob");
+        filter.add("bob");
+
+        filter.remove("alice");
+        filter.remove("bob");
+
+        assertFalse(filter.mightContain("alice"));
+        assertTrue(filter.mightContain("bob"), "Added twice, removed once");
+    }
+}
@@ -0,0 +1,87 @@
+package com.hospital.management.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
+
+public class EntityCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicLong rowVersion = new AtomicLong(1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger versionChecks = new AtomicInteger();
+
+    private EntityCache.Versioned<String> load(long id) {
+        loads.incrementAndGet();
+        return new EntityCache.Versioned<>("row" + id + "v" + rowVersion.get(), rowVersion.get());
+    }
+
+    private Long version(long id) {
+        versionChecks.incrementAndGet();
+        return rowVersion.get();
+    }
+
+    @Test
+    @DisplayName("Old entries are kept while updated_at matches and reloaded once it changes")
+    public void testRevalidatesAgainstVersion() {
+        EntityCache<String> cache = new EntityCache<>("test", 10, 1000,
+                EntityCache.EvictionPolicy.LRU, UnaryOperator.identity(), now::get);
+
+        assertEquals("row1v1", cache.get(1, this::load, this::version));
+        assertEquals("row1v1", cache.get(1, this::load, this::version));
+        assertEquals(0, versionChecks.get(), "Fresh entries are served without a query");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("row1v1", cache.get(1, this::load, this::version));
+        assertEquals(1, versionChecks.get());
+        assertEquals(1, loads.get());
+
+        rowVersion.set(2);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("row1v2", cache.get(1, this::load, this::version));
+        assertEquals(2, loads.get());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    @DisplayName("FIFO evicts the first loaded entry even if it was read recently")
+    public void testFifoEviction() {
+        EntityCache<String> cache = new EntityCache<>("test", 2, 60_000,
+                EntityCache.EvictionPolicy.FIFO, UnaryOperator.identity(), now::get);
+
+        cache.get(1, this::load, this::version);
+        cache.get(2, this::load, this::version);
+        cache.get(1, this::load, this::version);
+        cache.get(3, this::load, this::version);
+        cache.get(1, this::load, this::version);
+
+        assertEquals(4, loads.get(), "1 was loaded first, so it was evicted");
+        assertEquals(2, cache.getStats().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Callers get copies, so an unsaved edit never reaches the next reader")
+    public void testReturnsCopies() {
+        EntityCache<StringBuilder> cache = new EntityCache<>("test", 10, 60_000,
+                EntityCache.EvictionPolicy.LRU, StringBuilder::new, now::get);
+        LongFunction<EntityCache.Versioned<StringBuilder>> loader =
+                id -> new EntityCache.Versioned<>(new StringBuilder("row" + id), 1);
+
+        StringBuilder first = cache.get(1, loader, this::version);
+        first.append(" edited");
+        StringBuilder second = cache.get(1, loader, this::version);
+
+        assertEquals("row1", second.toString());
+        assertNotSame(first, second);
+        assertEquals(1, cache.getStats().getHits());
+    }
+}
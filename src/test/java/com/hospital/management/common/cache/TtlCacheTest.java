@@ -0,0 +1,85 @@
+package com.hospital.management.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key.toUpperCase();
+    }
+
+    @Test
+    @DisplayName("Entries are served until the TTL passes, then reloaded")
+    public void testExpiresAfterTtl() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 1000, 10, now::get);
+
+        assertEquals("A", cache.get("a", this::load));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals("A", cache.get("a", this::load));
+        assertEquals(1, loads.get());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        cache.get("a", this::load);
+        assertEquals(2, loads.get());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    @DisplayName("Least recently used entries are evicted past the size bound")
+    public void testEvictsLeastRecentlyUsed() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 60_000, 2, now::get);
+
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getEvictions());
+        cache.get("a", this::load);
+        assertEquals(3, loads.get(), "'a' was used recently and should still be cached");
+    }
+
+    @Test
+    @DisplayName("Invalidation during a load keeps the stale value out of the cache")
+    public void testInvalidateDuringLoad() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 60_000, 10, now::get);
+
+        cache.get("a", key -> {
+            cache.invalidateAll();
+            return load(key);
+        });
+        cache.get("a", this::load);
+
+        assertEquals(2, loads.get());
+        assertNull(cache.get("missing", key -> null));
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    @DisplayName("Update replaces cached values only and keeps their expiry")
+    public void testUpdateInPlace() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 1000, 10, now::get);
+
+        assertFalse(cache.update("a", value -> value + "!"), "Nothing cached yet");
+        cache.get("a", this::load);
+        assertTrue(cache.update("a", value -> value + "!"));
+        assertEquals("A!", cache.get("a", this::load));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals("A", cache.get("a", this::load));
+    }
+}
@@ -0,0 +1,68 @@
+package com.hospital.management.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedExecutorTest {
+
+    @Test
+    @DisplayName("No more tasks run at once than the limit, even with more threads")
+    public void testLimitsConcurrency() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            BoundedExecutor executor = new BoundedExecutor(pool, 3);
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                int n = i;
+                results.add(executor.supply(() -> {
+                    sleep(10);
+                    return n;
+                }));
+            }
+
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).join());
+            }
+            assertTrue(executor.getPeakRunning() <= 3, "Peak was " + executor.getPeakRunning());
+            assertEquals(0, executor.getRunning());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A failing task completes its future exceptionally and frees its permit")
+    public void testFailureReleasesPermit() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            BoundedExecutor executor = new BoundedExecutor(pool, 1);
+            CompletableFuture<String> failed = executor.supply(() -> {
+                throw new IllegalStateException("boom");
+            });
+
+            CompletionException e = assertThrows(CompletionException.class, failed::join);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("ok", executor.supply(() -> "ok").get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hospital.management.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class StripedLockTest {
+
+    @Test
+    @DisplayName("The same key blocks until released and the wait is recorded")
+    public void testSameKeyExcludes() throws Exception {
+        StripedLock<String> locks = new StripedLock<>("test", 16);
+        CountDownLatch acquired = new CountDownLatch(1);
+        AtomicBoolean entered = new AtomicBoolean();
+
+        StripedLock.Handle held = locks.lock("doctor-1");
+        Thread other = new Thread(() -> {
+            try (StripedLock.Handle ignored = locks.lock("doctor-1")) {
+                entered.set(true);
+                acquired.countDown();
+            }
+        });
+        other.start();
+
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS), "Second caller must wait");
+        held.close();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        other.join();
+
+        assertTrue(entered.get());
+        LockStats stats = locks.getStats();
+        assertEquals(2, stats.getAcquisitions());
+        assertEquals(1, stats.getContended());
+        assertTrue(stats.getMaxWaitNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Locking several keys takes each stripe once and releases them all")
+    public void testLockAll() {
+        StripedLock<Integer> locks = new StripedLock<>("test", 4);
+
+        try (StripedLock.Handle ignored = locks.lockAll(List.of(1, 2, 3, 4, 5, 1))) {
+            try (StripedLock.Handle reentrant = locks.lock(5)) {
+                assertEquals(0, reentrant.getWaitNanos(), "Stripes are reentrant for their owner");
+            }
+        }
+
+        Thread other = new Thread(() -> locks.lockAll(List.of(1, 2, 3, 4, 5)).close());
+        other.start();
+        assertDoesNotThrow(() -> other.join(5000));
+        assertFalse(other.isAlive(), "Every stripe was released");
+    }
+}
@@ -0,0 +1,101 @@
+package com.hospital.management.common.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+public class BatchWriterTest {
+
+    private static final class Row {
+        final String name;
+        Long id;
+
+        Row(String name) {
+            this.name = name;
+        }
+    }
+
+    private final BatchWriter<Row> writer = new BatchWriter<>("INSERT INTO rows (name) VALUES (?)",
+            (stmt, row) -> stmt.setString(1, row.name.trim()), (row, id) -> row.id = id);
+
+    @Test
+    @DisplayName("Rows are written in chunks and get their generated keys")
+    public void testChunkedInsert() throws Exception {
+        RecordingConnection physical = new RecordingConnection();
+        List<Row> rows = List.of(new Row("a"), new Row("b"), new Row("c"));
+
+        BatchResult<Row> result;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            result = writer.insertAll(rows, 2);
+            unitOfWork.commit();
+        }
+
+        assertFalse(result.hasFailures());
+        assertEquals(List.of("a", "b", "c"), physical.written);
+        assertEquals(List.of(100L, 101L, 102L), result.getCreated().stream().map(row -> row.id).toList());
+        assertEquals(2, physical.count("setSavepoint"), "One savepoint per chunk");
+        assertEquals(0, physical.count("rollbackToSavepoint"));
+        assertEquals(1, physical.count("commit"));
+    }
+
+    @Test
+    @DisplayName("A failed chunk is rolled back to its savepoint and retried row by row")
+    public void testFailedChunkRetriedRowByRow() throws Exception {
+        RecordingConnection physical = new RecordingConnection(Set.of("dup"));
+        List<Row> rows = List.of(new Row("a"), new Row("dup"), new Row("c"), new Row("d"));
+
+        BatchResult<Row> result;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            result = writer.insertAll(rows, 3);
+            unitOfWork.commit();
+        }
+
+        assertEquals(1, physical.count("rollbackToSavepoint"), "Only the chunk holding the bad row is retried");
+        assertEquals(List.of("a", "c", "d"), physical.written);
+        assertEquals(3, result.getCreatedCount());
+        assertEquals(1, result.getFailedCount());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertTrue(result.getFailures().get(0).getReason().contains("Duplicate entry"));
+        assertNull(rows.get(1).id);
+        assertNotNull(rows.get(3).id);
+    }
+
+    @Test
+    @DisplayName("A row the server rejects is reported with the writer's reason for it")
+    public void testRejectionReason() throws Exception {
+        BatchWriter<Row> slotWriter = new BatchWriter<>("INSERT INTO rows (name) VALUES (?)",
+                (stmt, row) -> stmt.setString(1, row.name), (row, id) -> row.id = id,
+                e -> e.getErrorCode() == 1062 ? "Slot already taken" : e.getMessage());
+        RecordingConnection physical = new RecordingConnection(Set.of("dup"));
+
+        BatchResult<Row> result;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            result = slotWriter.insertAll(List.of(new Row("a"), new Row("dup")), 10);
+            unitOfWork.commit();
+        }
+
+        assertEquals(1, result.getCreatedCount());
+        assertEquals("Slot already taken", result.getFailures().get(0).getReason());
+    }
+
+    @Test
+    @DisplayName("A row that cannot be bound is rejected without failing its chunk")
+    public void testUnbindableRowRejected() throws Exception {
+        RecordingConnection physical = new RecordingConnection();
+        List<Row> rows = List.of(new Row("a"), new Row(null), new Row("c"));
+
+        BatchResult<Row> result;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            result = writer.insertAll(rows, 10);
+            unitOfWork.commit();
+        }
+
+        assertEquals(List.of("a", "c"), physical.written);
+        assertEquals(0, physical.count("rollbackToSavepoint"));
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertTrue(result.getFailures().get(0).getReason().startsWith("Invalid row"));
+    }
+}
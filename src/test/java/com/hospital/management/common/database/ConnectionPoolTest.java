@@ -0,0 +1,72 @@
+package com.hospital.management.common.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConnectionPoolTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private Connection fakeConnection() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        opened.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> { closed.set(true); yield null; }
+                    case "isClosed" -> closed.get();
+                    case "isValid", "getAutoCommit" -> true;
+                    case "isReadOnly" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private ConnectionPool newPool(int min, int max, long borrowTimeoutMillis) {
+        return new ConnectionPool(this::fakeConnection, min, max, borrowTimeoutMillis,
+                true, 1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Closing a pooled connection returns it for reuse")
+    public void testConnectionIsReused() throws Exception {
+        ConnectionPool pool = newPool(0, 2, 100);
+
+        Connection first = pool.getConnection();
+        assertEquals(1, pool.getStats().getActive());
+        first.close();
+        assertTrue(first.isClosed(), "Returned proxy should report closed");
+
+        Connection second = pool.getConnection();
+        second.close();
+
+        assertEquals(1, opened.get(), "Physical connection should be reused");
+        assertEquals(1, pool.getStats().getIdle());
+        assertEquals(2, pool.getStats().getTotalBorrowed());
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Borrowing from an exhausted pool times out")
+    public void testBorrowTimeout() throws Exception {
+        ConnectionPool pool = newPool(1, 1, 50);
+        assertEquals(1, pool.getStats().getIdle(), "Pool should pre-open its minimum size");
+
+        try (Connection held = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, pool::getConnection);
+            assertEquals(1, pool.getStats().getBorrowTimeouts());
+        }
+
+        assertEquals(0, pool.getStats().getActive());
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,17 @@
+package com.hospital.management.common.database;
+
+import java.sql.SQLException;
+
+/**
+ * Opens units of work on a RecordingConnection for tests outside this
+ * package, so services can run their transactional paths without a database.
+ */
+public final class InMemoryTransactions {
+
+    private InMemoryTransactions() {
+    }
+
+    public static UnitOfWork begin() throws SQLException {
+        return UnitOfWork.begin(new RecordingConnection()::connection);
+    }
+}
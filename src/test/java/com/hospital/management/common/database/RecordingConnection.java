@@ -0,0 +1,133 @@
+package com.hospital.management.common.database;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory Connection that records the transaction calls made on it.
+ * Its prepared statements accept a single parameter per row, hand out
+ * increasing generated keys, and fail like a unique key violation for any
+ * row whose parameter is in the rejected set.
+ */
+final class RecordingConnection {
+
+    final List<String> calls = new ArrayList<>();
+    final List<Object> written = new ArrayList<>();
+    private final Set<Object> rejected;
+    private long nextKey = 100;
+
+    RecordingConnection(Set<Object> rejected) {
+        this.rejected = rejected;
+    }
+
+    RecordingConnection() {
+        this(Set.of());
+    }
+
+    int count(String call) {
+        return (int) calls.stream().filter(call::equals).count();
+    }
+
+    Connection connection() {
+        Savepoint savepoint = (Savepoint) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Savepoint.class}, (proxy, method, args) -> null);
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("rollback") && args != null) {
+                        name = "rollbackToSavepoint";
+                    }
+                    calls.add(name);
+                    switch (name) {
+                        case "prepareStatement":
+                            return statement();
+                        case "setSavepoint":
+                            return savepoint;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private PreparedStatement statement() {
+        Object[] parameter = new Object[1];
+        List<Object> batch = new ArrayList<>();
+        List<Object> keys = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setString":
+                        case "setObject":
+                            parameter[0] = args[1];
+                            return null;
+                        case "clearParameters":
+                            parameter[0] = null;
+                            return null;
+                        case "addBatch":
+                            batch.add(parameter[0]);
+                            return null;
+                        case "clearBatch":
+                            batch.clear();
+                            return null;
+                        case "executeBatch": {
+                            List<Object> rows = new ArrayList<>(batch);
+                            batch.clear();
+                            keys.clear();
+                            for (Object row : rows) {
+                                if (rejected.contains(row)) {
+                                    throw duplicate(row);
+                                }
+                            }
+                            int[] counts = new int[rows.size()];
+                            for (int i = 0; i < rows.size(); i++) {
+                                written.add(rows.get(i));
+                                keys.add(nextKey++);
+                                counts[i] = 1;
+                            }
+                            return counts;
+                        }
+                        case "executeUpdate":
+                            keys.clear();
+                            if (rejected.contains(parameter[0])) {
+                                throw duplicate(parameter[0]);
+                            }
+                            written.add(parameter[0]);
+                            keys.add(nextKey++);
+                            return 1;
+                        case "getGeneratedKeys": {
+                            Object[][] rows = new Object[keys.size()][];
+                            for (int i = 0; i < rows.length; i++) {
+                                rows[i] = new Object[]{keys.get(i)};
+                            }
+                            return SyntheticResultSet.of(new String[]{"GENERATED_KEY"}, rows);
+                        }
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static SQLException duplicate(Object row) {
+        return new SQLIntegrityConstraintViolationException(
+                "Duplicate entry '" + row + "' for key 'unique_doctor_datetime'", "23000", 1062);
+    }
+}
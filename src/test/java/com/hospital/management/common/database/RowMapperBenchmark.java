@@ -0,0 +1,115 @@
+package com.hospital.management.common.database;
+
+import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.models.Appointment;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows/sec for mapping appointments by column name (the old mapResultSetTo* style)
+ * versus RowMapper positions, over a synthetic in-memory ResultSet.
+ * Not a unit test; run it directly:
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes com.hospital.management.common.database.RowMapperBenchmark
+ * </pre>
+ */
+public final class RowMapperBenchmark {
+
+    private static final String[] LABELS = {"id", "patient_id", "doctor_id", "appointment_date",
+            "appointment_time", "status", "reason", "notes", "created_at", "updated_at"};
+    private static final int ROWS = 200_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    private static final EnumCodec<AppointmentStatus> STATUS = new EnumCodec<>(AppointmentStatus.class);
+    private static final RowMapper<Appointment> MAPPER = new RowMapper<>(LABELS, Appointment::new,
+            (rs, c, appointment) -> {
+                appointment.setId(rs.getLong(c[0]));
+                appointment.setPatientId(rs.getLong(c[1]));
+                appointment.setDoctorId(rs.getLong(c[2]));
+                appointment.setAppointmentDate(rs.getDate(c[3]).toLocalDate());
+                appointment.setAppointmentTime(rs.getTime(c[4]).toLocalTime());
+                appointment.setStatus(STATUS.decode(rs.getString(c[5])));
+                appointment.setReason(rs.getString(c[6]));
+                appointment.setNotes(rs.getString(c[7]));
+                appointment.setCreatedAt(rs.getTimestamp(c[8]).toLocalDateTime());
+                appointment.setUpdatedAt(rs.getTimestamp(c[9]).toLocalDateTime());
+            });
+
+    private interface Mapping {
+        void run(ResultSet rs, List<Appointment> out) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Object[][] rows = syntheticRows();
+
+        double byName = measure("by name + valueOf", rows, RowMapperBenchmark::mapByName);
+        double byPosition = measure("RowMapper", rows, MAPPER::mapAll);
+
+        System.out.printf("Speed-up: %.2fx%n", byPosition / byName);
+    }
+
+    // Equivalent of the per-row name lookups the DAOs used before RowMapper
+    private static void mapByName(ResultSet rs, List<Appointment> out) throws SQLException {
+        while (rs.next()) {
+            Appointment appointment = new Appointment();
+            appointment.setId(rs.getLong("id"));
+            appointment.setPatientId(rs.getLong("patient_id"));
+            appointment.setDoctorId(rs.getLong("doctor_id"));
+            appointment.setAppointmentDate(rs.getDate("appointment_date").toLocalDate());
+            appointment.setAppointmentTime(rs.getTime("appointment_time").toLocalTime());
+            appointment.setStatus(AppointmentStatus.valueOf(rs.getString("status")));
+            appointment.setReason(rs.getString("reason"));
+            appointment.setNotes(rs.getString("notes"));
+            appointment.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+            appointment.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+            out.add(appointment);
+        }
+    }
+
+    private static double measure(String name, Object[][] rows, Mapping mapping) throws SQLException {
+        List<Appointment> out = new ArrayList<>(ROWS);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            out.clear();
+            mapping.run(SyntheticResultSet.of(LABELS, rows), out);
+        }
+
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            out.clear();
+            ResultSet rs = SyntheticResultSet.of(LABELS, rows);
+            long start = System.nanoTime();
+            mapping.run(rs, out);
+            elapsed += System.nanoTime() - start;
+        }
+
+        double rowsPerSecond = (double) ROWS * MEASURED_ROUNDS / (elapsed / 1_000_000_000.0);
+        System.out.printf("%-20s %,14.0f rows/sec%n", name, rowsPerSecond);
+        return rowsPerSecond;
+    }
+
+    private static Object[][] syntheticRows() {
+        AppointmentStatus[] statuses = AppointmentStatus.values();
+        Date date = Date.valueOf(LocalDate.of(2024, 1, 15));
+        Time time = Time.valueOf(LocalTime.of(10, 30));
+        Timestamp stamp = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        Object[][] rows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new Object[]{(long) i + 1, (long) (i % 500) + 1, (long) (i % 40) + 1, date, time,
+                    statuses[i % statuses.length].name(), "Routine checkup", null, stamp, stamp};
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hospital.management.common.database;
+
+import com.hospital.management.common.enums.AppointmentStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RowMapperTest {
+
+    private static final EnumCodec<AppointmentStatus> STATUS = new EnumCodec<>(AppointmentStatus.class);
+
+    private static final class Row {
+        long id;
+        AppointmentStatus status;
+    }
+
+    private final RowMapper<Row> mapper = new RowMapper<>(new String[]{"id", "status"}, Row::new,
+            (rs, c, row) -> {
+                row.id = rs.getLong(c[0]);
+                row.status = STATUS.decode(rs.getString(c[1]));
+            });
+
+    @Test
+    @DisplayName("Columns are resolved by label once per result set shape")
+    public void testMapsByResolvedPosition() throws Exception {
+        List<Row> rows = new ArrayList<>();
+        mapper.mapAll(SyntheticResultSet.of(new String[]{"notes", "STATUS", "id"},
+                new Object[][]{{"x", "SCHEDULED", 7L}, {"y", "CANCELLED", 8L}}), rows);
+        mapper.mapAll(SyntheticResultSet.of(new String[]{"notes", "STATUS", "id"},
+                new Object[][]{{"z", "COMPLETED", 9L}}), rows);
+
+        assertEquals(3, rows.size());
+        assertEquals(7L, rows.get(0).id);
+        assertEquals(AppointmentStatus.CANCELLED, rows.get(1).status);
+        assertEquals(1, mapper.cachedShapeCount(), "Same shape should reuse the cached positions");
+
+        mapper.mapAll(SyntheticResultSet.of(new String[]{"id", "status"},
+                new Object[][]{{10L, "SCHEDULED"}}), rows);
+        assertEquals(10L, rows.get(3).id);
+        assertEquals(2, mapper.cachedShapeCount());
+    }
+
+    @Test
+    @DisplayName("Missing columns and unknown enum names fail like the name-based getters")
+    public void testMissingColumnAndUnknownEnum() {
+        assertThrows(SQLException.class, () -> mapper.columns(
+                SyntheticResultSet.of(new String[]{"id"}, new Object[0][])));
+        assertThrows(IllegalArgumentException.class, () -> STATUS.decode("UNKNOWN"));
+        assertNull(STATUS.decode(null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.hospital.management.common.database;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory forward-only ResultSet over fixed rows, for tests and benchmarks.
+ * Name-based getters resolve through a case-insensitive map, the way the MySQL driver does.
+ */
+final class SyntheticResultSet {
+
+    private SyntheticResultSet() {}
+
+    static ResultSet of(String[] labels, Object[][] rows) {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = labels.length - 1; i >= 0; i--) {
+            byName.put(labels[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(
+                SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> labels.length;
+                    case "getColumnLabel", "getColumnName" -> labels[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(
+                SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "next":
+                            return ++cursor[0] < rows.length;
+                        case "getMetaData":
+                            return meta;
+                        case "findColumn":
+                            return findColumn(byName, (String) args[0]);
+                        case "close":
+                            return null;
+                        default:
+                            break;
+                    }
+                    if (!name.startsWith("get") || args == null) {
+                        throw new UnsupportedOperationException(name);
+                    }
+                    int column = args[0] instanceof String
+                            ? findColumn(byName, (String) args[0])
+                            : (Integer) args[0];
+                    return convert(name, rows[cursor[0]][column - 1]);
+                });
+    }
+
+    private static int findColumn(Map<String, Integer> byName, String label) throws SQLException {
+        Integer index = byName.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Column '" + label + "' not found.", "S0022");
+        }
+        return index;
+    }
+
+    private static Object convert(String getter, Object value) {
+        switch (getter) {
+            case "getLong":
+                return value == null ? 0L : ((Number) value).longValue();
+            case "getInt":
+                return value == null ? 0 : ((Number) value).intValue();
+            case "getBoolean":
+                return value != null && (Boolean) value;
+            case "getString":
+                return value == null ? null : value.toString();
+            case "getBigDecimal":
+                return value == null ? null : new BigDecimal(value.toString());
+            default:
+                return value;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.hospital.management.common.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UnitOfWorkTest {
+
+    private final RecordingConnection physical = new RecordingConnection();
+
+    @AfterEach
+    public void noUnitOfWorkLeftOpen() {
+        assertFalse(UnitOfWork.isActive(), "Test left a unit of work open on the thread");
+    }
+
+    @Test
+    @DisplayName("A nested unit of work joins the outer one; only the outer commit is written")
+    public void testNestedJoin() throws Exception {
+        List<String> events = new ArrayList<>();
+        try (UnitOfWork outer = UnitOfWork.begin(physical::connection)) {
+            Connection shared = UnitOfWork.currentConnection();
+            try (UnitOfWork inner = UnitOfWork.begin(() -> fail("Nested begin must not open a connection"))) {
+                assertSame(shared, UnitOfWork.currentConnection());
+                UnitOfWork.afterCommit(() -> events.add("inner action"));
+                inner.commit();
+            }
+            assertEquals(0, physical.count("commit"), "Nested commit must not reach the connection");
+            assertTrue(events.isEmpty(), "After-commit actions wait for the outer commit");
+
+            outer.commit();
+        }
+
+        assertEquals(1, physical.count("commit"));
+        assertEquals(0, physical.count("rollback"));
+        assertEquals(List.of("inner action"), events);
+        assertEquals(1, physical.count("close"));
+    }
+
+    @Test
+    @DisplayName("Closing without commit rolls back and drops after-commit actions")
+    public void testRollbackWithoutCommit() throws Exception {
+        List<String> events = new ArrayList<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            UnitOfWork.afterCommit(() -> events.add("should not run"));
+        }
+
+        assertEquals(1, physical.count("rollback"));
+        assertEquals(0, physical.count("commit"));
+        assertEquals(1, physical.count("close"));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A nested unit of work closed without commit dooms the outer commit")
+    public void testNestedCloseMarksRollbackOnly() throws Exception {
+        try (UnitOfWork outer = UnitOfWork.begin(physical::connection)) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                // returns without commit
+            }
+            assertThrows(SQLException.class, outer::commit);
+        }
+
+        assertEquals(0, physical.count("commit"));
+        assertEquals(1, physical.count("rollback"));
+    }
+
+    @Test
+    @DisplayName("Completion actions run after the outer unit of work ends, after-commit actions first")
+    public void testCompletionActionsRunAtOuterClose() throws Exception {
+        List<String> events = new ArrayList<>();
+        try (UnitOfWork outer = UnitOfWork.begin(physical::connection)) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                UnitOfWork.whenComplete(() -> events.add("first lock released"));
+                UnitOfWork.whenComplete(() -> events.add("second lock released"));
+                UnitOfWork.afterCommit(() -> events.add("index updated"));
+                inner.commit();
+            }
+            assertTrue(events.isEmpty(), "Nested close must not run completion actions");
+            outer.commit();
+            assertEquals(List.of("index updated"), events);
+        }
+
+        assertEquals(List.of("index updated", "second lock released", "first lock released"), events);
+    }
+
+    @Test
+    @DisplayName("Completion actions also run when the unit of work rolls back, or right away outside one")
+    public void testCompletionActionsRunOnRollback() throws Exception {
+        List<String> events = new ArrayList<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            UnitOfWork.whenComplete(() -> events.add("released"));
+        }
+        assertEquals(List.of("released"), events);
+        assertEquals(1, physical.count("rollback"));
+
+        UnitOfWork.whenComplete(() -> events.add("released now"));
+        assertEquals(List.of("released", "released now"), events);
+    }
+
+    @Test
+    @DisplayName("The shared connection rejects transaction control but allows savepoints")
+    public void testSharedViewGuardsTransaction() throws Exception {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(physical::connection)) {
+            Connection shared = UnitOfWork.currentConnection();
+
+            assertThrows(SQLException.class, shared::commit);
+            assertThrows(SQLException.class, () -> shared.setAutoCommit(true));
+            assertThrows(SQLException.class, shared::rollback);
+
+            Savepoint savepoint = shared.setSavepoint();
+            shared.rollback(savepoint);
+            assertEquals(1, physical.count("rollbackToSavepoint"));
+
+            shared.close();
+            assertEquals(0, physical.count("close"), "DAO close() must leave the transaction open");
+            unitOfWork.commit();
+        }
+
+        assertEquals(1, physical.count("commit"));
+        assertEquals(1, physical.count("setAutoCommit"), "Only begin() turns autocommit off");
+    }
+}
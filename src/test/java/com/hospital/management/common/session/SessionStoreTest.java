@@ -0,0 +1,108 @@
+package com.hospital.management.common.session;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    @DisplayName("Idle sessions are removed by the reaper once the timeout passes")
+    public void testIdleSessionExpires() {
+        SessionStore<String, String> store = new SessionStore<>(60_000, 10, now::get, false);
+        store.put("alice", "A");
+
+        advanceSeconds(59);
+        store.expireDue();
+        assertEquals(1, store.size());
+
+        advanceSeconds(2);
+        store.expireDue();
+        assertEquals(0, store.size());
+        assertNull(store.get("alice"));
+        assertEquals(1, store.getStats().getExpired());
+    }
+
+    @Test
+    @DisplayName("Access pushes the deadline back; expired sessions are never returned")
+    public void testAccessExtendsSession() {
+        SessionStore<String, String> store = new SessionStore<>(60_000, 10, now::get, false);
+        store.put("alice", "A");
+
+        advanceSeconds(50);
+        assertEquals("A", store.get("alice"));
+        advanceSeconds(50);
+        store.expireDue();
+        assertTrue(store.contains("alice"), "Used 50s ago, should still be active");
+
+        advanceSeconds(60);
+        assertNull(store.get("alice"), "Expired even though the reaper has not run");
+    }
+
+    @Test
+    @DisplayName("New sessions are rejected at the cap; existing ones can be replaced")
+    public void testRejectsPastMaxSessions() {
+        SessionStore<String, String> store = new SessionStore<>(60_000, 2, now::get, false);
+
+        assertTrue(store.put("alice", "A"));
+        assertTrue(store.put("bob", "B"));
+        assertFalse(store.put("carol", "C"));
+        assertTrue(store.put("alice", "A2"));
+        assertEquals("A2", store.get("alice"));
+
+        assertEquals("B", store.remove("bob"));
+        assertTrue(store.put("carol", "C"));
+        assertEquals(1, store.getStats().getRejected());
+    }
+
+    @Test
+    @DisplayName("Concurrent logins never push the store past its cap")
+    public void testCapHoldsUnderConcurrentPuts() throws Exception {
+        SessionStore<String, String> store = new SessionStore<>(60_000, 5, now::get, false);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                accepted.add(pool.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (store.put("user-" + thread + "-" + i, "S")) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> result : accepted) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(5, total);
+            assertEquals(5, store.size());
+            assertEquals(threads * 50 - 5, store.getStats().getRejected());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hospital.management.models;
+
+import com.hospital.management.common.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+public class RecurrenceRuleTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2026, 1, 5);
+
+    @Test
+    @DisplayName("Expanding gives every occurrence in order, spaced by the interval")
+    public void testExpand() {
+        assertEquals(List.of(FIRST, FIRST.plusWeeks(1), FIRST.plusWeeks(2)), RecurrenceRule.weekly(FIRST, 3).expand());
+        assertEquals(List.of(FIRST), RecurrenceRule.weekly(FIRST, 1).expand());
+
+        // Month steps are applied one after another, so a clamped day stays clamped
+        List<LocalDate> monthly = new RecurrenceRule(LocalDate.of(2026, 1, 31), Period.ofMonths(1), 3).expand();
+        assertEquals(List.of(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 28)), monthly);
+    }
+
+    @Test
+    @DisplayName("Occurrences must be between 1 and the configured maximum")
+    public void testValidateOccurrenceBounds() throws Exception {
+        RecurrenceRule.weekly(FIRST, 1).validate(12);
+        RecurrenceRule.weekly(FIRST, 12).validate(12);
+
+        assertThrows(ValidationException.class, () -> RecurrenceRule.weekly(FIRST, 0).validate(12));
+        assertThrows(ValidationException.class, () -> RecurrenceRule.weekly(FIRST, 13).validate(12));
+        assertThrows(ValidationException.class, () -> RecurrenceRule.weekly(FIRST, -1).validate(12));
+    }
+
+    @Test
+    @DisplayName("A series needs a first date and a positive interval")
+    public void testValidateDateAndInterval() {
+        assertThrows(ValidationException.class, () -> RecurrenceRule.weekly(null, 3).validate(12));
+        assertThrows(ValidationException.class, () -> new RecurrenceRule(FIRST, null, 3).validate(12));
+        assertThrows(ValidationException.class, () -> new RecurrenceRule(FIRST, Period.ZERO, 3).validate(12));
+        assertThrows(ValidationException.class, () -> new RecurrenceRule(FIRST, Period.ofDays(-7), 3).validate(12));
+    }
+}
@@ -0,0 +1,214 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.commands.CommandResult;
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.common.database.BatchResult;
+import com.hospital.management.common.database.InMemoryTransactions;
+import com.hospital.management.common.database.UnitOfWork;
+import com.hospital.management.common.enums.AppointmentStatus;
+import com.hospital.management.common.enums.PaymentStatus;
+import com.hospital.management.dao.interfaces.AppointmentDAO;
+import com.hospital.management.dao.interfaces.DoctorDAO;
+import com.hospital.management.interfaces.BillingService;
+import com.hospital.management.models.Appointment;
+import com.hospital.management.models.Bill;
+import com.hospital.management.models.Doctor;
+import com.hospital.management.models.RecurrenceRule;
+import com.hospital.management.models.SeriesBooking;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class AppointmentServiceImplTest {
+
+    private static final Long PATIENT = 1L;
+    private static final Long DOCTOR = 7L;
+    private static final LocalTime TIME = LocalTime.of(10, 0);
+    private static final BigDecimal FEE = new BigDecimal("600.00");
+
+    // Mondays, so every weekly occurrence falls on a weekday
+    private final LocalDate first = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).plusWeeks(1);
+
+    private final Set<LocalDate> taken = new HashSet<>();
+    private final Set<LocalDate> claimedSinceCheck = new HashSet<>();
+    private final List<Bill> bills = new ArrayList<>();
+    // Successive reads of one appointment row, and the statuses written to it
+    private final Deque<Appointment> rowReads = new ArrayDeque<>();
+    private final List<AppointmentStatus> statusWrites = new ArrayList<>();
+
+    private final AppointmentServiceImpl service = new AppointmentServiceImpl(
+            Stubs.of(AppointmentDAO.class, Map.of(
+                    "getTakenDates", args -> new HashSet<>(taken),
+                    "createAppointments", args -> insert(castList(args[0])),
+                    "getAppointmentById", args -> rowReads.poll(),
+                    "updateAppointmentStatus", args -> statusWrites.add((AppointmentStatus) args[1]))),
+            Stubs.of(DoctorDAO.class, Map.of("getDoctorById", args -> doctor())),
+            Stubs.of(BillingService.class, Map.of("generateBill", args -> {
+                Bill bill = (Bill) args[0];
+                bill.setId(500L);
+                bills.add(bill);
+                return CommandResult.success("Bill generated successfully", bill);
+            })));
+
+    @SuppressWarnings("unchecked")
+    private static List<Appointment> castList(Object list) {
+        return (List<Appointment>) list;
+    }
+
+    private static Doctor doctor() {
+        Doctor doctor = new Doctor();
+        doctor.setId(DOCTOR);
+        doctor.setConsultationFee(FEE);
+        return doctor;
+    }
+
+    // Like the batch writer: rows claimed since the conflict check are rejected, the rest get keys
+    private BatchResult<Appointment> insert(List<Appointment> rows) {
+        List<Appointment> created = new ArrayList<>();
+        List<BatchResult.RowFailure<Appointment>> failures = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Appointment row = rows.get(i);
+            if (claimedSinceCheck.contains(row.getAppointmentDate())) {
+                failures.add(new BatchResult.RowFailure<>(i, row, AppointmentDAO.SLOT_TAKEN));
+            } else {
+                row.setId(100L + i);
+                created.add(row);
+            }
+        }
+        return new BatchResult<>(created, failures);
+    }
+
+    private Appointment row(LocalDate date, AppointmentStatus status) {
+        Appointment appointment = new Appointment(PATIENT, DOCTOR, date, TIME, "Checkup");
+        appointment.setId(300L);
+        appointment.setStatus(status);
+        return appointment;
+    }
+
+    // Inside an outer unit of work, as BookAppointmentSeriesCommand calls it
+    private CommandResult book(int occurrences) throws Exception {
+        try (UnitOfWork unitOfWork = InMemoryTransactions.begin()) {
+            CommandResult result = service.bookAppointmentSeries(PATIENT, DOCTOR,
+                    RecurrenceRule.weekly(first, occurrences), TIME, "Physiotherapy");
+            if (result.isSuccess()) {
+                unitOfWork.commit();
+            }
+            return result;
+        }
+    }
+
+    @Test
+    @DisplayName("A series books the free occurrences and reports taken ones by date, from the check or the insert")
+    public void testConflictAndFreeMix() throws Exception {
+        taken.add(first.plusWeeks(1));
+        claimedSinceCheck.add(first.plusWeeks(3));
+
+        CommandResult result = book(5);
+
+        assertTrue(result.isSuccess(), result.getMessage());
+        assertEquals("Booked 3 of 5 occurrences", result.getMessage());
+        SeriesBooking series = result.getData(SeriesBooking.class);
+        assertEquals(List.of(first, first.plusWeeks(2), first.plusWeeks(4)),
+                series.getBooked().stream().map(Appointment::getAppointmentDate).toList());
+        assertEquals(List.of(first.plusWeeks(1), first.plusWeeks(3)), List.copyOf(series.getConflicts().keySet()));
+        assertTrue(series.getConflicts().values().stream().allMatch(AppointmentDAO.SLOT_TAKEN::equals));
+    }
+
+    @Test
+    @DisplayName("One bill covers every booked occurrence and is attached to the first")
+    public void testConsolidatedBill() throws Exception {
+        taken.add(first);
+
+        CommandResult result = book(4);
+
+        assertEquals(1, bills.size());
+        Bill bill = result.getData(SeriesBooking.class).getBill();
+        assertSame(bills.get(0), bill);
+        assertEquals(0, new BigDecimal("1800.00").compareTo(bill.getTotalAmount()), "Three sessions at the fee");
+        assertEquals(0, new BigDecimal("324.00").compareTo(bill.getTaxAmount()));
+        assertEquals(0, new BigDecimal("2124.00").compareTo(bill.getFinalAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(bill.getDiscountAmount()));
+        assertEquals(PaymentStatus.PENDING, bill.getStatus());
+        assertEquals(PATIENT, bill.getPatientId());
+        assertEquals(result.getData(SeriesBooking.class).getBooked().get(0).getId(), bill.getAppointmentId());
+    }
+
+    @Test
+    @DisplayName("The series' days stay locked until the outer unit of work ends")
+    public void testDaysLockedUntilOuterCommit() throws Exception {
+        CompletableFuture<Void> otherWriter;
+        try (UnitOfWork unitOfWork = InMemoryTransactions.begin()) {
+            assertTrue(service.bookAppointmentSeries(PATIENT, DOCTOR, RecurrenceRule.weekly(first, 2), TIME,
+                    "Physiotherapy").isSuccess());
+            otherWriter = CompletableFuture.runAsync(() -> BookingLocks.release(BookingLocks.lock(DOCTOR, first)));
+            assertThrows(TimeoutException.class, () -> otherWriter.get(200, TimeUnit.MILLISECONDS),
+                    "Another write to the day must wait for the outer commit");
+            unitOfWork.commit();
+        }
+        otherWriter.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("A series with every occurrence taken fails without a bill")
+    public void testAllTaken() throws Exception {
+        taken.add(first);
+        claimedSinceCheck.add(first.plusWeeks(1));
+
+        CommandResult result = book(2);
+
+        assertFalse(result.isSuccess());
+        assertTrue(bills.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A series longer than the configured maximum is rejected before anything is written")
+    public void testTooManyOccurrences() throws Exception {
+        CommandResult result = book(AppConfig.getInstance().getSeriesMaxOccurrences() + 1);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getMessage().startsWith("Validation error"), result.getMessage());
+        assertTrue(bills.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A cancel whose row was cancelled by another writer before the lock writes nothing")
+    public void testCancelRechecksUnderLock() {
+        rowReads.add(row(first, AppointmentStatus.SCHEDULED));
+        rowReads.add(row(first, AppointmentStatus.CANCELLED));
+
+        assertFalse(service.cancelAppointment(300L));
+        assertTrue(statusWrites.isEmpty());
+
+        rowReads.add(row(first, AppointmentStatus.SCHEDULED));
+        rowReads.add(row(first, AppointmentStatus.SCHEDULED));
+
+        assertTrue(service.cancelAppointment(300L));
+        assertEquals(List.of(AppointmentStatus.CANCELLED), statusWrites);
+    }
+
+    @Test
+    @DisplayName("A status change whose row moved to another day before the lock writes nothing")
+    public void testStatusChangeRechecksUnderLock() {
+        rowReads.add(row(first, AppointmentStatus.CANCELLED));
+        rowReads.add(row(first.plusDays(1), AppointmentStatus.SCHEDULED));
+
+        assertFalse(service.updateAppointmentStatus(300L, AppointmentStatus.SCHEDULED).isSuccess());
+        assertTrue(statusWrites.isEmpty());
+    }
+}
@@ -0,0 +1,177 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.enums.WaitlistUrgency;
+import com.hospital.management.common.exceptions.BusinessLogicException;
+import com.hospital.management.common.exceptions.SlotTakenException;
+import com.hospital.management.models.Appointment;
+import com.hospital.management.models.WaitlistEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AppointmentWaitlistTest {
+
+    // Queues are static; each test waits for its own doctor so tests do not see each other's entries
+    private static final AtomicLong DOCTORS = new AtomicLong(90_000);
+
+    private final Long doctorId = DOCTORS.incrementAndGet();
+    private final LocalDate date = LocalDate.now().plusDays(3);
+    private final LocalTime time = LocalTime.of(10, 30);
+    private final MemoryStore store = new MemoryStore();
+
+    /**
+     * One doctor's day in memory: a slot that is held or not, patients already
+     * booked elsewhere at that time, patients whose next booking fails, and the
+     * patients booked by fills, in order
+     */
+    private static final class MemoryStore implements AppointmentWaitlist.Store {
+        boolean held;
+        final Set<Long> busy = new HashSet<>();
+        final Set<Long> takenBeforeBooking = new HashSet<>();
+        final Set<Long> failToBook = new HashSet<>();
+        final List<Long> booked = new ArrayList<>();
+
+        @Override
+        public boolean isHeld(Long doctorId, LocalDate date, LocalTime time) {
+            return held;
+        }
+
+        @Override
+        public boolean isBusy(Long patientId, LocalDate date, LocalTime time) {
+            return busy.contains(patientId);
+        }
+
+        @Override
+        public Appointment book(WaitlistEntry entry, LocalTime time) throws SlotTakenException {
+            if (takenBeforeBooking.remove(entry.getPatientId())) {
+                throw new SlotTakenException(entry.getDoctorId(), entry.getAppointmentDate(), time);
+            }
+            if (failToBook.remove(entry.getPatientId())) {
+                return null;
+            }
+            booked.add(entry.getPatientId());
+            Appointment appointment = new Appointment(entry.getPatientId(), entry.getDoctorId(),
+                    entry.getAppointmentDate(), time, entry.getReason());
+            appointment.setId((long) booked.size());
+            return appointment;
+        }
+    }
+
+    private void join(long patientId, WaitlistUrgency urgency) throws BusinessLogicException {
+        AppointmentWaitlist.join(patientId, doctorId, date, urgency, "Follow-up");
+    }
+
+    private Appointment fill(Long releasedBy) {
+        return AppointmentWaitlist.fill(store, doctorId, date, time, releasedBy);
+    }
+
+    @Test
+    @DisplayName("A patient can wait only once per doctor per day")
+    public void testJoinRejectsDuplicate() throws Exception {
+        join(1, WaitlistUrgency.ROUTINE);
+        join(2, WaitlistUrgency.ROUTINE);
+
+        assertThrows(BusinessLogicException.class, () -> join(1, WaitlistUrgency.URGENT));
+        assertEquals(2, AppointmentWaitlist.size(doctorId, date));
+
+        assertTrue(AppointmentWaitlist.leave(1L, doctorId, date));
+        assertFalse(AppointmentWaitlist.leave(1L, doctorId, date));
+        assertEquals(1, AppointmentWaitlist.size(doctorId, date));
+    }
+
+    @Test
+    @DisplayName("Freed slots go to the most urgent patient first, then in joining order")
+    public void testPriorityOrder() throws Exception {
+        join(1, WaitlistUrgency.ROUTINE);
+        join(2, WaitlistUrgency.URGENT);
+        join(3, WaitlistUrgency.SOON);
+        join(4, WaitlistUrgency.URGENT);
+        join(5, WaitlistUrgency.ROUTINE);
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(fill(null));
+        }
+
+        assertEquals(List.of(2L, 4L, 3L, 1L, 5L), store.booked);
+        assertEquals(0, AppointmentWaitlist.size(doctorId, date));
+    }
+
+    @Test
+    @DisplayName("A fill books a new appointment and reports it to the patient once")
+    public void testFillBooksNewAppointment() throws Exception {
+        join(11, WaitlistUrgency.ROUTINE);
+
+        Appointment filled = fill(7L);
+
+        assertNotNull(filled);
+        assertEquals(11L, filled.getPatientId());
+        assertEquals(doctorId, filled.getDoctorId());
+        assertEquals(time, filled.getAppointmentTime());
+        assertEquals(List.of(filled), AppointmentWaitlist.takeFilled(11L));
+        assertTrue(AppointmentWaitlist.takeFilled(11L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A slot held again before the fill runs is left alone")
+    public void testHeldSlotNotFilled() throws Exception {
+        join(21, WaitlistUrgency.URGENT);
+        store.held = true;
+
+        assertNull(fill(null));
+        assertTrue(store.booked.isEmpty());
+        assertEquals(1, AppointmentWaitlist.size(doctorId, date));
+    }
+
+    @Test
+    @DisplayName("The releasing patient and patients busy at that time are passed over and keep their place")
+    public void testPassedOverPatientsKeepTheirPlace() throws Exception {
+        join(31, WaitlistUrgency.URGENT);
+        join(32, WaitlistUrgency.URGENT);
+        join(33, WaitlistUrgency.ROUTINE);
+        store.busy.add(32L);
+
+        Appointment filled = fill(31L);
+
+        assertEquals(33L, filled.getPatientId());
+        assertEquals(2, AppointmentWaitlist.size(doctorId, date));
+
+        // Once free to take it, the passed-over patient is next in line
+        assertEquals(31L, fill(null).getPatientId());
+    }
+
+    @Test
+    @DisplayName("A patient whose booking loses the slot is put back at the same place")
+    public void testRequeuedOnSlotTaken() throws Exception {
+        join(41, WaitlistUrgency.URGENT);
+        join(42, WaitlistUrgency.ROUTINE);
+        store.takenBeforeBooking.add(41L);
+
+        assertNull(fill(null));
+        assertTrue(store.booked.isEmpty(), "No one else gets a slot that is already taken");
+        assertEquals(2, AppointmentWaitlist.size(doctorId, date));
+
+        assertEquals(41L, fill(null).getPatientId());
+    }
+
+    @Test
+    @DisplayName("A patient whose booking fails keeps their place and the slot waits for the next fill")
+    public void testRequeuedOnFailedBooking() throws Exception {
+        join(51, WaitlistUrgency.URGENT);
+        join(52, WaitlistUrgency.ROUTINE);
+        store.failToBook.add(51L);
+
+        assertNull(fill(null));
+        assertTrue(store.booked.isEmpty(), "The next patient is not tried after a failed booking");
+        assertEquals(2, AppointmentWaitlist.size(doctorId, date));
+
+        assertEquals(51L, fill(null).getPatientId());
+    }
+}
@@ -0,0 +1,170 @@
+package com.hospital.management.services.impl;
+
+import com.hospital.management.common.config.AppConfig;
+import com.hospital.management.dao.interfaces.AppointmentDAO;
+import com.hospital.management.dao.interfaces.DoctorDAO;
+import com.hospital.management.models.AvailableSlot;
+import com.hospital.management.models.Doctor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+public class DoctorServiceImplTest {
+
+    // Doctor lists and booked slots are cached statically, so each test uses its own department and doctors
+    private static final AtomicLong IDS = new AtomicLong(80_000);
+
+    private static final List<LocalTime> DAY = List.of(LocalTime.of(10, 0), LocalTime.of(11, 0),
+            LocalTime.of(12, 0), LocalTime.of(13, 0), LocalTime.of(14, 0), LocalTime.of(15, 0),
+            LocalTime.of(16, 0), LocalTime.of(17, 0));
+
+    private final LocalDate today = LocalDate.now();
+    private final Long departmentId = IDS.incrementAndGet();
+    private final Map<Long, List<Doctor>> doctorsByDepartment = new HashMap<>();
+    private final Set<String> scanThreads = ConcurrentHashMap.newKeySet();
+
+    // Booked times for a doctor's day; every day is free unless a test says otherwise
+    private BiFunction<Long, LocalDate, List<LocalTime>> booked = (doctorId, date) -> List.of();
+
+    private final DoctorServiceImpl service = new DoctorServiceImpl(
+            Stubs.of(DoctorDAO.class, Map.of(
+                    "getDoctorsByDepartment", args -> doctorsByDepartment.get((Long) args[0]))),
+            Stubs.of(AppointmentDAO.class, Map.of("getBookedTimes", args -> {
+                scanThreads.add(Thread.currentThread().getName());
+                return booked.apply((Long) args[0], (LocalDate) args[1]);
+            })));
+
+    private Doctor doctor() {
+        Doctor doctor = new Doctor();
+        doctor.setId(IDS.incrementAndGet());
+        doctorsByDepartment.computeIfAbsent(departmentId, key -> new ArrayList<>()).add(doctor);
+        return doctor;
+    }
+
+    private static List<LocalTime> allBut(LocalTime... free) {
+        List<LocalTime> times = new ArrayList<>(DAY);
+        times.removeAll(List.of(free));
+        return times;
+    }
+
+    @Test
+    @DisplayName("Slots from all doctors are merged earliest first and cut to the limit")
+    public void testOrderingAndLimit() {
+        Doctor first = doctor();
+        Doctor second = doctor();
+        LocalDate tomorrow = today.plusDays(1);
+        // Today is fully booked so the result does not depend on the time of day
+        booked = (doctorId, date) -> {
+            if (date.equals(today)) {
+                return DAY;
+            }
+            if (date.equals(tomorrow)) {
+                return doctorId.equals(first.getId())
+                        ? allBut(LocalTime.of(15, 0))
+                        : allBut(LocalTime.of(11, 0), LocalTime.of(12, 0));
+            }
+            return List.of();
+        };
+
+        List<AvailableSlot> earliest = service.findEarliestAvailable(departmentId, 3);
+
+        assertEquals(3, earliest.size());
+        assertEquals(List.of(second.getId(), second.getId(), first.getId()),
+                earliest.stream().map(slot -> slot.getDoctor().getId()).toList());
+        assertEquals(List.of(LocalTime.of(11, 0), LocalTime.of(12, 0), LocalTime.of(15, 0)),
+                earliest.stream().map(AvailableSlot::getTime).toList());
+        assertTrue(earliest.stream().allMatch(slot -> slot.getDate().equals(tomorrow)));
+    }
+
+    @Test
+    @DisplayName("Only days inside the advance booking horizon are searched")
+    public void testHorizon() {
+        int horizonDays = Math.max(1, AppConfig.getInstance().getAdvanceBookingDays());
+        LocalDate lastDay = today.plusDays(horizonDays - 1);
+        Doctor lastDayFree = doctor();
+        doctor(); // free only after the horizon
+        booked = (doctorId, date) -> {
+            if (date.isAfter(lastDay)) {
+                return List.of();
+            }
+            return doctorId.equals(lastDayFree.getId()) && date.equals(lastDay) ? List.of() : DAY;
+        };
+
+        // More than one day's slots, so any day past the horizon would show up
+        List<AvailableSlot> earliest = service.findEarliestAvailable(departmentId, 10);
+
+        assertEquals(7, earliest.size(), "The seven slots inside the doctor's hours on the last day");
+        assertTrue(earliest.stream().allMatch(slot -> slot.getDoctor().getId().equals(lastDayFree.getId())
+                && slot.getDate().equals(lastDay)));
+    }
+
+    @Test
+    @DisplayName("A doctor whose schedule cannot be read is left out instead of failing the search")
+    public void testFailedDoctorSkipped() {
+        Doctor broken = doctor();
+        Doctor working = doctor();
+        booked = (doctorId, date) -> {
+            if (doctorId.equals(broken.getId())) {
+                throw new IllegalStateException("schedule unavailable");
+            }
+            return date.equals(today) ? DAY : List.of();
+        };
+
+        List<AvailableSlot> earliest = service.findEarliestAvailable(departmentId, 2);
+
+        assertEquals(2, earliest.size());
+        assertTrue(earliest.stream().allMatch(slot -> slot.getDoctor().getId().equals(working.getId())));
+    }
+
+    @Test
+    @DisplayName("A day whose bookings could not be read is not offered and is read again on the next lookup")
+    public void testUnreadableDayNotCached() {
+        Doctor doctor = doctor();
+        LocalDate date = today.plusDays(2);
+        AtomicLong reads = new AtomicLong();
+        booked = (doctorId, day) -> reads.incrementAndGet() == 1 ? null : List.of(LocalTime.of(10, 0));
+
+        assertTrue(service.getAvailableTimeSlots(doctor.getId(), date).isEmpty());
+        assertFalse(service.getAvailableTimeSlots(doctor.getId(), date).isEmpty(), "The failed read is not cached");
+        assertEquals(2, reads.get());
+        assertFalse(service.isDoctorAvailable(doctor.getId(), date, LocalTime.of(10, 0)));
+
+        // Until the database answers, no slot of any day is offered for the doctor
+        Doctor unreadable = doctor();
+        booked = (doctorId, day) -> doctorId.equals(unreadable.getId()) ? null : List.of();
+
+        assertFalse(service.isDoctorAvailable(unreadable.getId(), date, LocalTime.of(11, 0)));
+        List<AvailableSlot> earliest = service.findEarliestAvailable(departmentId, 3);
+        assertEquals(3, earliest.size());
+        assertTrue(earliest.stream().noneMatch(slot -> slot.getDoctor().getId().equals(unreadable.getId())));
+    }
+
+    @Test
+    @DisplayName("Called from an async lookup, the search scans in place instead of waiting on the pool")
+    public void testScansInPlaceOnWorker() throws Exception {
+        doctor();
+        doctor();
+        doctor();
+
+        Set<String> callers = ConcurrentHashMap.newKeySet();
+        List<AvailableSlot> earliest = ServiceExecutor.supplyAsync(() -> {
+            callers.add(Thread.currentThread().getName());
+            return service.findEarliestAvailable(departmentId, 2);
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, earliest.size());
+        assertEquals(callers, scanThreads, "Every doctor is scanned on the calling worker");
+    }
+}
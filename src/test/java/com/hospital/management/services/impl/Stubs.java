@@ -0,0 +1,23 @@
+package com.hospital.management.services.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Interface implementations for service tests: the named methods answer from
+ * the given functions, every other method returns null
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    return answer != null ? answer.apply(args) : null;
+                }));
+    }
+}